@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.microsoft.azure.maven.model.DeploymentResource;
+import com.microsoft.azure.toolkit.lib.appservice.function.core.IncrementalStager;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureExecutionException;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
@@ -135,6 +136,12 @@ public class PackageMojo extends AbstractFunctionMojo {
     @Parameter(property = "functions.buildJarWithDependencies", defaultValue = "false")
     protected Boolean buildJarWithDependencies;
 
+    /**
+     * Boolean flag to control whether to copy only new or changed dependencies to staging directory instead of cleaning and copying all of them
+     */
+    @Parameter(property = "functions.incrementalStaging", defaultValue = "true")
+    protected Boolean incrementalStaging;
+
     @Override
     @AzureOperation("user/functionapp.package")
     protected void doExecute() throws AzureExecutionException {
@@ -403,9 +410,14 @@ public class PackageMojo extends AbstractFunctionMojo {
             log.info("Skip copy dependencies to staging directory as `buildJarWithDependencies` is set to true, dependencies has been included in the artifact.");
         } else {
             final File libFolder = new File(stagingDirectory, "lib");
-            if (libFolder.exists()) {
-                FileUtils.cleanDirectory(libFolder);
+            // keep the manifest out of the staging directory, which is packed and deployed
+            final File manifest = new File(getBuildDirectoryAbsolutePath(), String.format(".%s-lib.staging.json", stagingDirectory.getName()));
+            final IncrementalStager stager = new IncrementalStager(libFolder, manifest);
+            if (BooleanUtils.isNotFalse(incrementalStaging)) {
+                stager.stage(Optional.ofNullable(dependencies).orElse(Collections.emptySet()));
+                return;
             }
+            stager.clean();
             Optional.ofNullable(dependencies).ifPresent(des -> des.forEach(dependency -> copyFileToDirectory(dependency, libFolder)));
         }
     }
@@ -336,6 +336,8 @@ public abstract class AbstractAzureMojo extends AbstractMojo {
             // Refer here for detail codes: https://github.com/Microsoft/ApplicationInsights-Java/blob/master/core/src
             // /main/java/com/microsoft/applicationinsights/internal/channel/common/ApacheSender43.java#L103
             Optional.ofNullable(TextIOUtils.getTextTerminal()).ifPresent(TextTerminal::dispose);
+            // send telemetries buffered by the telemetry pipeline
+            Optional.ofNullable(telemetryProxy).ifPresent(AzureTelemetryClient::flush);
             try {
                 // Sleep to wait ai sdk flush telemetries
                 Thread.sleep(2 * 1000);
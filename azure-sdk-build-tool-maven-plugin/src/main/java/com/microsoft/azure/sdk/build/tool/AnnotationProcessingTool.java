@@ -9,6 +9,7 @@ import com.microsoft.azure.sdk.build.tool.mojo.AzureSdkMojo;
 import com.microsoft.azure.sdk.build.tool.util.AnnotatedMethodCallerResult;
 import com.microsoft.azure.sdk.build.tool.util.logging.Logger;
 import com.microsoft.azure.sdk.build.tool.util.AnnotationUtils;
+import com.microsoft.azure.sdk.build.tool.util.MethodCallGraph;
 import com.microsoft.azure.sdk.build.tool.util.MojoUtils;
 
 import java.io.File;
@@ -47,12 +48,16 @@ public class AnnotationProcessingTool implements Runnable {
         final Set<String> interestedPackages = new TreeSet<>(Comparator.comparingInt(String::length));
         MojoUtils.getCompileSourceRoots().forEach(root -> buildPackageList(root, root, interestedPackages));
 
-        final List<Path> allPaths = getAllPaths();
-        final ClassLoader classLoader = AnnotationUtils.getCompleteClassLoader(allPaths.stream());
+        // The call graph of all paths is built once and shared by the lookups of all annotations below
+        // and the scan results of dependency jars are cached across builds
+        final String cacheDirectory = AzureSdkMojo.getMojo().getScanCacheDirectory();
+        final MethodCallGraph callGraph = new MethodCallGraph(getAllPaths().stream(),
+            cacheDirectory == null || cacheDirectory.trim().isEmpty() ? null : Paths.get(cacheDirectory));
+        final ClassLoader classLoader = callGraph.getClassLoader();
 
         // Collect all calls to methods annotated with the Azure SDK @ServiceMethod annotation
         Optional<Set<AnnotatedMethodCallerResult>> serviceMethodCallers = AnnotationUtils.getAnnotation("com.azure.core.annotation.ServiceMethod", classLoader)
-            .map(a -> AnnotationUtils.findCallsToAnnotatedMethod(a, allPaths.stream(), interestedPackages, true));
+            .map(a -> callGraph.findCallsToAnnotatedMethod(a, interestedPackages, true));
 
         if (serviceMethodCallers.isPresent()) {
             List<MethodCallDetails> serviceMethodCallDetails = getMethodCallDetails(serviceMethodCallers.get());
@@ -61,7 +66,7 @@ public class AnnotationProcessingTool implements Runnable {
 
         // Collect all calls to methods annotated with the Azure SDK @Beta annotation
         Optional<Set<AnnotatedMethodCallerResult>> betaMethodCallers = AnnotationUtils.getAnnotation("com.azure.cosmos.util.Beta", classLoader)
-            .map(a -> AnnotationUtils.findCallsToAnnotatedMethod(a, allPaths.stream(), interestedPackages, true));
+            .map(a -> callGraph.findCallsToAnnotatedMethod(a, interestedPackages, true));
         if (betaMethodCallers.isPresent()) {
             List<MethodCallDetails> betaMethodCallDetails = getMethodCallDetails(betaMethodCallers.get());
 
@@ -110,6 +110,13 @@ public class AzureSdkMojo extends AbstractMojo {
     @Parameter(property = "sendToMicrosoft", defaultValue = "true")
     private boolean sendToMicrosoft;
 
+    /**
+     * (Optional) Specifies the directory to cache the annotation scan results of dependency jars in, so that unchanged jars are not scanned again
+     * in later builds. To disable the cache, set this to an empty value.
+     */
+    @Parameter(property = "scanCacheDirectory", defaultValue = "${settings.localRepository}/.cache/azure-sdk-build-tool")
+    private String scanCacheDirectory;
+
     private final BuildReport buildReport;
 
     /**
@@ -285,4 +292,13 @@ public class AzureSdkMojo extends AbstractMojo {
     public String getReportFile() {
         return reportFile;
     }
+
+    /**
+     * The directory in which the annotation scan results of dependency jars are cached.
+     *
+     * @return The scan cache directory, or null or empty if caching is disabled.
+     */
+    public String getScanCacheDirectory() {
+        return scanCacheDirectory;
+    }
 }
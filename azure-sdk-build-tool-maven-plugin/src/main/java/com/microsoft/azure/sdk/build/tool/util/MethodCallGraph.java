@@ -0,0 +1,180 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.sdk.build.tool.util;
+
+import com.microsoft.azure.sdk.build.tool.util.logging.Logger;
+import org.reflections8.ReflectionsException;
+import org.reflections8.util.Utils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.reflections8.util.Utils.name;
+
+/**
+ * Reverse call graph of all methods in the given paths, built once and shared by lookups for different annotations.
+ * Methods are tracked by their descriptors, so classes are only loaded for the methods that are reported. Jars can
+ * optionally be indexed through a {@link ScanIndexCache}, in which case only directories (e.g. target/classes) and
+ * jars that were never seen before are scanned.
+ */
+public final class MethodCallGraph {
+    private static final Logger LOGGER = Logger.getInstance();
+
+    private final URLClassLoader classLoader;
+    private final Map<String, Set<String>> annotatedMethods = new HashMap<>();
+    private final Map<String, Set<String>> callers = new HashMap<>();
+    private final Map<String, Optional<Member>> members = new HashMap<>();
+
+    /**
+     * Creates the call graph by scanning the given paths.
+     *
+     * @param paths The paths to scan.
+     */
+    public MethodCallGraph(final Stream<Path> paths) {
+        this(paths, null);
+    }
+
+    /**
+     * Creates the call graph by scanning the given paths, the scan results of jars are cached in the given directory.
+     *
+     * @param paths The paths to scan.
+     * @param cacheDirectory The directory to cache the scan results of jars in, or null to always scan all paths.
+     */
+    public MethodCallGraph(final Stream<Path> paths, final Path cacheDirectory) {
+        final List<Path> existing = paths.filter(p -> AnnotationUtils.pathToUrl(p) != null).collect(Collectors.toList());
+        final List<URL> urls = existing.stream().map(AnnotationUtils::pathToUrl).collect(Collectors.toList());
+        this.classLoader = URLClassLoader.newInstance(urls.toArray(new URL[0]));
+        final ScanIndexCache cache = Objects.isNull(cacheDirectory) ? null : new ScanIndexCache(cacheDirectory);
+        // paths are scanned independently, so that the indexes of jars can be cached and reused by other builds.
+        final List<ScanIndex> indexes = existing.parallelStream().map(path -> {
+            final URL url = AnnotationUtils.pathToUrl(path);
+            if (cache != null && Files.isRegularFile(path)) {
+                return cache.get(path, () -> ScanIndex.scan(url, classLoader));
+            }
+            return ScanIndex.scan(url, classLoader);
+        }).collect(Collectors.toList());
+        for (final ScanIndex index : indexes) {
+            merge(index.getAnnotatedMethods(), annotatedMethods);
+            merge(index.getMemberUsages(), callers);
+        }
+    }
+
+    /**
+     * Returns the class loader that contains all the scanned paths.
+     *
+     * @return The class loader that contains all the scanned paths.
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * Returns a set of methods that call methods that are annotated with the given annotation.
+     *
+     * @param annotation The annotation on the method to look for.
+     * @param interestedPackages The packages that this scan should be limited to.
+     * @param recursive If true, recursively scan all method calls in all interested packages to find any invocation to the annotated methods.
+     * @return A set of methods that call methods with the annotation.
+     */
+    public Set<AnnotatedMethodCallerResult> findCallsToAnnotatedMethod(final Class<? extends Annotation> annotation,
+                                                                       final Set<String> interestedPackages,
+                                                                       final boolean recursive) {
+        final Set<AnnotatedMethodCallerResult> results = new HashSet<>();
+        // every method is expanded at most once, no matter how many annotated methods reach it or whether the
+        // calls are cyclic, since the callers of a method don't depend on how the method was reached.
+        final Set<String> visited = new HashSet<>();
+        final Deque<String> queue = new ArrayDeque<>();
+        for (final String annotated : annotatedMethods.getOrDefault(annotation.getName(), Collections.emptySet())) {
+            final Optional<Member> method = getMember(annotated);
+            if (!method.isPresent()) {
+                continue;
+            }
+            final String descriptor = name((Method) method.get());
+            members.putIfAbsent(descriptor, method);
+            if (visited.add(descriptor)) {
+                queue.add(descriptor);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            final String method = queue.poll();
+            for (final String caller : callers.getOrDefault(method, Collections.emptySet())) {
+                if (!isMethod(caller)) {
+                    continue;
+                }
+                if (interestedPackages.contains(getPackageName(caller))) {
+                    // we have reached a point where we have found a method call from code in a package
+                    // we are interested in, so we will record it as a valid result. We do not recurse
+                    // further from this method.
+                    final Optional<Member> callee = getMember(method);
+                    final Optional<Member> member = getMember(caller);
+                    if (callee.isPresent() && member.isPresent()) {
+                        results.add(new AnnotatedMethodCallerResult(annotation, (Method) callee.get(), member.get()));
+                    }
+                } else if (recursive && visited.add(caller)) {
+                    // we are looking at code that we know calls an annotated service method, but it is not
+                    // within one of the packages we are interested in. We continue with all methods that
+                    // call this method, until such time that we run out of methods to check.
+                    queue.add(caller);
+                }
+            }
+        }
+        return results;
+    }
+
+    private static void merge(final Map<String, Set<String>> source, final Map<String, Set<String>> target) {
+        source.forEach((key, values) -> target.computeIfAbsent(key, k -> new HashSet<>()).addAll(values));
+    }
+
+    private Optional<Member> getMember(final String descriptor) {
+        return members.computeIfAbsent(descriptor, d -> {
+            try {
+                return Optional.ofNullable(Utils.getMemberFromDescriptor(d, classLoader)).filter(m -> m instanceof Method);
+            } catch (ReflectionsException | LinkageError e) {
+                LOGGER.info("Unable to resolve method " + d + ". " + e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Constructors and static initializers are not followed, only methods are.
+     */
+    private static boolean isMethod(final String descriptor) {
+        if (descriptor.indexOf('(') < 0) {
+            return false;
+        }
+        final String name = getMemberName(descriptor);
+        return !name.equals("<init>") && !name.equals("<clinit>");
+    }
+
+    private static String getMemberName(final String descriptor) {
+        final String key = descriptor.substring(0, descriptor.indexOf('('));
+        return key.substring(key.lastIndexOf('.') + 1);
+    }
+
+    private static String getPackageName(final String descriptor) {
+        final String key = descriptor.substring(0, descriptor.indexOf('('));
+        final String className = key.substring(0, key.lastIndexOf('.'));
+        final int index = className.lastIndexOf('.');
+        return index < 0 ? "" : className.substring(0, index);
+    }
+}
@@ -0,0 +1,158 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.sdk.build.tool.util;
+
+import org.reflections8.Reflections;
+import org.reflections8.ReflectionsException;
+import org.reflections8.scanners.MemberUsageScanner;
+import org.reflections8.scanners.MethodAnnotationsScanner;
+import org.reflections8.scanners.Scanner;
+import org.reflections8.util.ConfigurationBuilder;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.reflections8.util.Utils.index;
+
+/**
+ * The method-annotation and member-usage index of a single path (jar or classes directory), which can be written to
+ * and read from a compact binary format, so that immutable jars don't have to be scanned again.
+ */
+public final class ScanIndex {
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<String, Set<String>> annotatedMethods;
+    private final Map<String, Set<String>> memberUsages;
+
+    private ScanIndex(final Map<String, Set<String>> annotatedMethods, final Map<String, Set<String>> memberUsages) {
+        this.annotatedMethods = annotatedMethods;
+        this.memberUsages = memberUsages;
+    }
+
+    /**
+     * Scans the given path.
+     *
+     * @param url The path to scan.
+     * @param classLoader The class loader used to read the class files of the path and the classes it refers to.
+     * @return The index of the path.
+     */
+    public static ScanIndex scan(final URL url, final ClassLoader classLoader) {
+        final ConfigurationBuilder config = new ConfigurationBuilder()
+                .setScanners(new MethodAnnotationsScanner(), new MemberUsageScanner())
+                .addClassLoader(classLoader);
+        config.addUrls(url);
+        final Reflections reflections = new Reflections(config);
+        return new ScanIndex(copy(reflections, MethodAnnotationsScanner.class), copy(reflections, MemberUsageScanner.class));
+    }
+
+    /**
+     * Returns the annotated methods, keyed by annotation name.
+     *
+     * @return The annotated methods, keyed by annotation name.
+     */
+    public Map<String, Set<String>> getAnnotatedMethods() {
+        return annotatedMethods;
+    }
+
+    /**
+     * Returns the callers of members, keyed by member descriptor.
+     *
+     * @return The callers of members, keyed by member descriptor.
+     */
+    public Map<String, Set<String>> getMemberUsages() {
+        return memberUsages;
+    }
+
+    /**
+     * Writes the index, each distinct string is written only once and referred to by its position afterwards.
+     *
+     * @param output The output to write to.
+     * @throws IOException If the index cannot be written.
+     */
+    public void writeTo(final DataOutputStream output) throws IOException {
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        collectStrings(annotatedMethods, strings);
+        collectStrings(memberUsages, strings);
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(strings.size());
+        for (final String string : strings.keySet()) {
+            output.writeUTF(string);
+        }
+        writeMap(annotatedMethods, strings, output);
+        writeMap(memberUsages, strings, output);
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param input The input to read from.
+     * @return The index.
+     * @throws IOException If the index cannot be read or is of an unknown format.
+     */
+    public static ScanIndex readFrom(final DataInputStream input) throws IOException {
+        final int version = input.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported scan index format " + version);
+        }
+        final int count = input.readInt();
+        final List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            strings.add(input.readUTF());
+        }
+        return new ScanIndex(readMap(strings, input), readMap(strings, input));
+    }
+
+    private static Map<String, Set<String>> copy(final Reflections reflections, final Class<? extends Scanner> scanner) {
+        final Map<String, Set<String>> result = new HashMap<>();
+        try {
+            reflections.getStore().get(index(scanner)).forEach((key, values) -> result.put(key, new HashSet<>(values)));
+        } catch (ReflectionsException e) {
+            // nothing is found by the scanner
+        }
+        return result;
+    }
+
+    private static void collectStrings(final Map<String, Set<String>> map, final Map<String, Integer> strings) {
+        map.forEach((key, values) -> {
+            strings.putIfAbsent(key, strings.size());
+            values.forEach(value -> strings.putIfAbsent(value, strings.size()));
+        });
+    }
+
+    private static void writeMap(final Map<String, Set<String>> map, final Map<String, Integer> strings,
+                                 final DataOutputStream output) throws IOException {
+        output.writeInt(map.size());
+        for (final Map.Entry<String, Set<String>> entry : map.entrySet()) {
+            output.writeInt(strings.get(entry.getKey()));
+            output.writeInt(entry.getValue().size());
+            for (final String value : entry.getValue()) {
+                output.writeInt(strings.get(value));
+            }
+        }
+    }
+
+    private static Map<String, Set<String>> readMap(final List<String> strings, final DataInputStream input) throws IOException {
+        final int size = input.readInt();
+        final Map<String, Set<String>> result = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            final String key = strings.get(input.readInt());
+            final int count = input.readInt();
+            final Set<String> values = new HashSet<>();
+            for (int j = 0; j < count; j++) {
+                values.add(strings.get(input.readInt()));
+            }
+            result.put(key, values);
+        }
+        return result;
+    }
+}
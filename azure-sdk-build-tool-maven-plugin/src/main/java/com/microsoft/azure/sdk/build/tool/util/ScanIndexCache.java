@@ -0,0 +1,99 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.microsoft.azure.sdk.build.tool.util;
+
+import com.microsoft.azure.sdk.build.tool.util.logging.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk cache of {@link ScanIndex} of jars, keyed by the SHA-1 of the jar content, so that a jar is only scanned
+ * once no matter where it's located or which project uses it.
+ */
+public final class ScanIndexCache {
+    private static final Logger LOGGER = Logger.getInstance();
+    private static final String SUFFIX = ".idx";
+
+    private final Path directory;
+
+    /**
+     * Creates a cache stored in the given directory.
+     *
+     * @param directory The directory to store the cached indexes in.
+     */
+    public ScanIndexCache(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the cached index of the given jar, or scans and caches it if it's not cached yet.
+     *
+     * @param jar The jar to get the index of.
+     * @param scanner Scans the jar if it's not cached.
+     * @return The index of the jar.
+     */
+    public ScanIndex get(final Path jar, final Supplier<ScanIndex> scanner) {
+        final Path file;
+        try {
+            file = directory.resolve(sha1(jar) + SUFFIX);
+        } catch (IOException e) {
+            LOGGER.info("Unable to compute checksum of " + jar + ". " + e.getMessage());
+            return scanner.get();
+        }
+        if (Files.isRegularFile(file)) {
+            try (DataInputStream input = new DataInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))))) {
+                return ScanIndex.readFrom(input);
+            } catch (IOException e) {
+                LOGGER.info("Unable to read cached scan index of " + jar + ", rescanning. " + e.getMessage());
+            }
+        }
+        final ScanIndex index = scanner.get();
+        try {
+            Files.createDirectories(directory);
+            // write to a temp file first, so that concurrent builds never see a partially written index
+            final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))))) {
+                index.writeTo(output);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.info("Unable to cache scan index of " + jar + ". " + e.getMessage());
+        }
+        return index;
+    }
+
+    private static String sha1(final Path file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        final byte[] buffer = new byte[64 * 1024];
+        try (InputStream input = Files.newInputStream(file)) {
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        final StringBuilder result = new StringBuilder();
+        for (final byte b : digest.digest()) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+}
@@ -4,7 +4,6 @@
 package com.microsoft.azure.sdk.build.tool.util;
 
 import com.microsoft.azure.sdk.build.tool.test.models.AnnotationA;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
@@ -15,9 +14,10 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 public class AnnotationUtilsTests {
 
-    @Disabled("Due to classloader issue noted below")
     @Test
     public void findAnnotationTest() {
         final Set<String> interestedPackages = new TreeSet<>(Comparator.comparingInt(String::length));
@@ -26,11 +26,10 @@ public class AnnotationUtilsTests {
 
         buildPackageList(path.toFile().getAbsolutePath(), path.toFile().getAbsolutePath(), interestedPackages);
 
-        // This throws ClassCastException because AnnotationUtils has some custom logic to use the URLClassLoader
-        // java.lang.ClassCastException: class jdk.internal.loader.ClassLoaders$AppClassLoader
-        // cannot be cast to class java.net.URLClassLoader (jdk.internal.loader.ClassLoaders$AppClassLoader
-        // and java.net.URLClassLoader are in module java.base of loader 'bootstrap')
         Set<AnnotatedMethodCallerResult> callsToAnnotatedMethod = AnnotationUtils.findCallsToAnnotatedMethod(AnnotationA.class, pathStream, interestedPackages, true);
+        assertEquals(1, callsToAnnotatedMethod.size());
+        assertEquals("Method public void com.microsoft.azure.sdk.build.tool.test.models.ClassA.methodA() is annotated with @AnnotationA"
+            + " and called by public void com.microsoft.azure.sdk.build.tool.test.models.ClassB.methodB()", callsToAnnotatedMethod.iterator().next().toString());
     }
 
     static void buildPackageList(String rootDir, String currentDir, Set<String> packages) {
@@ -9,7 +9,6 @@ import com.azure.core.http.policy.HttpLogDetailLevel;
 import com.azure.core.http.policy.HttpLogOptions;
 import com.azure.core.management.profile.AzureProfile;
 import com.azure.resourcemanager.applicationinsights.ApplicationInsightsManager;
-import com.azure.resourcemanager.resources.ResourceManager;
 import com.azure.resourcemanager.resources.fluentcore.policy.ProviderRegistrationPolicy;
 import com.azure.resourcemanager.resources.models.Providers;
 import com.microsoft.azure.toolkit.lib.Azure;
@@ -17,6 +16,7 @@ import com.microsoft.azure.toolkit.lib.AzureConfiguration;
 import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 
 import javax.annotation.Nonnull;
@@ -44,6 +44,11 @@ public class AzureApplicationInsights extends AbstractAzService<ApplicationInsig
     @Nullable
     @Override
     protected ApplicationInsightsManager loadResourceFromAzure(@Nonnull String subscriptionId, String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, ApplicationInsightsManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private ApplicationInsightsManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final String tenantId = account.getSubscription(subscriptionId).getTenantId();
         final AzureConfiguration config = Azure.az().config();
@@ -52,11 +57,7 @@ public class AzureApplicationInsights extends AbstractAzService<ApplicationInsig
         logOptions.setLogLevel(Optional.ofNullable(config.getLogLevel()).map(HttpLogDetailLevel::valueOf).orElse(HttpLogDetailLevel.NONE));
         final AzureProfile azureProfile = new AzureProfile(tenantId, subscriptionId, account.getEnvironment());
         // todo: migrate resource provider related codes to common library
-        final Providers providers = ResourceManager.configure()
-            .withHttpClient(AbstractAzServiceSubscription.getDefaultHttpClient())
-            .withPolicy(AbstractAzServiceSubscription.getUserAgentPolicy(userAgent))
-                .authenticate(account.getTokenCredential(subscriptionId), azureProfile)
-                .withSubscription(subscriptionId).providers();
+        final Providers providers = AbstractAzServiceSubscription.getResourceManager(subscriptionId).providers();
         return ApplicationInsightsManager
             .configure()
             .withHttpClient(AbstractAzServiceSubscription.getDefaultHttpClient())
@@ -6,24 +6,27 @@
 package com.microsoft.azure.toolkit.lib.appservice;
 
 import com.azure.resourcemanager.appservice.models.WebAppBase;
-import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
+import com.azure.resourcemanager.appservice.models.WebSiteBase;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
-import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.tuple.Pair;
 
 import javax.annotation.Nonnull;
-import java.util.Comparator;
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public abstract class AppServiceResourceModule<T extends AppServiceAppBase<T, P, R>, P
     extends AbstractAzResource<P, ?, ?>, R extends WebAppBase> extends AbstractAzResourceModule<T, P, R> {
+    /**
+     * basic info of apps listed by {@link #getResourcesFromAzure()}, full remotes are only loaded for new or changed apps.
+     */
+    private final Map<String, WebSiteBase> basics = new ConcurrentHashMap<>();
 
     public AppServiceResourceModule(@Nonnull String name, @Nonnull P parent) {
         super(name, parent);
@@ -32,34 +35,40 @@ public abstract class AppServiceResourceModule<T extends AppServiceAppBase<T, P,
     @Override
     protected Map<String, R> getResourcesFromAzure() {
         final Map<String, R> result = new HashMap<>();
-        loadResourceIdsFromAzure().forEach(id -> result.put(id, null));
+        loadResourceBasicsFromAzure().forEach(basic -> {
+            final String id = basic.id().toLowerCase();
+            this.basics.put(id, basic);
+            result.put(id, null);
+        });
         return result;
     }
 
+    @Nonnull
     @Override
-    protected void addResources(Map<String, R> loadedResources) {
-        final Set<String> added = loadedResources.keySet();
-        log.debug("[{}]:reload().added={}", this.getName(), added);
-        loadedResources.entrySet().stream().map(this::convertToResourcePair)
-            .sorted(Comparator.comparing(p -> p.getValue().getName())) // sort by name when adding into cache
-            .forEach(p -> {
-                final R remote = p.getKey();
-                final T resource = p.getValue();
-                final Runnable runnable = Objects.nonNull(remote) ? () -> resource.setRemote(remote) : resource::refresh;
-                AzureTaskManager.getInstance().runOnPooledThread(runnable);
-                this.addResourceToLocal(resource.getId(), resource, true);
-            });
-        this.syncTimeRef.set(System.currentTimeMillis());
+    protected T newLoadedResource(@Nonnull String id, @Nullable R remote) {
+        final WebSiteBase basic = this.basics.get(id.toLowerCase());
+        if (Objects.isNull(remote) && Objects.nonNull(basic)) {
+            return this.newResource(basic.name(), basic.resourceGroupName());
+        }
+        return super.newLoadedResource(id, remote);
     }
 
-    protected Pair<R, T> convertToResourcePair(@Nonnull final Map.Entry<String, R> entry) {
-        final String key = entry.getKey();
-        final ResourceId resourceId = ResourceId.fromString(key);
-        final R value = entry.getValue();
-        final T result = Objects.nonNull(value) ? this.newResource(value) :
-            this.newResource(resourceId.name(), resourceId.resourceGroupName());
-        return Pair.of(value, result);
+    /**
+     * an app is changed when its last modified time or state changes.
+     */
+    @Nullable
+    @Override
+    protected String getRemoteVersion(@Nonnull String id, @Nullable R remote) {
+        final WebSiteBase basic = Objects.nonNull(remote) ? remote : this.basics.get(id.toLowerCase());
+        return Optional.ofNullable(basic).filter(b -> Objects.nonNull(b.lastModifiedTime()))
+            .map(b -> String.format("%s|%s", b.lastModifiedTime(), b.state())).orElse(null);
+    }
+
+    @Override
+    protected void deleteResourceFromLocal(@Nonnull String id, boolean... silent) {
+        this.basics.remove(id.toLowerCase());
+        super.deleteResourceFromLocal(id, silent);
     }
 
-    protected abstract List<String> loadResourceIdsFromAzure();
+    protected abstract List<WebSiteBase> loadResourceBasicsFromAzure();
 }
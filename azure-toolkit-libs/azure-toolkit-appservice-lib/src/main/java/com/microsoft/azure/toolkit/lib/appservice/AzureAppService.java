@@ -20,6 +20,7 @@ import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 import com.microsoft.azure.toolkit.lib.resource.AzureResources;
 import com.microsoft.azure.toolkit.lib.resource.GenericResource;
 import org.apache.commons.lang3.StringUtils;
@@ -28,7 +29,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 public class AzureAppService extends AbstractAzService<AppServiceServiceSubscription, AppServiceManager> {
     public AzureAppService() {
@@ -44,7 +44,7 @@ public class AzureAppService extends AbstractAzService<AppServiceServiceSubscrip
 
     @Nonnull
     public List<AppServicePlan> plans() {
-        return this.list().stream().flatMap(m -> m.plans().list().stream()).collect(Collectors.toList());
+        return this.listInSubscriptions(m -> m.plans().list());
     }
 
     @Nullable
@@ -56,6 +56,11 @@ public class AzureAppService extends AbstractAzService<AppServiceServiceSubscrip
     @Nonnull
     @Override
     protected AppServiceManager loadResourceFromAzure(@Nonnull String subscriptionId, String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, AppServiceManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private AppServiceManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final AzureConfiguration config = Azure.az().config();
         final String userAgent = config.getUserAgent();
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.deploy;
+
+import com.azure.core.http.HttpHeaders;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+
+/**
+ * polls deployment status with adaptive backoff (fast at first and slower later, {@code Retry-After} is honoured if provided).
+ * delays of all tracked deployments are multiplexed on one shared timer thread, polls run on the bounded elastic scheduler,
+ * so that no thread/timer is held by a deployment while waiting.
+ */
+public final class DeploymentStatusTracker {
+    private static final DeploymentStatusTracker INSTANCE = new DeploymentStatusTracker(Schedulers.newSingle("azure-deployment-status", true));
+
+    @Getter
+    private final Scheduler scheduler;
+
+    private DeploymentStatusTracker(@Nonnull final Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public static DeploymentStatusTracker getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return a cold {@link Flux} of polled statuses, which completes after the first status accepted by {@code completed} or when
+     * {@code backoff} times out, errors thrown by {@code poll} are propagated. share it if there are multiple subscribers.
+     */
+    @Nonnull
+    public <T> Flux<T> track(@Nonnull final Callable<Status<T>> poll, @Nonnull final Predicate<T> completed, @Nonnull final Backoff backoff) {
+        return Flux.defer(() -> {
+            final long deadline = System.nanoTime() + backoff.getTimeout().toNanos();
+            return poll(poll, 0)
+                .expand(polled -> {
+                    if (polled.getValue() != null && completed.test(polled.getValue())) {
+                        return Mono.empty();
+                    }
+                    final Duration delay = Optional.ofNullable(polled.getRetryAfter()).orElseGet(() -> backoff.getDelay(polled.getAttempt()));
+                    if (System.nanoTime() + delay.toNanos() > deadline) {
+                        return Mono.empty();
+                    }
+                    return Mono.delay(delay, scheduler).then(poll(poll, polled.getAttempt() + 1));
+                })
+                .filter(polled -> polled.getValue() != null)
+                .map(Polled::getValue);
+        });
+    }
+
+    private static <T> Mono<Polled<T>> poll(@Nonnull final Callable<Status<T>> poll, final int attempt) {
+        return Mono.fromCallable(poll)
+            .subscribeOn(Schedulers.boundedElastic())
+            .map(status -> new Polled<>(status.getValue(), status.getRetryAfter(), attempt))
+            .defaultIfEmpty(new Polled<>(null, null, attempt));
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Status<T> {
+        @Nullable
+        private final T value;
+        @Nullable
+        private final Duration retryAfter;
+
+        public static <T> Status<T> of(@Nullable final T value) {
+            return new Status<>(value, null);
+        }
+
+        /**
+         * @param headers response headers, whose {@code Retry-After} (in seconds) will be used as the delay of next poll.
+         */
+        public static <T> Status<T> of(@Nullable final T value, @Nullable final HttpHeaders headers) {
+            final String retryAfter = Optional.ofNullable(headers).map(h -> h.getValue("Retry-After")).orElse(null);
+            final long seconds = NumberUtils.toLong(StringUtils.trim(retryAfter), -1);
+            return new Status<>(value, seconds < 0 ? null : Duration.ofSeconds(seconds));
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class Backoff {
+        @Builder.Default
+        private final Duration initialDelay = Duration.ofSeconds(1);
+        @Builder.Default
+        private final Duration maxDelay = Duration.ofSeconds(10);
+        @Builder.Default
+        private final double multiplier = 1.5;
+        @Builder.Default
+        private final Duration timeout = Duration.ofMinutes(5);
+
+        /**
+         * @return delay before the poll following the {@code attempt}-th (0 based) one.
+         */
+        @Nonnull
+        public Duration getDelay(final int attempt) {
+            final double delay = initialDelay.toMillis() * Math.pow(multiplier, attempt);
+            return Duration.ofMillis((long) Math.min(delay, maxDelay.toMillis()));
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Polled<T> {
+        @Nullable
+        private final T value;
+        @Nullable
+        private final Duration retryAfter;
+        private final int attempt;
+    }
+}
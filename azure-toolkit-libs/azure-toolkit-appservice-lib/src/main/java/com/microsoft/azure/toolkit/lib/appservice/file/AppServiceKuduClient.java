@@ -17,6 +17,7 @@ import com.azure.core.annotation.PathParam;
 import com.azure.core.annotation.Post;
 import com.azure.core.annotation.Put;
 import com.azure.core.annotation.ServiceInterface;
+import com.azure.core.http.HttpPipeline;
 import com.azure.core.http.rest.Response;
 import com.azure.core.http.rest.RestProxy;
 import com.azure.core.http.rest.StreamResponse;
@@ -27,6 +28,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.appservice.AppServiceAppBase;
+import com.microsoft.azure.toolkit.lib.appservice.deploy.DeploymentStatusTracker;
 import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
 import com.microsoft.azure.toolkit.lib.appservice.model.CommandOutput;
 import com.microsoft.azure.toolkit.lib.appservice.model.ProcessInfo;
@@ -44,19 +46,30 @@ import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 public class AppServiceKuduClient implements IFileClient, IProcessClient {
     public static final String DEFAULT_TOOL_NAME = "Azure-Java-Toolkit";
@@ -66,6 +79,7 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
     private final KuduService kuduService;
     private final AppServiceAppBase<?, ?, ?> app;
     private static final String HOME_PREFIX = "/home";
+    private static final int UPLOAD_CHUNK_SIZE = 64 * 1024;
 
     private AppServiceKuduClient(String host, KuduService kuduService, AppServiceAppBase<?, ?, ?> app) {
         this.host = host;
@@ -85,8 +99,11 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         String[] parts = host.split("\\.", 2);
         host = parts[0] + ".scm." + parts[1];
         host = "https://" + host;
+        return getClient(host, webAppBase.manager().httpPipeline(), appService);
+    }
 
-        final KuduService kuduService = RestProxy.create(KuduService.class, webAppBase.manager().httpPipeline());
+    public static AppServiceKuduClient getClient(@Nonnull String host, @Nonnull HttpPipeline pipeline, @Nullable AppServiceAppBase<?, ?, ?> appService) {
+        final KuduService kuduService = RestProxy.create(KuduService.class, pipeline);
         return new AppServiceKuduClient(host, kuduService, appService);
     }
 
@@ -118,6 +135,112 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         this.kuduService.saveFile(host, path, content).block();
     }
 
+    /**
+     * stream the local file to the given path, the file is read chunk by chunk as the request body is being sent.
+     */
+    public void uploadFileToPath(@Nonnull final Path file, @Nonnull final String path) throws IOException {
+        try (final AsynchronousFileChannel fileChannel = AsynchronousFileChannel.open(file, StandardOpenOption.READ)) {
+            this.kuduService.uploadFile(host, path, FluxUtil.readFile(fileChannel), fileChannel.size()).block();
+        }
+    }
+
+    /**
+     * stream the content of the given input stream (with known length) to the given path, the stream is not closed.
+     */
+    public void uploadFileToPath(@Nonnull final InputStream content, final long length, @Nonnull final String path) {
+        this.kuduService.uploadFile(host, path, FluxUtil.toFluxByteBuffer(content, UPLOAD_CHUNK_SIZE), length).block();
+    }
+
+    /**
+     * stream the remote file at the given path to the local file, chunks are written as they arrive.
+     */
+    public void downloadFile(@Nonnull final String path, @Nonnull final Path target) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        try (final AsynchronousFileChannel fileChannel = AsynchronousFileChannel.open(target,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            FluxUtil.writeFile(getFileContent(path), fileChannel).block();
+        }
+    }
+
+    /**
+     * upload all files of the local directory to the given remote directory through kudu zip api, files are split into at most
+     * {@code parallelism} zip packages of similar size, which are built and uploaded concurrently and extracted by kudu.
+     */
+    public void uploadDirectory(@Nonnull final Path directory, @Nonnull final String path, final int parallelism) throws IOException {
+        final List<Path> files;
+        try (final Stream<Path> stream = Files.walk(directory)) {
+            files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        if (files.isEmpty()) {
+            this.createDirectory(path);
+            return;
+        }
+        final List<List<Path>> batches = partition(files, Math.max(1, Math.min(parallelism, files.size())));
+        Flux.fromIterable(batches)
+            .flatMap(batch -> Mono.using(() -> zip(directory, batch), zip -> uploadZip(zip, path), AppServiceKuduClient::deleteQuietly)
+                .subscribeOn(Schedulers.boundedElastic()), batches.size())
+            .blockLast();
+    }
+
+    private Mono<Void> uploadZip(@Nonnull final Path zip, @Nonnull final String path) {
+        return Mono.using(() -> AsynchronousFileChannel.open(zip, StandardOpenOption.READ),
+            channel -> Mono.fromCallable(channel::size).flatMap(size -> this.kuduService.uploadZip(host, path, FluxUtil.readFile(channel), size)),
+            channel -> {
+                try {
+                    channel.close();
+                } catch (final IOException e) {
+                    // ignore
+                }
+            });
+    }
+
+    /**
+     * distribute files into the given number of batches, largest first into the currently smallest batch.
+     */
+    private static List<List<Path>> partition(@Nonnull final List<Path> files, final int count) throws IOException {
+        final Map<Path, Long> sizes = new HashMap<>();
+        for (final Path file : files) {
+            sizes.put(file, Files.size(file));
+        }
+        final List<List<Path>> batches = new ArrayList<>();
+        final long[] batchSizes = new long[count];
+        for (int i = 0; i < count; i++) {
+            batches.add(new ArrayList<>());
+        }
+        files.stream().sorted(Comparator.comparing(sizes::get).reversed()).forEach(file -> {
+            int smallest = 0;
+            for (int i = 1; i < count; i++) {
+                smallest = batchSizes[i] < batchSizes[smallest] ? i : smallest;
+            }
+            batches.get(smallest).add(file);
+            batchSizes[smallest] += sizes.get(file);
+        });
+        return batches;
+    }
+
+    private static Path zip(@Nonnull final Path base, @Nonnull final List<Path> files) throws IOException {
+        final Path zip = Files.createTempFile("kudu-upload", ".zip");
+        try (final ZipOutputStream output = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zip)))) {
+            for (final Path file : files) {
+                output.putNextEntry(new ZipEntry(base.relativize(file).toString().replace(File.separatorChar, '/')));
+                Files.copy(file, output);
+                output.closeEntry();
+            }
+        } catch (final IOException e) {
+            deleteQuietly(zip);
+            throw e;
+        }
+        return zip;
+    }
+
+    private static void deleteQuietly(@Nonnull final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            // ignore
+        }
+    }
+
     public void createDirectory(String path) {
         this.kuduService.createDirectory(host, path).block();
     }
@@ -149,29 +272,37 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         return Objects.requireNonNull(this.kuduService.getAppServiceTunnelStatus(host).block()).getValue();
     }
 
+    /**
+     * poll the latest deployment status with adaptive backoff, from every {@code duration} up to every 10 * {@code duration},
+     * until it succeeds or {@code duration * repeatTimes} passed.
+     */
     public void checkLatestDeploymentStatus(final Duration duration, final int repeatTimes) {
-        final AtomicBoolean hasResponse = new AtomicBoolean(false);
-        final Integer finalStatus = Mono.fromCallable(() -> getLatestDeploymentStatus(hasResponse))
-            .delayElement(duration)
-            .subscribeOn(Schedulers.boundedElastic())
-            .repeat(repeatTimes)
-            .takeUntil(AppServiceKuduClient::isSuccessStatusCode)
-            .blockLast();
+        final Integer finalStatus = trackLatestDeploymentStatus(duration, repeatTimes).blockLast();
         if (!isSuccessStatusCode(finalStatus)) {
             throw new AzureToolkitRuntimeException(DEPLOYMENT_STATUS_TIMEOUT);
         }
     }
 
+    public Flux<Integer> trackLatestDeploymentStatus(final Duration duration, final int repeatTimes) {
+        final AtomicBoolean hasResponse = new AtomicBoolean(false);
+        final DeploymentStatusTracker.Backoff backoff = DeploymentStatusTracker.Backoff.builder()
+            .initialDelay(duration)
+            .maxDelay(duration.multipliedBy(10))
+            .timeout(duration.multipliedBy(repeatTimes))
+            .build();
+        return DeploymentStatusTracker.getInstance().track(() -> getLatestDeploymentStatus(hasResponse), AppServiceKuduClient::isSuccessStatusCode, backoff);
+    }
+
     private static boolean isSuccessStatusCode(@Nullable final Integer integer) {
         return integer != null && integer == 4;
     }
 
     @Nonnull
     @AzureOperation(name = "azure/function.get_deployment_status.function", params = {"this.app.getName()"})
-    private Integer getLatestDeploymentStatus(final AtomicBoolean hasResponseBefore) {
+    private DeploymentStatusTracker.Status<Integer> getLatestDeploymentStatus(final AtomicBoolean hasResponseBefore) {
         final Response<BinaryData> response = kuduService.latestDeployment(host).block();
         if (Objects.isNull(response)) {
-            return 0;
+            return DeploymentStatusTracker.Status.of(0);
         }
         final String string = Optional.ofNullable(response.getValue()).map(BinaryData::toString).orElse(StringUtils.EMPTY);
         final JsonNode value = StringUtils.isBlank(string) ? NullNode.getInstance() : tryParseJson(string, NullNode.getInstance()); // sometimes service will return string value to indicate there is no deployment
@@ -198,7 +329,7 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
                     .filter(StringUtils::isNotBlank)
                     .ifPresent(progress -> AzureMessager.getMessager().debug(progress));
             case 4:
-                return statusCode;
+                return DeploymentStatusTracker.Status.of(statusCode, response.getHeaders());
         }
     }
 
@@ -238,6 +369,23 @@ public class AppServiceKuduClient implements IFileClient, IProcessClient {
         @Put("api/vfs/{path}")
         Mono<Void> saveFile(@HostParam("$host") String host, @PathParam("path") String path, @BodyParam("application/octet-stream") String content);
 
+        @Headers({
+            "Content-Type: application/octet-stream",
+            "If-Match: *",
+            "x-ms-body-logging: false"
+        })
+        @Put("api/vfs/{path}")
+        Mono<Void> uploadFile(@HostParam("$host") String host, @PathParam("path") String path,
+                              @BodyParam("application/octet-stream") Flux<ByteBuffer> content, @HeaderParam("content-length") long size);
+
+        @Headers({
+            "Content-Type: application/zip",
+            "x-ms-body-logging: false"
+        })
+        @Put("api/zip/{path}/")
+        Mono<Void> uploadZip(@HostParam("$host") String host, @PathParam("path") String path,
+                             @BodyParam("application/octet-stream") Flux<ByteBuffer> zipFile, @HeaderParam("content-length") long size);
+
         @Headers({
             "Content-Type: application/json; charset=utf-8"
         })
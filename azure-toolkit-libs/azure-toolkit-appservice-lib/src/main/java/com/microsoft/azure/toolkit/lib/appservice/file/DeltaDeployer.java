@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.file;
+
+import com.azure.core.util.FluxUtil;
+import com.microsoft.azure.toolkit.lib.appservice.model.AppServiceFile;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * deploys a local directory to a remote directory through kudu vfs api by uploading only added/modified files and deleting
+ * removed ones. a manifest (size/mtime/hash) of the last deployed files is kept remotely in {@code site/deployments/delta},
+ * so that unchanged local files are not even re-hashed, the remote tree is listed to detect files changed/removed out of band.
+ */
+@Slf4j
+public class DeltaDeployer {
+    private static final String MANIFEST_DIRECTORY = "site/deployments/delta/";
+    private static final int DEFAULT_PARALLELISM = 8;
+
+    private final AppServiceKuduClient client;
+    private final int parallelism;
+
+    public DeltaDeployer(@Nonnull final AppServiceKuduClient client) {
+        this(client, DEFAULT_PARALLELISM);
+    }
+
+    public DeltaDeployer(@Nonnull final AppServiceKuduClient client, final int parallelism) {
+        this.client = client;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * make remote {@code remoteDirectory} (relative to {@code /home}) contain the same files as local {@code directory}, remote files
+     * not deployed by previous delta deployments are kept.
+     */
+    @Nonnull
+    public Result deploy(@Nonnull final Path directory, @Nonnull final String remoteDirectory) throws IOException {
+        final String remoteRoot = StringUtils.appendIfMissing(StringUtils.removeStart(StringUtils.removeStart(remoteDirectory, "/home"), "/"), "/");
+        final String manifestPath = MANIFEST_DIRECTORY + StringUtils.removeEnd(remoteRoot, "/").replaceAll("[^a-zA-Z0-9._-]", "_") + ".json";
+        final Map<String, Entry> previous = Optional.ofNullable(loadManifest(manifestPath)).map(Manifest::getFiles).orElse(Collections.emptyMap());
+        final Map<String, Long> remote = new HashMap<>();
+        listRemoteFiles(remoteRoot, "", remote);
+
+        final List<Path> files;
+        try (final Stream<Path> stream = Files.walk(directory)) {
+            files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        final Map<String, Entry> current = new ConcurrentHashMap<>();
+        final Map<String, Path> changed = new ConcurrentHashMap<>();
+        files.parallelStream().forEach(file -> {
+            final String relative = directory.relativize(file).toString().replace(File.separatorChar, '/');
+            final Entry entry = toEntry(file, previous.get(relative));
+            current.put(relative, entry);
+            final Entry deployed = previous.get(relative);
+            if (deployed == null || !Objects.equals(deployed.getHash(), entry.getHash()) || !Objects.equals(remote.get(relative), entry.getSize())) {
+                changed.put(relative, file);
+            }
+        });
+        final List<String> removed = previous.keySet().stream()
+            .filter(path -> !current.containsKey(path) && remote.containsKey(path))
+            .collect(Collectors.toList());
+
+        Flux.fromIterable(changed.entrySet())
+            .flatMap(e -> Mono.fromCallable(() -> {
+                client.uploadFileToPath(e.getValue(), remoteRoot + e.getKey());
+                return e.getKey();
+            }).subscribeOn(Schedulers.boundedElastic()), parallelism)
+            .thenMany(Flux.fromIterable(removed).flatMap(path -> Mono.fromRunnable(() -> client.deleteFile(remoteRoot + path))
+                .subscribeOn(Schedulers.boundedElastic()), parallelism))
+            .blockLast();
+        client.uploadFileToPath(JsonUtils.toJson(new Manifest(current)), manifestPath);
+        log.debug("{} file(s) uploaded, {} file(s) deleted, {} file(s) unchanged in {}", changed.size(), removed.size(), files.size() - changed.size(), remoteRoot);
+        return new Result(changed.size(), removed.size(), files.size() - changed.size());
+    }
+
+    private void listRemoteFiles(@Nonnull final String root, @Nonnull final String relative, @Nonnull final Map<String, Long> result) {
+        final List<? extends AppServiceFile> children;
+        try {
+            children = client.getFilesInDirectory(StringUtils.removeEnd(root + relative, "/"));
+        } catch (final RuntimeException e) {
+            // the remote directory doesn't exist yet
+            log.debug("failed to list remote directory {}", root + relative, e);
+            return;
+        }
+        for (final AppServiceFile child : children) {
+            if (child.getType() == AppServiceFile.Type.DIRECTORY) {
+                listRemoteFiles(root, relative + child.getName() + "/", result);
+            } else {
+                result.put(relative + child.getName(), child.getSize());
+            }
+        }
+    }
+
+    @Nullable
+    private Manifest loadManifest(@Nonnull final String path) {
+        try {
+            final byte[] content = FluxUtil.collectBytesInByteBufferStream(client.getFileContent(path)).block();
+            return content == null || content.length == 0 ? null : JsonUtils.fromJson(new String(content, StandardCharsets.UTF_8), Manifest.class);
+        } catch (final RuntimeException e) {
+            // no previous delta deployment
+            log.debug("failed to load delta deployment manifest {}", path, e);
+            return null;
+        }
+    }
+
+    @Nonnull
+    private static Entry toEntry(@Nonnull final Path file, @Nullable final Entry deployed) {
+        try {
+            final long size = Files.size(file);
+            final long modified = Files.getLastModifiedTime(file).toMillis();
+            if (deployed != null && deployed.getSize() == size && deployed.getModified() == modified) {
+                return deployed;
+            }
+            try (final InputStream input = Files.newInputStream(file)) {
+                return new Entry(size, modified, DigestUtils.sha256Hex(input));
+            }
+        } catch (final IOException e) {
+            throw new AzureToolkitRuntimeException(String.format("failed to read file %s", file), e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final int uploaded;
+        private final int deleted;
+        private final int unchanged;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Manifest {
+        private Map<String, Entry> files;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private long size;
+        private long modified;
+        private String hash;
+    }
+}
@@ -13,7 +13,6 @@ import com.microsoft.azure.toolkit.lib.appservice.AzureAppService;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class AzureFunctions extends AzureAppService {
 
@@ -26,7 +25,7 @@ public class AzureFunctions extends AzureAppService {
 
     @Nonnull
     public List<FunctionApp> functionApps() {
-        return this.list().stream().flatMap(m -> m.functionApps().list().stream()).collect(Collectors.toList());
+        return this.listInSubscriptions(m -> m.functionApps().list());
     }
 
     @Nullable
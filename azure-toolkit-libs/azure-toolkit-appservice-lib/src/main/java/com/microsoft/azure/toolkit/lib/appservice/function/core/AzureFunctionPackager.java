@@ -231,12 +231,7 @@ public class AzureFunctionPackager extends AzureFunctionPackagerBase {
         final String stagingDirectory = project.getStagingFolder().getAbsolutePath();
         AzureMessager.getMessager().info(LINE_FEED + COPY_JARS + stagingDirectory);
         final File libFolder = Paths.get(stagingDirectory, "lib").toFile();
-        if (libFolder.exists()) {
-            FileUtils.cleanDirectory(libFolder);
-        }
-        for (final File file : project.getDependencies()) {
-            copyFileToDirectory(file, libFolder);
-        }
+        new IncrementalStager(libFolder).stage(project.getDependencies());
         copyFileToDirectory(project.getArtifactFile(), new File(stagingDirectory));
         AzureMessager.getMessager().info(COPY_SUCCESS);
     }
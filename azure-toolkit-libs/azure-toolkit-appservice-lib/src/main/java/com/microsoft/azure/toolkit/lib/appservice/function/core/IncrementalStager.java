@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.appservice.function.core;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * stages files into a folder incrementally: a manifest of size/mtime/hash of staged files is kept, so that only new or
+ * changed files are copied (in parallel) and only stale files are deleted, instead of wiping the folder and copying everything
+ * again on every build. the manifest holds absolute paths of the sources, so it must not be kept in the folder (or its parent,
+ * e.g. the function staging folder) which is packed and deployed. files are copied rather than hard linked, a hard link shares
+ * the inode with the source (e.g. a jar in the local maven repository), which would be modified by anything writing the staged file.
+ */
+@Slf4j
+public class IncrementalStager {
+    private static final String MANIFEST_SUFFIX = ".staging.json";
+
+    private final File folder;
+    private final File manifestFile;
+
+    /**
+     * the manifest is kept in the temp directory, keyed by the absolute path of {@code folder}.
+     */
+    public IncrementalStager(@Nonnull final File folder) {
+        this(folder, new File(FileUtils.getTempDirectory(), "azure-toolkit-staging/" + DigestUtils.sha1Hex(folder.getAbsolutePath()) + MANIFEST_SUFFIX));
+    }
+
+    /**
+     * @param manifestFile where to keep the manifest, e.g. under the build directory, it should not be inside {@code folder}'s parent
+     */
+    public IncrementalStager(@Nonnull final File folder, @Nonnull final File manifestFile) {
+        this.folder = folder;
+        this.manifestFile = manifestFile;
+    }
+
+    /**
+     * make {@code folder} contain exactly {@code files}, files with the same name are overridden by the latter one.
+     */
+    public void stage(@Nonnull final Collection<File> files) throws IOException {
+        final Map<String, File> sources = files.stream().filter(Objects::nonNull)
+            .collect(Collectors.toMap(File::getName, f -> f, (a, b) -> b));
+        FileUtils.forceMkdir(this.folder);
+        deleteLegacyManifest();
+        deleteStaleFiles(sources.keySet());
+        final Map<String, StagedFile> previous = Optional.ofNullable(this.manifestFile.exists() ?
+            JsonUtils.readFromJsonFile(this.manifestFile, Manifest.class) : null).map(Manifest::getFiles).orElse(null);
+        final Map<String, StagedFile> current = new ConcurrentHashMap<>();
+        final AtomicInteger copied = new AtomicInteger();
+        try {
+            sources.entrySet().parallelStream().forEach(e -> {
+                final StagedFile staged = Optional.ofNullable(previous).map(p -> p.get(e.getKey())).orElse(null);
+                final StagedFile result = stage(e.getValue(), new File(this.folder, e.getKey()), staged);
+                if (result != staged) {
+                    copied.incrementAndGet();
+                }
+                current.put(e.getKey(), result);
+            });
+        } finally {
+            saveManifest(new Manifest(current));
+        }
+        log.debug("{} of {} file(s) are updated in {}", copied.get(), sources.size(), this.folder.getAbsolutePath());
+    }
+
+    /**
+     * wipe the folder and the manifest.
+     */
+    public void clean() throws IOException {
+        if (this.folder.exists()) {
+            FileUtils.cleanDirectory(this.folder);
+        }
+        Files.deleteIfExists(this.manifestFile.toPath());
+        deleteLegacyManifest();
+    }
+
+    /**
+     * manifest was kept beside the folder by earlier versions, which would be packed with the staging folder.
+     */
+    private void deleteLegacyManifest() throws IOException {
+        Files.deleteIfExists(new File(this.folder.getAbsoluteFile().getParentFile(), "." + this.folder.getName() + MANIFEST_SUFFIX).toPath());
+    }
+
+    @Nonnull
+    private static StagedFile stage(@Nonnull final File source, @Nonnull final File target, @Nullable final StagedFile staged) {
+        try {
+            final long size = source.length();
+            final long modified = source.lastModified();
+            final boolean intact = staged != null && target.isFile() && target.length() == staged.getSize() && target.lastModified() == staged.getTargetModified();
+            if (intact && Objects.equals(staged.getSource(), source.getAbsolutePath()) && size == staged.getSize() && modified == staged.getModified()) {
+                return staged;
+            }
+            if (Files.exists(target.toPath()) && Files.isSameFile(source.toPath(), target.toPath())) { // already in place
+                return new StagedFile(source.getAbsolutePath(), size, modified, sha256(source), modified);
+            }
+            final String hash = sha256(source);
+            if (intact && size == staged.getSize() && Objects.equals(hash, staged.getHash())) { // touched or moved, but not changed
+                return new StagedFile(source.getAbsolutePath(), size, modified, hash, staged.getTargetModified());
+            }
+            copy(source.toPath(), target.toPath());
+            return new StagedFile(source.getAbsolutePath(), size, modified, hash, target.lastModified());
+        } catch (final IOException e) {
+            throw new AzureToolkitRuntimeException(String.format("failed to copy %s to %s", source.getAbsolutePath(), target.getParent()), e);
+        }
+    }
+
+    private static void copy(@Nonnull final Path source, @Nonnull final Path target) throws IOException {
+        Files.deleteIfExists(target); // may be a hard link created by earlier versions
+        try (final FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             final FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private void deleteStaleFiles(@Nonnull final Collection<String> names) throws IOException {
+        final File[] children = Optional.ofNullable(this.folder.listFiles()).orElse(new File[0]);
+        for (final File child : children) {
+            if (!names.contains(child.getName()) || child.isDirectory()) {
+                FileUtils.forceDelete(child);
+            }
+        }
+    }
+
+    private void saveManifest(@Nonnull final Manifest manifest) {
+        try {
+            FileUtils.forceMkdirParent(this.manifestFile);
+            JsonUtils.writeToJsonFile(this.manifestFile, manifest);
+        } catch (final IOException e) {
+            log.debug("failed to save staging manifest {}", this.manifestFile.getAbsolutePath(), e);
+            FileUtils.deleteQuietly(this.manifestFile);
+        }
+    }
+
+    private static String sha256(@Nonnull final File file) throws IOException {
+        try (final InputStream input = new FileInputStream(file)) {
+            return DigestUtils.sha256Hex(input);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Manifest {
+        private Map<String, StagedFile> files;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StagedFile {
+        private String source;
+        private long size;
+        private long modified;
+        private String hash;
+        private long targetModified;
+    }
+}
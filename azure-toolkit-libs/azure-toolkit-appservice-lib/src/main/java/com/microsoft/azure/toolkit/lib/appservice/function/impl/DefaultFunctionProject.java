@@ -21,6 +21,7 @@ import org.reflections.scanners.Scanners;
 import org.reflections.util.ConfigurationBuilder;
 
 import javax.annotation.Nonnull;
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -35,6 +36,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -43,8 +45,23 @@ import static com.microsoft.azure.toolkit.lib.appservice.function.core.AzureFunc
 @Slf4j
 public class DefaultFunctionProject extends FunctionProject {
 
+    private static final String FUNCTION_INDEX = ".functions-index.json";
+
     @Override
     public List<FunctionMethod> findAnnotatedMethods() {
+        final File index = Optional.ofNullable(getStagingFolder()).map(File::getAbsoluteFile).map(File::getParentFile)
+            .map(f -> new File(f, FUNCTION_INDEX)).orElse(null);
+        final List<File> extraClasspath = Optional.ofNullable(getArtifactFile()).map(Collections::singletonList).orElse(Collections.emptyList());
+        try (FunctionBytecodeScanner scanner = new FunctionBytecodeScanner(getDependencies(), getClassesOutputDirectory(), extraClasspath, index)) {
+            return scanner.scan();
+        } catch (RuntimeException e) {
+            // e.g. class files of newer java versions that are not supported by asm
+            log.debug("Failed to find functions by scanning bytecode, fallback to reflection.", e);
+            return findAnnotatedMethodsByReflection();
+        }
+    }
+
+    private List<FunctionMethod> findAnnotatedMethodsByReflection() {
         Set<Method> methods;
         try {
             try {
@@ -0,0 +1,638 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.appservice.function.impl;
+
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionAnnotation;
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionAnnotationClass;
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionMethod;
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.microsoft.azure.toolkit.lib.appservice.function.core.AzureFunctionsAnnotationConstants.FUNCTION_NAME;
+
+/**
+ * finds {@code @FunctionName} methods by reading class files with ASM instead of loading classes, annotation types are
+ * also read from class files (for default values and meta annotations). only enums, classes and annotations used as
+ * annotation values are loaded, so that values are of the same types as those got by reflection.
+ * dependency jars without any function are recorded in a persisted index (keyed by path, size and mtime) and skipped
+ * in later scans.
+ */
+@Slf4j
+public class FunctionBytecodeScanner implements AutoCloseable {
+    private static final String FUNCTION_NAME_DESC = Type.getObjectType(FUNCTION_NAME.replace('.', '/')).getDescriptor();
+    private static final int PARSING_OPTIONS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final List<File> dependencies;
+    @Nullable
+    private final File classesDirectory;
+    @Nullable
+    private final File indexFile;
+    private final URLClassLoader resources;
+    private final Map<String, AnnotationType> types = new ConcurrentHashMap<>();
+
+    /**
+     * @param dependencies     jars to scan functions in
+     * @param classesDirectory compiled classes of the project, always scanned
+     * @param extraClasspath   jars/folders (e.g. the fat jar) only used to resolve annotation types
+     * @param indexFile        where to persist jars known to have no function, {@code null} to disable the index
+     */
+    public FunctionBytecodeScanner(@Nonnull final List<File> dependencies, @Nullable final File classesDirectory,
+                                   @Nonnull final List<File> extraClasspath, @Nullable final File indexFile) {
+        this.dependencies = dependencies;
+        this.classesDirectory = classesDirectory;
+        this.indexFile = indexFile;
+        final URL[] urls = Stream.of(Stream.of(classesDirectory), dependencies.stream(), extraClasspath.stream())
+            .flatMap(s -> s).filter(Objects::nonNull).map(FunctionBytecodeScanner::toUrl).filter(Objects::nonNull).toArray(URL[]::new);
+        this.resources = new URLClassLoader(urls, FunctionBytecodeScanner.class.getClassLoader());
+    }
+
+    @Nonnull
+    public List<FunctionMethod> scan() {
+        final Map<String, JarIndex> previous = loadIndex();
+        final Map<String, JarIndex> current = new ConcurrentHashMap<>();
+        final List<RawMethod> methods = Collections.synchronizedList(new ArrayList<>());
+        this.dependencies.parallelStream().filter(File::isFile).forEach(jar -> {
+            final String path = jar.getAbsolutePath();
+            final JarIndex index = previous.get(path);
+            if (index != null && !index.isFunctions() && index.getSize() == jar.length() && index.getModified() == jar.lastModified()) {
+                current.put(path, index);
+                return;
+            }
+            final List<RawMethod> found = scanJar(jar);
+            current.put(path, new JarIndex(jar.length(), jar.lastModified(), !found.isEmpty()));
+            methods.addAll(found);
+        });
+        if (this.classesDirectory != null && this.classesDirectory.isDirectory()) {
+            methods.addAll(scanDirectory(this.classesDirectory.toPath()));
+        }
+        saveIndex(current);
+        return methods.stream().map(this::toFunctionMethod).collect(Collectors.toList());
+    }
+
+    /**
+     * classes already loaded (e.g. enums in the scanned annotation values) are still usable after closing.
+     */
+    @Override
+    public void close() {
+        try {
+            this.resources.close();
+        } catch (final IOException e) {
+            log.debug("failed to close class loader of function scanner", e);
+        }
+    }
+
+    @Nonnull
+    private static List<RawMethod> scanJar(@Nonnull final File file) {
+        final List<RawMethod> result = new ArrayList<>();
+        try (JarFile jar = new JarFile(file)) {
+            final Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                final JarEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && !entry.getName().startsWith("META-INF/") && isClassFile(entry.getName())) {
+                    try (InputStream input = jar.getInputStream(entry)) {
+                        scanClass(IOUtils.toByteArray(input), result::add);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            log.debug("failed to scan functions in {}", file.getAbsolutePath(), e);
+        }
+        return result;
+    }
+
+    @Nonnull
+    private static List<RawMethod> scanDirectory(@Nonnull final Path directory) {
+        final List<RawMethod> result = Collections.synchronizedList(new ArrayList<>());
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(p -> Files.isRegularFile(p) && isClassFile(p.getFileName().toString())).parallel().forEach(p -> {
+                try {
+                    scanClass(Files.readAllBytes(p), result::add);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (final IOException | UncheckedIOException e) {
+            log.debug("failed to scan functions in {}", directory, e);
+        }
+        return result;
+    }
+
+    private static boolean isClassFile(@Nonnull final String name) {
+        return name.endsWith(CLASS_SUFFIX) && !name.endsWith("module-info.class") && !name.endsWith("package-info.class");
+    }
+
+    private static void scanClass(@Nonnull final byte[] bytes, @Nonnull final Consumer<RawMethod> consumer) {
+        new ClassReader(bytes).accept(new ClassVisitor(Opcodes.ASM9) {
+            private String className;
+
+            @Override
+            public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+                this.className = name;
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                final RawMethod method = new RawMethod(this.className, name, descriptor);
+                return new MethodVisitor(Opcodes.ASM9) {
+                    @Override
+                    public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+                        return visible ? method.addAnnotation(desc) : null;
+                    }
+
+                    @Override
+                    public AnnotationVisitor visitParameterAnnotation(int parameter, String desc, boolean visible) {
+                        return visible ? method.addParameterAnnotation(parameter, desc) : null;
+                    }
+
+                    @Override
+                    public void visitEnd() {
+                        if (method.annotations.stream().anyMatch(a -> FUNCTION_NAME_DESC.equals(a.descriptor))) {
+                            consumer.accept(method);
+                        }
+                    }
+                };
+            }
+        }, PARSING_OPTIONS);
+    }
+
+    @Nonnull
+    private FunctionMethod toFunctionMethod(@Nonnull final RawMethod raw) {
+        final FunctionMethod method = new FunctionMethod();
+        method.setName(raw.name);
+        method.setReturnTypeName(toCanonicalName(Type.getReturnType(raw.descriptor)));
+        method.setDeclaringTypeName(toCanonicalName(Type.getObjectType(raw.className)));
+        method.setAnnotations(raw.annotations.stream().map(a -> toFunctionAnnotation(a, true)).collect(Collectors.toList()));
+        final int count = Type.getArgumentTypes(raw.descriptor).length;
+        final List<FunctionAnnotation[]> parameterAnnotations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            parameterAnnotations.add(raw.parameterAnnotations.getOrDefault(i, Collections.emptyList()).stream()
+                .map(a -> toFunctionAnnotation(a, true)).toArray(FunctionAnnotation[]::new));
+        }
+        method.setParameterAnnotations(parameterAnnotations);
+        return method;
+    }
+
+    @Nonnull
+    private FunctionAnnotation toFunctionAnnotation(@Nonnull final RawAnnotation raw, boolean resolveAnnotationType) {
+        final AnnotationType type = getAnnotationType(raw.descriptor);
+        final Map<String, Object> map = new HashMap<>();
+        final Map<String, Object> defaultMap = new HashMap<>();
+        for (final String member : type.members) {
+            final Type memberType = type.types.get(member);
+            final Object defaultValue = resolve(type.defaults.get(member), memberType);
+            if (raw.values.containsKey(member)) {
+                final Object value = resolve(raw.values.get(member), memberType);
+                // arrays never equal to the defaults by `Objects.equals`, keep consistent with the reflection based parsing.
+                (isArray(value) || !Objects.equals(value, defaultValue) ? map : defaultMap).put(member, value);
+            } else if (defaultValue != null) {
+                (isArray(defaultValue) ? map : defaultMap).put(member, defaultValue);
+            }
+        }
+        raw.values.forEach((k, v) -> { // members of unresolved annotation types
+            if (!type.members.contains(k)) {
+                map.put(k, resolve(v, null));
+            }
+        });
+        final FunctionAnnotation annotation = new FunctionAnnotation();
+        final FunctionAnnotationClass clazz = new FunctionAnnotationClass();
+        clazz.setFullName(type.fullName);
+        clazz.setName(type.name);
+        clazz.setAnnotations(resolveAnnotationType ?
+            type.annotations.stream().map(a -> toFunctionAnnotation(a, false)).collect(Collectors.toList()) : Collections.emptyList());
+        annotation.setAnnotationClass(clazz);
+        annotation.setProperties(map);
+        annotation.setDefaultProperties(defaultMap);
+        return annotation;
+    }
+
+    /**
+     * converts raw value read by ASM to the type got by reflection, falls back to the plain value (e.g. names of
+     * enums and classes) if any type can not be loaded.
+     *
+     * @param type type of the annotation member, {@code null} if unknown
+     */
+    @Nullable
+    private Object resolve(@Nullable final Object raw, @Nullable final Type type) {
+        try {
+            return doResolve(raw, type);
+        } catch (final ClassNotFoundException | LinkageError | IllegalArgumentException e) {
+            log.debug("failed to resolve annotation value {}", raw, e);
+            return toPlainValue(raw);
+        }
+    }
+
+    @Nullable
+    private Object doResolve(@Nullable final Object raw, @Nullable final Type type) throws ClassNotFoundException {
+        if (raw instanceof Type) {
+            return loadClass((Type) raw);
+        } else if (raw instanceof RawEnum) {
+            final RawEnum e = (RawEnum) raw;
+            final Class<?> clazz = loadClass(Type.getType(e.descriptor));
+            return Arrays.stream(clazz.getEnumConstants()).filter(c -> ((Enum<?>) c).name().equals(e.name)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(String.format("no enum constant %s.%s", clazz.getName(), e.name)));
+        } else if (raw instanceof RawAnnotation) {
+            return toAnnotation((RawAnnotation) raw);
+        } else if (raw instanceof List) {
+            final List<?> elements = (List<?>) raw;
+            final Type elementType = type != null && type.getSort() == Type.ARRAY ? Type.getType(type.getDescriptor().substring(1)) : null;
+            final Class<?> componentType = elementType != null ? loadClass(elementType) :
+                elements.stream().allMatch(e -> e instanceof String) ? String.class : Object.class;
+            final Object array = Array.newInstance(componentType, elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                Array.set(array, i, doResolve(elements.get(i), elementType));
+            }
+            return array;
+        }
+        return raw;
+    }
+
+    @Nonnull
+    private Annotation toAnnotation(@Nonnull final RawAnnotation raw) throws ClassNotFoundException {
+        final Class<?> clazz = loadClass(Type.getType(raw.descriptor));
+        final AnnotationType type = getAnnotationType(raw.descriptor);
+        final Map<String, Object> values = new LinkedHashMap<>();
+        for (final String member : type.members) {
+            final Object value = raw.values.containsKey(member) ? raw.values.get(member) : type.defaults.get(member);
+            values.put(member, doResolve(value, type.types.get(member)));
+        }
+        return (Annotation) Proxy.newProxyInstance(clazz.getClassLoader(), new Class<?>[]{clazz}, new AnnotationHandler(clazz, values));
+    }
+
+    @Nonnull
+    private Class<?> loadClass(@Nonnull final Type type) throws ClassNotFoundException {
+        return ClassUtils.getClass(this.resources, type.getClassName(), false);
+    }
+
+    @Nullable
+    private static Object toPlainValue(@Nullable final Object raw) {
+        if (raw instanceof Type) {
+            return ((Type) raw).getClassName();
+        } else if (raw instanceof RawEnum) {
+            return ((RawEnum) raw).name;
+        } else if (raw instanceof RawAnnotation) {
+            final Map<String, Object> values = new LinkedHashMap<>();
+            ((RawAnnotation) raw).values.forEach((k, v) -> values.put(k, toPlainValue(v)));
+            return values;
+        } else if (raw instanceof List) {
+            final List<Object> elements = ((List<?>) raw).stream().map(FunctionBytecodeScanner::toPlainValue).collect(Collectors.toList());
+            final boolean strings = elements.stream().allMatch(e -> e instanceof String);
+            return strings ? elements.toArray(new String[0]) : elements.toArray();
+        }
+        return raw;
+    }
+
+    @Nonnull
+    private AnnotationType getAnnotationType(@Nonnull final String descriptor) {
+        return this.types.computeIfAbsent(descriptor, this::loadAnnotationType);
+    }
+
+    @Nonnull
+    private AnnotationType loadAnnotationType(@Nonnull final String descriptor) {
+        final Type type = Type.getType(descriptor);
+        final AnnotationType result = new AnnotationType(toCanonicalName(type));
+        try (InputStream input = this.resources.getResourceAsStream(type.getInternalName() + CLASS_SUFFIX)) {
+            if (input == null) {
+                log.debug("class file of annotation type {} is not found", result.fullName);
+                return result;
+            }
+            new ClassReader(input).accept(new ClassVisitor(Opcodes.ASM9) {
+                @Override
+                public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+                    if (!visible) {
+                        return null;
+                    }
+                    final RawAnnotation annotation = new RawAnnotation(desc);
+                    result.annotations.add(annotation);
+                    return annotation.visitor();
+                }
+
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+                    if ((access & Opcodes.ACC_STATIC) != 0 || "<init>".equals(name) || "<clinit>".equals(name)) {
+                        return null;
+                    }
+                    result.members.add(name);
+                    result.types.put(name, Type.getReturnType(desc));
+                    return new MethodVisitor(Opcodes.ASM9) {
+                        @Override
+                        public AnnotationVisitor visitAnnotationDefault() {
+                            return new ValueVisitor(v -> result.defaults.put(name, v));
+                        }
+                    };
+                }
+            }, PARSING_OPTIONS);
+        } catch (final IOException e) {
+            log.debug("failed to read annotation type {}", result.fullName, e);
+        }
+        return result;
+    }
+
+    @Nonnull
+    private Map<String, JarIndex> loadIndex() {
+        if (this.indexFile == null || !this.indexFile.isFile()) {
+            return Collections.emptyMap();
+        }
+        return Optional.ofNullable(JsonUtils.readFromJsonFile(this.indexFile, Index.class)).map(Index::getJars).orElse(Collections.emptyMap());
+    }
+
+    private void saveIndex(@Nonnull final Map<String, JarIndex> jars) {
+        if (this.indexFile == null) {
+            return;
+        }
+        try {
+            FileUtils.forceMkdirParent(this.indexFile);
+            JsonUtils.writeToJsonFile(this.indexFile, new Index(jars));
+        } catch (final IOException e) {
+            log.debug("failed to save function index {}", this.indexFile.getAbsolutePath(), e);
+            FileUtils.deleteQuietly(this.indexFile);
+        }
+    }
+
+    @Nullable
+    private static URL toUrl(@Nonnull final File file) {
+        try {
+            return file.toURI().toURL();
+        } catch (final MalformedURLException e) {
+            log.debug("Failed to get URL for file: " + file);
+            return null;
+        }
+    }
+
+    private static String toCanonicalName(@Nonnull final Type type) {
+        return type.getClassName().replace('$', '.');
+    }
+
+    private static boolean isArray(@Nullable final Object value) {
+        return value != null && value.getClass().isArray();
+    }
+
+    private static class RawMethod {
+        private final String className;
+        private final String name;
+        private final String descriptor;
+        private final List<RawAnnotation> annotations = new ArrayList<>();
+        private final Map<Integer, List<RawAnnotation>> parameterAnnotations = new HashMap<>();
+
+        RawMethod(String className, String name, String descriptor) {
+            this.className = className;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        AnnotationVisitor addAnnotation(String descriptor) {
+            final RawAnnotation annotation = new RawAnnotation(descriptor);
+            this.annotations.add(annotation);
+            return annotation.visitor();
+        }
+
+        AnnotationVisitor addParameterAnnotation(int parameter, String descriptor) {
+            final RawAnnotation annotation = new RawAnnotation(descriptor);
+            this.parameterAnnotations.computeIfAbsent(parameter, k -> new ArrayList<>()).add(annotation);
+            return annotation.visitor();
+        }
+    }
+
+    private static class RawAnnotation {
+        private final String descriptor;
+        private final Map<String, Object> values = new LinkedHashMap<>();
+
+        RawAnnotation(String descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        AnnotationVisitor visitor() {
+            return new ValuesVisitor(this.values);
+        }
+    }
+
+    private static class AnnotationType {
+        private final String fullName;
+        private final String name;
+        private final List<String> members = Collections.synchronizedList(new ArrayList<>());
+        private final Map<String, Type> types = new ConcurrentHashMap<>();
+        private final Map<String, Object> defaults = new ConcurrentHashMap<>();
+        private final List<RawAnnotation> annotations = Collections.synchronizedList(new ArrayList<>());
+
+        AnnotationType(String fullName) {
+            this.fullName = fullName;
+            this.name = StringUtils.substringAfterLast("." + fullName, ".");
+        }
+    }
+
+    private static class RawEnum {
+        private final String descriptor;
+        private final String name;
+
+        RawEnum(String descriptor, String name) {
+            this.descriptor = descriptor;
+            this.name = name;
+        }
+    }
+
+    /**
+     * collects member values of an annotation as read by ASM: classes as {@link Type}, enums as {@link RawEnum},
+     * annotations as {@link RawAnnotation} and arrays (except non-empty primitive arrays) as {@link List}.
+     */
+    private static class ValuesVisitor extends AnnotationVisitor {
+        private final Map<String, Object> values;
+
+        ValuesVisitor(Map<String, Object> values) {
+            super(Opcodes.ASM9);
+            this.values = values;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            this.values.put(name, value);
+        }
+
+        @Override
+        public void visitEnum(String name, String descriptor, String value) {
+            this.values.put(name, new RawEnum(descriptor, value));
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+            final RawAnnotation nested = new RawAnnotation(descriptor);
+            this.values.put(name, nested);
+            return nested.visitor();
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            return new ArrayVisitor(array -> this.values.put(name, array));
+        }
+    }
+
+    /**
+     * collects the single value of an annotation default or an array.
+     */
+    private static class ValueVisitor extends AnnotationVisitor {
+        private final Consumer<Object> consumer;
+
+        ValueVisitor(Consumer<Object> consumer) {
+            super(Opcodes.ASM9);
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            this.consumer.accept(value);
+        }
+
+        @Override
+        public void visitEnum(String name, String descriptor, String value) {
+            this.consumer.accept(new RawEnum(descriptor, value));
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+            final RawAnnotation nested = new RawAnnotation(descriptor);
+            this.consumer.accept(nested);
+            return nested.visitor();
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            return new ArrayVisitor(this.consumer);
+        }
+    }
+
+    private static class ArrayVisitor extends ValueVisitor {
+        private final List<Object> elements;
+        private final Consumer<Object> consumer;
+
+        ArrayVisitor(Consumer<Object> consumer) {
+            this(new ArrayList<>(), consumer);
+        }
+
+        private ArrayVisitor(List<Object> elements, Consumer<Object> consumer) {
+            super(elements::add);
+            this.elements = elements;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void visitEnd() {
+            this.consumer.accept(this.elements);
+        }
+    }
+
+    /**
+     * implements nested annotation values the same way as those created by the jdk.
+     */
+    private static class AnnotationHandler implements InvocationHandler {
+        private final Class<?> type;
+        private final Map<String, Object> values;
+
+        AnnotationHandler(Class<?> type, Map<String, Object> values) {
+            this.type = type;
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final String name = method.getName();
+            final int count = method.getParameterCount();
+            if (count == 1 && "equals".equals(name)) {
+                return proxy == args[0] || isEqual(args[0]);
+            } else if (count == 0 && "hashCode".equals(name)) {
+                // `deepHashCode` of an array containing only the value is `31 + hash code of the value`.
+                return this.values.entrySet().stream()
+                    .mapToInt(e -> (127 * e.getKey().hashCode()) ^ (Arrays.deepHashCode(new Object[]{e.getValue()}) - 31)).sum();
+            } else if (count == 0 && "annotationType".equals(name)) {
+                return this.type;
+            } else if (count == 0 && "toString".equals(name)) {
+                return "@" + this.type.getName() + this.values.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + StringUtils.substringBeforeLast(Arrays.deepToString(new Object[]{e.getValue()}).substring(1), "]"))
+                    .collect(Collectors.joining(", ", "(", ")"));
+            }
+            final Object value = this.values.get(name);
+            return isArray(value) ? cloneArray(value) : value;
+        }
+
+        private boolean isEqual(Object other) throws ReflectiveOperationException {
+            if (!this.type.isInstance(other)) {
+                return false;
+            }
+            for (final Map.Entry<String, Object> e : this.values.entrySet()) {
+                if (!Objects.deepEquals(e.getValue(), this.type.getMethod(e.getKey()).invoke(other))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Object cloneArray(Object array) {
+            final int length = Array.getLength(array);
+            final Object result = Array.newInstance(array.getClass().getComponentType(), length);
+            System.arraycopy(array, 0, result, 0, length);
+            return result;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Index {
+        private Map<String, JarIndex> jars;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class JarIndex {
+        private long size;
+        private long modified;
+        private boolean functions;
+    }
+}
@@ -5,8 +5,13 @@
 
 package com.microsoft.azure.toolkit.lib.appservice.task;
 
+import com.azure.core.exception.HttpResponseException;
+import com.microsoft.azure.toolkit.lib.appservice.deploy.DeploymentStatusTracker;
+import com.microsoft.azure.toolkit.lib.appservice.file.AppServiceKuduClient;
+import com.microsoft.azure.toolkit.lib.appservice.file.DeltaDeployer;
 import com.microsoft.azure.toolkit.lib.appservice.model.CsmDeploymentStatus;
 import com.microsoft.azure.toolkit.lib.appservice.model.DeployOptions;
+import com.microsoft.azure.toolkit.lib.appservice.model.DeployType;
 import com.microsoft.azure.toolkit.lib.appservice.model.DeploymentBuildStatus;
 import com.microsoft.azure.toolkit.lib.appservice.model.ErrorEntity;
 import com.microsoft.azure.toolkit.lib.appservice.model.KuduDeploymentResult;
@@ -22,24 +27,35 @@ import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.messager.IAzureMessager;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
+import com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTask;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -53,8 +69,15 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
     private static final int DEFAULT_DEPLOYMENT_STATUS_REFRESH_INTERVAL = 5;
     private static final int DEFAULT_DEPLOYMENT_STATUS_MAX_REFRESH_TIMES = 30;
     private static final int DEPLOYMENT_STATUS_DISPLAY_REFRESH_INTERVAL = 500;
+    private static final int MAX_CONFLICT_RETRIES = 10;
+    private static final Duration CONFLICT_RETRY_DELAY = Duration.ofSeconds(2);
     private static final String CLEAR_MESSAGE_STRING = StringUtils.repeat(StringUtils.SPACE, 100) + "\r";
 
+    /**
+     * redraws the console, separated from the tracker's scheduler so that a slow console doesn't delay polling of any deployment.
+     */
+    private static final Scheduler DISPLAY_SCHEDULER = Schedulers.newSingle("azure-deployment-status-display", true);
+
     private final WebAppBase<?, ?, ?> webApp;
     private final List<WebAppArtifact> artifacts;
     private final boolean restartSite;
@@ -68,6 +91,16 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
     private long deploymentStatusMaxRefreshTimes = DEFAULT_DEPLOYMENT_STATUS_MAX_REFRESH_TIMES;
     @Setter
     private PrintStream deploymentStatusStream;
+    /**
+     * deploy directory artifacts (e.g. exploded war, static content) by uploading only added/modified files through kudu.
+     */
+    @Setter
+    private boolean deltaDeployment;
+    /**
+     * max number of artifacts deployed concurrently, artifacts are deployed one by one if it's not greater than 1.
+     */
+    @Setter
+    private int deploymentParallelism = 1;
 
 
     public DeployWebAppTask(WebAppBase<?, ?, ?> webApp, List<WebAppArtifact> artifacts) {
@@ -113,15 +146,24 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
         Optional.ofNullable(webApp.getAppServicePlan()).map(AppServicePlan::getPricingTier).ifPresent(pricingTier -> OperationContext.action().setTelemetryProperty("pricingTier", pricingTier.getSize()));
 
         final long startTime = System.currentTimeMillis();
+        final List<WebAppArtifact> artifactsDelta = this.artifacts.stream()
+                .filter(artifact -> deltaDeployment && Objects.nonNull(artifact.getDeployType()) && artifact.getFile().isDirectory())
+                .collect(Collectors.toList());
+        artifactsDelta.forEach(this::deltaDeploy);
         final List<WebAppArtifact> artifactsOneDeploy = this.artifacts.stream()
-                .filter(artifact -> artifact.getDeployType() != null)
+                .filter(artifact -> artifact.getDeployType() != null && !artifactsDelta.contains(artifact))
                 .collect(Collectors.toList());
+        if (restartSite && !artifactsDelta.isEmpty() && artifactsOneDeploy.isEmpty()) {
+            // files uploaded through kudu don't restart the site, which is otherwise done by the last one deploy
+            webApp.restart();
+        }
         final boolean trackDeploymentStatus = isTrackDeploymentStatus();
-        if (trackDeploymentStatus) {
-            artifactsOneDeploy.forEach(resource -> deploymentResultAtomicReference.set(webApp.pushDeploy(resource.getDeployType(), resource.getFile(),
-                DeployOptions.builder().path(resource.getPath()).restartSite(restartSite).trackDeployment(true).build())));
+        if (deploymentParallelism > 1 && artifactsOneDeploy.size() > 1) {
+            pipelineDeploy(artifactsOneDeploy, trackDeploymentStatus);
         } else {
-            artifactsOneDeploy.forEach(resource -> webApp.deploy(resource.getDeployType(), resource.getFile(), DeployOptions.builder().path(resource.getPath()).restartSite(restartSite).build()));
+            for (int i = 0; i < artifactsOneDeploy.size(); i++) {
+                deploy(OperationContext.action(), i, artifactsOneDeploy.get(i), restartSite, trackDeploymentStatus);
+            }
         }
         if (!waitUntilDeploymentReady(trackDeploymentStatus, this.deploymentStatusRefreshInterval, this.deploymentStatusMaxRefreshTimes) && openStreamingLogOnFailure) {
             new StreamingLogTask(webApp).doExecute();
@@ -129,6 +171,118 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
         OperationContext.action().setTelemetryProperty("deploy-cost", String.valueOf(System.currentTimeMillis() - startTime));
     }
 
+    /**
+     * artifacts to independent target paths (lib/static/script) are pushed concurrently by at most {@link #deploymentParallelism} workers,
+     * while those to the same target path keep their order. app artifacts (war/jar/ear/zip) are deployed only after all of them are done,
+     * and the startup script at last, only the last one restarts the site. kudu may still run the server side of deployments one by one,
+     * a deployment rejected with 409 conflict is retried after the running one.
+     */
+    private void pipelineDeploy(final List<WebAppArtifact> artifacts, final boolean trackDeploymentStatus) {
+        // telemetry of artifacts deployed in worker threads goes to the action of the current thread
+        final OperationContext action = OperationContext.action();
+        final Map<String, List<Integer>> independent = IntStream.range(0, artifacts.size()).boxed()
+                .filter(i -> artifacts.get(i).getDeployType().requirePath())
+                .collect(Collectors.groupingBy(i -> artifacts.get(i).getDeployType().getTargetPathPrefix() + artifacts.get(i).getPath(),
+                        LinkedHashMap::new, Collectors.toList()));
+        final List<Integer> ordered = IntStream.range(0, artifacts.size()).boxed()
+                .filter(i -> !artifacts.get(i).getDeployType().requirePath())
+                .sorted(Comparator.comparing(i -> artifacts.get(i).getDeployType() == DeployType.SCRIPT_STARTUP))
+                .collect(Collectors.toList());
+        final OperationThreadContext context = OperationThreadContext.current().derive();
+        Flux.fromIterable(independent.values())
+                .flatMap(group -> Mono.fromRunnable(() -> context.run(() -> group.forEach(i -> pushDeploy(action, i, artifacts.get(i), trackDeploymentStatus))))
+                        .subscribeOn(Schedulers.boundedElastic()), deploymentParallelism)
+                .blockLast();
+        // barrier: all independent artifacts are deployed now
+        for (int i = 0; i < ordered.size(); i++) {
+            final int index = ordered.get(i);
+            deploy(action, index, artifacts.get(index), restartSite && i == ordered.size() - 1, trackDeploymentStatus);
+        }
+        if (restartSite && ordered.isEmpty()) {
+            webApp.restart();
+        }
+    }
+
+    /**
+     * push the artifact without going through {@link WebAppBase#deploy}, which serializes all modifications of the app, and wait until
+     * its deployment is done if deployment status is tracked.
+     */
+    private void pushDeploy(final OperationContext action, final int index, final WebAppArtifact artifact, final boolean trackDeploymentStatus) {
+        final long startTime = System.currentTimeMillis();
+        final DeployOptions options = DeployOptions.builder().path(artifact.getPath()).restartSite(false)
+                .trackDeployment(trackDeploymentStatus ? Boolean.TRUE : null).build();
+        final KuduDeploymentResult result = retryOnConflict(() -> webApp.pushDeploy(artifact.getDeployType(), artifact.getFile(), options));
+        final String deploymentId = Optional.ofNullable(result).map(KuduDeploymentResult::getDeploymentId).orElse(null);
+        if (trackDeploymentStatus && StringUtils.isNotBlank(deploymentId)) {
+            deploymentResultAtomicReference.set(result);
+            final DeploymentBuildStatus status = Optional.ofNullable(trackDeploymentStatus(deploymentId, this.deploymentStatusRefreshInterval,
+                    this.deploymentStatusMaxRefreshTimes).blockLast()).map(CsmDeploymentStatus::getStatus).orElse(null);
+            if (status != null && status.isFailed()) {
+                throw new AzureToolkitRuntimeException(String.format("Failed to deploy %s to %s.", artifact.getFile(), webApp.getName()));
+            }
+        }
+        action.setTelemetryProperty(String.format("deploy-cost-%d-%s", index, artifact.getDeployType()), String.valueOf(System.currentTimeMillis() - startTime));
+    }
+
+    private void deploy(final OperationContext action, final int index, final WebAppArtifact artifact, final boolean restart, final boolean trackDeploymentStatus) {
+        final long startTime = System.currentTimeMillis();
+        final DeployOptions options = DeployOptions.builder().path(artifact.getPath()).restartSite(restart)
+                .trackDeployment(trackDeploymentStatus ? Boolean.TRUE : null).build();
+        if (trackDeploymentStatus) {
+            deploymentResultAtomicReference.set(retryOnConflict(() -> webApp.pushDeploy(artifact.getDeployType(), artifact.getFile(), options)));
+        } else {
+            retryOnConflict(() -> {
+                webApp.deploy(artifact.getDeployType(), artifact.getFile(), options);
+                return Boolean.TRUE;
+            });
+        }
+        action.setTelemetryProperty(String.format("deploy-cost-%d-%s", index, artifact.getDeployType()),
+                String.valueOf(System.currentTimeMillis() - startTime));
+    }
+
+    private <R> R retryOnConflict(final Supplier<R> deploy) {
+        return Mono.fromSupplier(deploy)
+                .retryWhen(Retry.backoff(MAX_CONFLICT_RETRIES, CONFLICT_RETRY_DELAY).filter(DeployWebAppTask::isConflict)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .block();
+    }
+
+    private static boolean isConflict(final Throwable t) {
+        return ExceptionUtils.getThrowableList(t).stream().anyMatch(e -> e instanceof HttpResponseException &&
+                Optional.ofNullable(((HttpResponseException) e).getResponse()).map(r -> r.getStatusCode() == 409).orElse(false));
+    }
+
+    private void deltaDeploy(final WebAppArtifact artifact) {
+        final AppServiceKuduClient client = Optional.ofNullable(webApp.getKuduManager())
+            .orElseThrow(() -> new AzureToolkitRuntimeException("kudu is not available for delta deployment."));
+        final DeployType type = artifact.getDeployType();
+        final String path = type.ignorePath() ? null : StringUtils.firstNonBlank(artifact.getPath(), type == DeployType.WAR ? "ROOT" : null);
+        final String target = Paths.get(type.getTargetPathPrefix(), StringUtils.defaultString(path)).normalize().toString().replace('\\', '/');
+        try {
+            final DeltaDeployer.Result result = new DeltaDeployer(client).deploy(artifact.getFile().toPath(), target);
+            this.messager.info(String.format("%d file(s) uploaded, %d file(s) deleted, %d file(s) unchanged in %s",
+                result.getUploaded(), result.getDeleted(), result.getUnchanged(), target));
+        } catch (final IOException e) {
+            throw new AzureToolkitRuntimeException(String.format("failed to deploy %s to %s", artifact.getFile(), target), e);
+        }
+    }
+
+    /**
+     * poll status of the deployment with adaptive backoff, from every second up to every {@code deploymentStatusRefreshInterval} seconds,
+     * until it's not running or {@code deploymentStatusRefreshInterval * deploymentStatusMaxRefreshTimes} seconds passed.
+     */
+    public Flux<CsmDeploymentStatus> trackDeploymentStatus(String deploymentId, long deploymentStatusRefreshInterval, long deploymentStatusMaxRefreshTimes) {
+        // at least 1 second, a 0 interval would otherwise busy poll
+        final long interval = Math.max(1, deploymentStatusRefreshInterval);
+        final DeploymentStatusTracker.Backoff backoff = DeploymentStatusTracker.Backoff.builder()
+            .initialDelay(Duration.ofSeconds(1))
+            .maxDelay(Duration.ofSeconds(interval))
+            .timeout(Duration.ofSeconds(interval * (deploymentStatusMaxRefreshTimes + 1)))
+            .build();
+        return DeploymentStatusTracker.getInstance().track(() -> webApp.pollDeploymentStatus(deploymentId),
+            deploymentStatus -> !deploymentStatus.getStatus().isRunning(), backoff);
+    }
+
     public boolean waitUntilDeploymentReady(boolean trackDeploymentStatus, long deploymentStatusRefreshInterval, long deploymentStatusMaxRefreshTimes) {
         final String trackId = Optional.ofNullable(deploymentResultAtomicReference.get())
             .map(KuduDeploymentResult::getDeploymentId).orElse(null);
@@ -136,19 +290,16 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
             return false;
         }
         final AtomicReference<CsmDeploymentStatus> status = new AtomicReference<>(null);
-        final Timer timer = Objects.isNull(deploymentStatusStream) ? null : new Timer();
-        Optional.ofNullable(timer).ifPresent(t -> t.schedule(new TrackDeploymentStatusTask(status), 0, DEPLOYMENT_STATUS_DISPLAY_REFRESH_INTERVAL));
-        final CsmDeploymentStatus result = Mono.fromCallable(() -> {
-                final CsmDeploymentStatus deploymentStatus = webApp.getDeploymentStatus(trackId);
-                status.set(deploymentStatus);
-                return deploymentStatus;
-            })
-            .delayElement(Duration.ofSeconds(deploymentStatusRefreshInterval))
-            .subscribeOn(Schedulers.boundedElastic())
-            .repeat(deploymentStatusMaxRefreshTimes)
-            .takeUntil(csmDeploymentStatus -> !csmDeploymentStatus.getStatus().isRunning())
-            .blockLast();
-        Optional.ofNullable(timer).ifPresent(Timer::cancel);
+        final Disposable display = Objects.isNull(deploymentStatusStream) ? null : DISPLAY_SCHEDULER
+            .schedulePeriodically(new TrackDeploymentStatusTask(status), 0, DEPLOYMENT_STATUS_DISPLAY_REFRESH_INTERVAL, TimeUnit.MILLISECONDS);
+        final CsmDeploymentStatus result;
+        try {
+            result = trackDeploymentStatus(trackId, deploymentStatusRefreshInterval, deploymentStatusMaxRefreshTimes)
+                .doOnNext(status::set)
+                .blockLast();
+        } finally {
+            Optional.ofNullable(display).ifPresent(Disposable::dispose);
+        }
         final DeploymentBuildStatus buildStatus = Optional.ofNullable(result).map(CsmDeploymentStatus::getStatus).orElse(null);
         if (buildStatus == null || buildStatus.isSucceed()) {
             return true;
@@ -187,7 +338,7 @@ public class DeployWebAppTask extends AzureTask<WebAppBase<?, ?, ?>> {
     }
 
     @RequiredArgsConstructor
-    private class TrackDeploymentStatusTask extends TimerTask{
+    private class TrackDeploymentStatusTask implements Runnable {
         private final AtomicReference<CsmDeploymentStatus> status;
         private final AtomicInteger times = new AtomicInteger(0);
 
@@ -13,7 +13,6 @@ import com.microsoft.azure.toolkit.lib.appservice.AzureAppService;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class AzureWebApp extends AzureAppService {
 
@@ -26,7 +25,7 @@ public class AzureWebApp extends AzureAppService {
 
     @Nonnull
     public List<WebApp> webApps() {
-        return this.list().stream().flatMap(m -> m.webApps().list().stream()).collect(Collectors.toList());
+        return this.listInSubscriptions(m -> m.webApps().list());
     }
 
     @Nullable
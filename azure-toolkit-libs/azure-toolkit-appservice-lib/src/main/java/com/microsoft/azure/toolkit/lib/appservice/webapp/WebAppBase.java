@@ -5,23 +5,36 @@
 
 package com.microsoft.azure.toolkit.lib.appservice.webapp;
 
+import com.azure.core.http.rest.Response;
+import com.azure.core.management.serializer.SerializerFactory;
+import com.azure.core.util.FluxUtil;
+import com.azure.core.util.serializer.SerializerEncoding;
+import com.azure.resourcemanager.appservice.fluent.WebAppsClient;
+import com.azure.resourcemanager.appservice.models.DeploymentSlot;
 import com.azure.resourcemanager.appservice.models.JavaVersion;
 import com.azure.resourcemanager.appservice.models.OperatingSystem;
 import com.azure.resourcemanager.appservice.models.SupportsOneDeploy;
 import com.azure.resourcemanager.appservice.models.WebSiteBase;
 import com.microsoft.azure.toolkit.lib.appservice.AppServiceAppBase;
+import com.microsoft.azure.toolkit.lib.appservice.deploy.DeploymentStatusTracker;
 import com.microsoft.azure.toolkit.lib.appservice.deploy.IOneDeploy;
 import com.microsoft.azure.toolkit.lib.appservice.model.*;
 import com.microsoft.azure.toolkit.lib.appservice.utils.AppServiceUtils;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -104,6 +117,39 @@ public abstract class WebAppBase<T extends WebAppBase<T, P, F>, P extends Abstra
         }
     }
 
+    /**
+     * same as {@link #getDeploymentStatus(String)}, but keeps headers of the response, whose {@code Retry-After} tells when to poll again.
+     */
+    @Nullable
+    public DeploymentStatusTracker.Status<CsmDeploymentStatus> pollDeploymentStatus(@Nonnull final String deploymentId) {
+        final WebSiteBase remote = this.getRemote();
+        if (!(remote instanceof com.azure.resourcemanager.appservice.models.WebAppBase)) {
+            return null;
+        }
+        final com.azure.resourcemanager.appservice.models.WebAppBase app = (com.azure.resourcemanager.appservice.models.WebAppBase) remote;
+        final WebAppsClient client = app.manager().serviceClient().getWebApps();
+        final Mono<Response<Flux<ByteBuffer>>> response = app instanceof DeploymentSlot ?
+            client.getSlotSiteDeploymentStatusSlotWithResponseAsync(app.resourceGroupName(), ((DeploymentSlot) app).parent().name(), app.name(), deploymentId) :
+            client.getProductionSiteDeploymentStatusWithResponseAsync(app.resourceGroupName(), app.name(), deploymentId);
+        return response.flatMap(r -> FluxUtil.collectBytesInByteBufferStream(r.getValue()).defaultIfEmpty(new byte[0])
+                .map(body -> DeploymentStatusTracker.Status.of(toDeploymentStatus(body), r.getHeaders())))
+            .block();
+    }
+
+    @Nullable
+    private static CsmDeploymentStatus toDeploymentStatus(@Nonnull final byte[] body) {
+        if (ArrayUtils.isEmpty(body)) {
+            return null;
+        }
+        try {
+            final com.azure.resourcemanager.appservice.models.CsmDeploymentStatus status = SerializerFactory.createDefaultManagementSerializerAdapter()
+                .deserialize(body, com.azure.resourcemanager.appservice.models.CsmDeploymentStatus.class, SerializerEncoding.JSON);
+            return Optional.ofNullable(status).map(AppServiceUtils::fromCsmDeploymentStatus).orElse(null);
+        } catch (final IOException e) {
+            throw new AzureToolkitRuntimeException("failed to parse deployment status", e);
+        }
+    }
+
     @Override
     public boolean isStreamingLogSupported() {
         return Optional.ofNullable(getDiagnosticConfig()).map(DiagnosticConfig::isEnableWebServerLogging).orElse(false);
@@ -63,9 +63,9 @@ public class WebAppDeploymentSlotModule extends AppServiceResourceModule<WebAppD
     }
 
     @Override
-    protected List<String> loadResourceIdsFromAzure() {
+    protected List<WebSiteBase> loadResourceBasicsFromAzure() {
         return Optional.ofNullable(getClient())
-            .map(client -> client.list().stream().map(WebSiteBase::id).collect(Collectors.toList()))
+            .map(client -> client.list().stream().map(WebSiteBase.class::cast).collect(Collectors.toList()))
             .orElse(Collections.emptyList());
     }
 }
@@ -67,9 +67,9 @@ public class WebAppModule extends AppServiceResourceModule<WebApp, AppServiceSer
     }
 
     @Override
-    protected List<String> loadResourceIdsFromAzure() {
+    protected List<WebSiteBase> loadResourceBasicsFromAzure() {
         return Optional.ofNullable(getClient())
-            .map(client -> client.list().stream().map(WebSiteBase::id).collect(Collectors.toList()))
+            .map(client -> client.list().stream().map(WebSiteBase.class::cast).collect(Collectors.toList()))
             .orElse(Collections.emptyList());
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.deploy;
+
+import com.azure.core.http.HttpHeaders;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DeploymentStatusTrackerTest {
+    private static final DeploymentStatusTracker.Backoff BACKOFF = DeploymentStatusTracker.Backoff.builder()
+        .initialDelay(Duration.ofMillis(10)).maxDelay(Duration.ofMillis(40)).multiplier(2).timeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    public void backoff() {
+        assertEquals(Duration.ofMillis(10), BACKOFF.getDelay(0));
+        assertEquals(Duration.ofMillis(20), BACKOFF.getDelay(1));
+        assertEquals(Duration.ofMillis(40), BACKOFF.getDelay(2));
+        assertEquals(Duration.ofMillis(40), BACKOFF.getDelay(10));
+    }
+
+    @Test
+    public void track() {
+        final AtomicInteger count = new AtomicInteger();
+        final List<Integer> statuses = DeploymentStatusTracker.getInstance()
+            .track(() -> DeploymentStatusTracker.Status.of(count.incrementAndGet()), status -> status == 3, BACKOFF)
+            .collectList().block();
+        assertEquals(Arrays.asList(1, 2, 3), statuses);
+    }
+
+    @Test
+    public void trackUntilTimeout() {
+        final DeploymentStatusTracker.Backoff backoff = DeploymentStatusTracker.Backoff.builder()
+            .initialDelay(Duration.ofMillis(10)).maxDelay(Duration.ofMillis(10)).timeout(Duration.ofMillis(100)).build();
+        final Long count = DeploymentStatusTracker.getInstance()
+            .track(() -> DeploymentStatusTracker.Status.of(0), status -> false, backoff)
+            .count().block();
+        assertTrue(count != null && count > 1 && count <= 11);
+    }
+
+    @Test
+    public void retryAfter() {
+        final HttpHeaders headers = new HttpHeaders().set("Retry-After", "3");
+        assertEquals(Duration.ofSeconds(3), DeploymentStatusTracker.Status.of(0, headers).getRetryAfter());
+        assertEquals(null, DeploymentStatusTracker.Status.of(0, new HttpHeaders()).getRetryAfter());
+    }
+}
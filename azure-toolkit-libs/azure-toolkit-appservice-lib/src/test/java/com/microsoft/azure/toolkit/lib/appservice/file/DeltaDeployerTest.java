@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.file;
+
+import com.azure.core.http.HttpPipelineBuilder;
+import com.microsoft.azure.toolkit.lib.common.utils.JsonUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class DeltaDeployerTest {
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    // stub of kudu vfs api, keyed by path relative to /home
+    private final Map<String, byte[]> remote = new ConcurrentHashMap<>();
+    private final List<String> uploads = new ArrayList<>();
+    private HttpServer server;
+    private DeltaDeployer deployer;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/vfs/", this::handle);
+        server.start();
+        final String host = "http://localhost:" + server.getAddress().getPort();
+        deployer = new DeltaDeployer(AppServiceKuduClient.getClient(host, new HttpPipelineBuilder().build(), null), 4);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void deploy() throws Exception {
+        final File root = temp.newFolder("exploded");
+        write(root, "index.html", "index");
+        write(root, "WEB-INF/web.xml", "web");
+        remote.put("site/wwwroot/webapps/ROOT/kept.txt", "kept".getBytes(StandardCharsets.UTF_8));
+
+        DeltaDeployer.Result result = deployer.deploy(root.toPath(), "/home/site/wwwroot/webapps/ROOT");
+        assertEquals(2, result.getUploaded());
+        assertEquals("web", read("site/wwwroot/webapps/ROOT/WEB-INF/web.xml"));
+
+        uploads.clear();
+        result = deployer.deploy(root.toPath(), "/home/site/wwwroot/webapps/ROOT");
+        assertEquals(0, result.getUploaded());
+        assertEquals(2, result.getUnchanged());
+
+        write(root, "index.html", "changed");
+        write(root, "app.js", "app");
+        FileUtils.forceDelete(new File(root, "WEB-INF/web.xml"));
+        uploads.clear();
+        result = deployer.deploy(root.toPath(), "site/wwwroot/webapps/ROOT/");
+        assertEquals(2, result.getUploaded());
+        assertEquals(1, result.getDeleted());
+        assertEquals("[site/wwwroot/webapps/ROOT/app.js, site/wwwroot/webapps/ROOT/index.html]", new TreeSet<>(uploads).toString());
+        assertEquals("changed", read("site/wwwroot/webapps/ROOT/index.html"));
+        assertFalse(remote.containsKey("site/wwwroot/webapps/ROOT/WEB-INF/web.xml"));
+        // files not deployed by delta deployment are kept
+        assertEquals("kept", read("site/wwwroot/webapps/ROOT/kept.txt"));
+
+        // files changed out of band are uploaded again
+        remote.put("site/wwwroot/webapps/ROOT/app.js", new byte[0]);
+        result = deployer.deploy(root.toPath(), "site/wwwroot/webapps/ROOT");
+        assertEquals(1, result.getUploaded());
+        assertEquals("app", read("site/wwwroot/webapps/ROOT/app.js"));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final String path = StringUtils.removeStart(exchange.getRequestURI().getPath(), "/api/vfs/");
+        final String method = exchange.getRequestMethod();
+        byte[] response = new byte[0];
+        int status = 200;
+        if ("PUT".equals(method)) {
+            final String file = StringUtils.removeStart(path, "/");
+            remote.put(file, IOUtils.toByteArray(exchange.getRequestBody()));
+            if (!file.startsWith("site/deployments/")) {
+                synchronized (uploads) {
+                    uploads.add(file);
+                }
+            }
+            status = 201;
+        } else if ("DELETE".equals(method)) {
+            remote.remove(StringUtils.removeStart(path, "/"));
+        } else if (path.endsWith("/")) {
+            final String dir = StringUtils.removeStart(path, "/");
+            final Map<String, Map<String, Object>> children = new HashMap<>();
+            remote.forEach((file, content) -> {
+                if (file.startsWith(dir)) {
+                    final String name = StringUtils.substringBefore(file.substring(dir.length()), "/");
+                    final boolean directory = file.substring(dir.length()).contains("/");
+                    final Map<String, Object> child = new HashMap<>();
+                    child.put("name", name);
+                    child.put("size", directory ? 0 : content.length);
+                    child.put("mime", directory ? "inode/directory" : "text/plain");
+                    children.put(name, child);
+                }
+            });
+            if (children.isEmpty()) {
+                status = 404;
+            } else {
+                response = JsonUtils.toJson(children.values()).getBytes(StandardCharsets.UTF_8);
+            }
+        } else if (remote.containsKey(StringUtils.removeStart(path, "/"))) {
+            response = remote.get(StringUtils.removeStart(path, "/"));
+        } else {
+            status = 404;
+        }
+        exchange.sendResponseHeaders(status, response.length == 0 ? -1 : response.length);
+        try (final OutputStream output = exchange.getResponseBody()) {
+            output.write(response);
+        }
+    }
+
+    private String read(String path) {
+        return new String(remote.get(path), StandardCharsets.UTF_8);
+    }
+
+    private static void write(File root, String path, String content) throws IOException {
+        FileUtils.write(new File(root, path), content, StandardCharsets.UTF_8);
+    }
+}
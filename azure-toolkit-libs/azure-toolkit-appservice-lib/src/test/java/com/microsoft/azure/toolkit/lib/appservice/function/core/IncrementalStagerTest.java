@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.function.core;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalStagerTest {
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void stage() throws Exception {
+        final File a = write("repo/a.jar", "a");
+        final File b = write("repo/b.jar", "b");
+        final File lib = new File(temp.getRoot(), "staging/lib");
+        final File stale = write("staging/lib/stale.jar", "stale");
+
+        final File manifest = new File(temp.getRoot(), "target/lib.staging.json");
+        final IncrementalStager stager = new IncrementalStager(lib, manifest);
+        stager.stage(Arrays.asList(a, b));
+        assertFalse(stale.exists());
+        assertEquals("a", read(new File(lib, "a.jar")));
+        assertTrue(manifest.isFile());
+        assertArrayEquals("nothing but the staged files should be in the staging folder", new String[]{"lib"}, lib.getParentFile().list());
+        assertFalse("staged file should not share the source file", Files.isSameFile(a.toPath(), new File(lib, "a.jar").toPath()));
+        assertEquals("b", read(new File(lib, "b.jar")));
+
+        FileUtils.write(b, "bb", StandardCharsets.UTF_8);
+        assertTrue(b.setLastModified(b.lastModified() + 2000));
+        stager.stage(Collections.singletonList(b));
+        assertFalse(new File(lib, "a.jar").exists());
+        assertEquals("bb", read(new File(lib, "b.jar")));
+    }
+
+    private File write(String path, String content) throws Exception {
+        final File file = new File(temp.getRoot(), path);
+        FileUtils.write(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static String read(File file) throws Exception {
+        return FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+    }
+}
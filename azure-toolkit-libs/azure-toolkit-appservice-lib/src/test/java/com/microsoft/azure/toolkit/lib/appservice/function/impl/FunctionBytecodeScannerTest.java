@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.appservice.function.impl;
+
+import com.microsoft.azure.functions.annotation.FunctionName;
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionAnnotation;
+import com.microsoft.azure.toolkit.lib.appservice.function.core.FunctionMethod;
+import com.microsoft.azure.toolkit.lib.legacy.function.handlers.AnnotationHandlerImplTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FunctionBytecodeScannerTest {
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void scan() throws Exception {
+        final File index = new File(temp.getRoot(), "index.json");
+        final List<FunctionMethod> methods = scan(index);
+        assertTrue(index.exists());
+        assertSameAsReflection(AnnotationHandlerImplTest.FunctionEntryPoints.class, methods);
+    }
+
+    @Test
+    public void scanAnnotationValues() throws Exception {
+        assertSameAsReflection(Functions.class, scan(null));
+    }
+
+    private List<FunctionMethod> scan(File index) throws Exception {
+        final File library = new File(FunctionName.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final File classes = new File(FunctionBytecodeScannerTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (FunctionBytecodeScanner scanner = new FunctionBytecodeScanner(Collections.singletonList(library), classes, Collections.emptyList(), index)) {
+            return scanner.scan();
+        }
+    }
+
+    private static void assertSameAsReflection(Class<?> entryPoints, List<FunctionMethod> methods) {
+        final List<Method> expected = Arrays.stream(entryPoints.getDeclaredMethods())
+            .filter(m -> m.isAnnotationPresent(FunctionName.class)).collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        for (final Method method : expected) {
+            final FunctionMethod actual = methods.stream()
+                .filter(m -> m.getDeclaringTypeName().equals(entryPoints.getCanonicalName()) && m.getName().equals(method.getName()))
+                .findFirst().orElseThrow(() -> new AssertionError("function not found: " + method));
+            final FunctionMethod reflected = DefaultFunctionProject.create(method);
+            assertEquals(reflected.getReturnTypeName(), actual.getReturnTypeName());
+            assertSameAnnotations(reflected.getAnnotations(), actual.getAnnotations(), true);
+            assertEquals(reflected.getParameterAnnotations().size(), actual.getParameterAnnotations().size());
+            for (int i = 0; i < reflected.getParameterAnnotations().size(); i++) {
+                assertSameAnnotations(Arrays.asList(reflected.getParameterAnnotations().get(i)), Arrays.asList(actual.getParameterAnnotations().get(i)), true);
+            }
+        }
+    }
+
+    private static void assertSameAnnotations(List<FunctionAnnotation> expected, List<FunctionAnnotation> actual, boolean resolveAnnotationType) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final FunctionAnnotation e = expected.get(i);
+            final FunctionAnnotation a = actual.get(i);
+            assertSameProperties(e.getDeclaredAnnotationProperties(), a.getDeclaredAnnotationProperties());
+            assertSameProperties(e.getAllAnnotationProperties(), a.getAllAnnotationProperties());
+            if (resolveAnnotationType) {
+                assertEquals(e.getAnnotationClassName(), a.getAnnotationClassName());
+                assertSameAnnotations(e.getAnnotationClass().getAnnotations(), a.getAnnotationClass().getAnnotations(), false);
+            }
+        }
+    }
+
+    private static void assertSameProperties(Map<String, Object> expected, Map<String, Object> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((key, value) -> {
+            final Object actualValue = actual.get(key);
+            assertTrue(String.format("%s: expected %s but was %s", key, Arrays.deepToString(new Object[]{value}), Arrays.deepToString(new Object[]{actualValue})),
+                Objects.deepEquals(value, actualValue));
+            if (value != null && !(value instanceof Annotation)) { // nested annotations are proxies of the same annotation type.
+                assertEquals(key, value.getClass(), actualValue.getClass());
+            }
+        });
+    }
+
+    public enum Color {
+        RED, GREEN, BLUE
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Nested {
+        String name() default "nested";
+
+        Color color() default Color.RED;
+
+        int[] sizes() default {};
+    }
+
+    @Target(ElementType.PARAMETER)
+    @Retention(RetentionPolicy.RUNTIME)
+    @Nested(name = "meta", color = Color.GREEN)
+    public @interface Values {
+        Color color() default Color.RED;
+
+        Color[] colors() default {Color.RED};
+
+        Class<?> type() default Object.class;
+
+        Class<?>[] types() default {};
+
+        Nested nested() default @Nested;
+
+        Nested[] nestedArray() default {};
+
+        int[] sizes() default {1, 2};
+
+        char letter() default 'a';
+
+        long count() default 1L;
+    }
+
+    public static class Functions {
+        @FunctionName("defaults")
+        public void defaults(@Values final String input) {
+        }
+
+        @FunctionName("values")
+        public String values(@Values(color = Color.BLUE, colors = {Color.GREEN, Color.BLUE}, type = String.class, types = {int.class, String[].class},
+            nested = @Nested(name = "a", sizes = {3}), nestedArray = {@Nested, @Nested(color = Color.BLUE)}, sizes = {}, letter = 'b', count = 2L)
+                             final String input) {
+            return input;
+        }
+    }
+}
@@ -10,7 +10,6 @@ import com.azure.core.http.policy.HttpLogOptions;
 import com.azure.core.http.policy.UserAgentPolicy;
 import com.azure.core.management.profile.AzureProfile;
 import com.azure.resourcemanager.cognitiveservices.CognitiveServicesManager;
-import com.azure.resourcemanager.resources.ResourceManager;
 import com.azure.resourcemanager.resources.fluentcore.policy.ProviderRegistrationPolicy;
 import com.azure.resourcemanager.resources.models.Providers;
 import com.microsoft.azure.toolkit.lib.Azure;
@@ -20,6 +19,7 @@ import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.cache.Cacheable;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 import org.apache.commons.collections4.CollectionUtils;
 
 import javax.annotation.Nonnull;
@@ -58,6 +58,11 @@ public class AzureCognitiveServices extends AbstractAzService<CognitiveServicesS
     @Nullable
     @Override
     protected CognitiveServicesManager loadResourceFromAzure(@Nonnull String subscriptionId, @Nullable String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, CognitiveServicesManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private CognitiveServicesManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final String tenantId = account.getSubscription(subscriptionId).getTenantId();
         final AzureConfiguration config = Azure.az().config();
@@ -66,11 +71,7 @@ public class AzureCognitiveServices extends AbstractAzService<CognitiveServicesS
         logOptions.setLogLevel(Optional.ofNullable(config.getLogLevel()).map(HttpLogDetailLevel::valueOf).orElse(HttpLogDetailLevel.NONE));
         final AzureProfile azureProfile = new AzureProfile(tenantId, subscriptionId, account.getEnvironment());
         // todo: migrate resource provider related codes to common library
-        final Providers providers = ResourceManager.configure()
-            .withHttpClient(AbstractAzServiceSubscription.getDefaultHttpClient())
-            .withPolicy(AbstractAzServiceSubscription.getUserAgentPolicy(userAgent))
-            .authenticate(account.getTokenCredential(subscriptionId), azureProfile)
-            .withSubscription(subscriptionId).providers();
+        final Providers providers = AbstractAzServiceSubscription.getResourceManager(subscriptionId).providers();
         return CognitiveServicesManager
             .configure()
             .withHttpClient(AbstractAzServiceSubscription.getDefaultHttpClient())
@@ -21,10 +21,14 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -41,7 +45,7 @@ public class Azure {
         this.configuration = new AzureConfiguration();
     }
 
-    public static synchronized <T extends AzService> T az(final Class<T> clazz) {
+    public static <T extends AzService> T az(final Class<T> clazz) {
         final T service = Optional.ofNullable(getService(clazz)).orElseGet(() -> {
             ServiceManager.reload();
             return getService(clazz);
@@ -52,22 +56,18 @@ public class Azure {
 
     @Nullable
     private static <T extends AzService> T getService(Class<T> clazz) {
-        return ServiceManager.getServices().stream().filter(clazz::isInstance).map(clazz::cast).findAny().orElse(null);
-    }
-
-    @Nullable
-    private static AzService getService(String provider) {
-        return ServiceManager.getServices().stream().filter(s -> StringUtils.equalsIgnoreCase(provider, s.getName())).findAny().orElse(null);
+        final List<T> services = getServices(clazz);
+        return services.isEmpty() ? null : services.get(0);
     }
 
     @Nonnull
     public static List<AzService> getServices(String provider) {
-        return ServiceManager.getServices().stream().filter(s -> StringUtils.equalsIgnoreCase(provider, s.getName())).collect(Collectors.toList());
+        return ServiceManager.getRegistry().getServices(provider);
     }
 
     @Nonnull
     public static <T extends AzService> List<T> getServices(Class<T> clazz) {
-        return ServiceManager.getServices().stream().filter(clazz::isInstance).map(clazz::cast).collect(Collectors.toList());
+        return ServiceManager.getRegistry().getServices(clazz);
     }
 
     @Nullable
@@ -148,32 +148,78 @@ public class Azure {
         Optional.ofNullable(this.saveConfigurationHandler).ifPresent(h -> h.accept(this.configuration));
     }
 
+    /**
+     * immutable snapshot of loaded services, lookups by class are memoized per snapshot and lookups by provider
+     * are indexed eagerly, so that no lock is needed to look up a service.
+     */
+    private static class ServiceRegistry {
+        private static final ServiceRegistry EMPTY = new ServiceRegistry(Collections.emptyList());
+        private final List<AzService> services;
+        private final Map<String, List<AzService>> byProvider;
+        private final Map<Class<?>, List<? extends AzService>> byClass = new ConcurrentHashMap<>();
+
+        private ServiceRegistry(@Nonnull List<AzService> services) {
+            this.services = Collections.unmodifiableList(new ArrayList<>(services));
+            final Map<String, List<AzService>> byProvider = new HashMap<>();
+            for (final AzService service : this.services) {
+                final String provider = StringUtils.lowerCase(service.getName());
+                byProvider.computeIfAbsent(provider, k -> new ArrayList<>()).add(service);
+            }
+            byProvider.replaceAll((k, v) -> Collections.unmodifiableList(v));
+            this.byProvider = byProvider;
+        }
+
+        public boolean isEmpty() {
+            return this.services.isEmpty();
+        }
+
+        @Nonnull
+        public List<AzService> getServices(@Nullable String provider) {
+            return this.byProvider.getOrDefault(StringUtils.lowerCase(provider), Collections.emptyList());
+        }
+
+        @Nonnull
+        @SuppressWarnings("unchecked")
+        public <T extends AzService> List<T> getServices(@Nonnull Class<T> clazz) {
+            return (List<T>) this.byClass.computeIfAbsent(clazz, c -> Collections.unmodifiableList(
+                this.services.stream().filter(clazz::isInstance).map(clazz::cast).collect(Collectors.toList())));
+        }
+    }
+
     private static class ServiceManager {
-        private static final List<AzService> services = new ArrayList<>();
-
-        public static synchronized List<AzService> getServices() {
-            if (services.isEmpty()) {
-                // fix the class load problem for intellij plugin
-                final ClassLoader current = Thread.currentThread().getContextClassLoader();
-                try {
-                    Thread.currentThread().setContextClassLoader(Azure.class.getClassLoader());
-                    ResourceManagerUtils.InternalRuntimeContext.setDelayProvider(duration -> Duration.ofSeconds(5));
-                    HttpClientProviders.createInstance();
-                    reload();
-                } catch (final Throwable e) {
-                    log.error(e.getMessage(), e);
-                } finally {
-                    Thread.currentThread().setContextClassLoader(current);
+        private static volatile ServiceRegistry registry = ServiceRegistry.EMPTY;
+
+        @Nonnull
+        public static ServiceRegistry getRegistry() {
+            final ServiceRegistry current = registry;
+            if (!current.isEmpty()) {
+                return current;
+            }
+            synchronized (ServiceManager.class) {
+                if (registry.isEmpty()) {
+                    // fix the class load problem for intellij plugin
+                    final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+                    try {
+                        Thread.currentThread().setContextClassLoader(Azure.class.getClassLoader());
+                        ResourceManagerUtils.InternalRuntimeContext.setDelayProvider(duration -> Duration.ofSeconds(5));
+                        HttpClientProviders.createInstance();
+                        reload();
+                    } catch (final Throwable e) {
+                        log.error(e.getMessage(), e);
+                    } finally {
+                        Thread.currentThread().setContextClassLoader(loader);
+                    }
                 }
+                return registry;
             }
-            return services;
         }
 
         public static synchronized void reload() {
             final ServiceLoader<AzService> loader = ServiceLoader.load(AzService.class, Azure.class.getClassLoader());
             loader.reload();
-            services.clear();
+            final List<AzService> services = new ArrayList<>();
             loader.forEach(services::add);
+            registry = new ServiceRegistry(services);
         }
     }
 }
@@ -45,6 +45,19 @@ public class AzureConfiguration {
     @JsonIgnore
     private SSLContext sslContext;
     private int pageSize = 99;
+    /**
+     * max number of next pages to fetch in background when listing resources page by page, 0 to disable prefetching.
+     */
+    private int maxPrefetchedPages = 1;
+    /**
+     * seconds a cached remote (of resources supporting stale-while-revalidate) is used without revalidation, 0 to disable.
+     * resources opt in by {@code AbstractAzResource#setRemoteExpiry()}.
+     */
+    private int remoteSoftExpiry = 0;
+    /**
+     * seconds after which a stale remote is reloaded synchronously instead of in background, 0 means never.
+     */
+    private int remoteHardExpiry = 300;
     private List<String> documentsLabelFields = new ArrayList<>(DEFAULT_DOCUMENT_LABEL_FIELDS);
     private int monitorQueryRowNumber = 200;
     private boolean authPersistenceEnabled = true;
@@ -16,12 +16,15 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Stack;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -31,7 +34,10 @@ import java.util.stream.Collectors;
 @Slf4j
 @SuppressWarnings("UnusedReturnValue")
 public class Cache1<T> {
-    private static final ThreadLocal<Stack<Cache1<?>>> caching = ThreadLocal.withInitial(Stack::new);
+    /**
+     * caches being loaded/updated by current thread and their re-entrance counts.
+     */
+    private static final ThreadLocal<Map<Cache1<?>, Integer>> caching = ThreadLocal.withInitial(IdentityHashMap::new);
     private static final String KEY = "CACHE1_KEY";
     @Nonnull
     private final LoadingCache<String, Optional<T>> cache;
@@ -44,6 +50,17 @@ public class Cache1<T> {
     private Consumer<String> onNewStatus = s -> {
     };
     private T latest = null;
+    /**
+     * when the latest value is loaded/updated, 0 if never.
+     */
+    private volatile long loadedAt = 0;
+    /**
+     * stale-while-revalidate: a value older than soft expiry is still returned while revalidating in background,
+     * unless it's older than hard expiry. non-positive soft expiry means disabled.
+     */
+    private long softExpiry = 0;
+    private long hardExpiry = 0;
+    private final AtomicBoolean revalidating = new AtomicBoolean(false);
 
     public Cache1(@Nonnull Supplier<T> supplier) {
         this.supplier = supplier;
@@ -60,6 +77,20 @@ public class Cache1<T> {
         return this;
     }
 
+    /**
+     * enable stale-while-revalidate mode: {@link #get()} returns the latest value immediately if it's older than
+     * {@code softExpiry} and revalidates it in background (concurrent revalidations are coalesced into one), a value
+     * older than {@code hardExpiry} or {@link #invalidate() invalidated} explicitly is reloaded synchronously.
+     *
+     * @param softExpiry non-positive to disable stale-while-revalidate mode.
+     * @param hardExpiry non-positive means stale values never expire.
+     */
+    public Cache1<T> staleWhileRevalidate(@Nonnull Duration softExpiry, @Nonnull Duration hardExpiry) {
+        this.softExpiry = softExpiry.toMillis();
+        this.hardExpiry = hardExpiry.toMillis();
+        return this;
+    }
+
     @Nullable
     private Optional<T> load() {
         if (AzureTaskManager.getInstance().isUIThread()) {
@@ -67,10 +98,11 @@ public class Cache1<T> {
         }
         final String originalStatus = Status.LOADING;
         try {
-            caching.get().push(this);
+            enter(this);
             this.setStatus(originalStatus);
             final T oldValue = this.latest;
             final T newValue = this.latest = supplier.get();
+            this.loadedAt = System.currentTimeMillis();
             final Optional<T> result = Optional.ofNullable(newValue);
             if (this.compareAndSetStatus(originalStatus, Status.OK)) {
                 AzureTaskManager.getInstance().runOnPooledThread(() -> this.onNewValue.accept(newValue, oldValue));
@@ -82,7 +114,7 @@ public class Cache1<T> {
                 throw e;
             }
         } finally {
-            caching.get().pop();
+            exit(this);
         }
         this.compareAndSetStatus(originalStatus, null);
         // noinspection OptionalAssignedToNull,ReturnOfNull
@@ -93,9 +125,10 @@ public class Cache1<T> {
     private Optional<T> update(@Nonnull Callable<T> body, String status, T oldValue) {
         final String originalStatus = Optional.ofNullable(status).orElse(Status.UPDATING);
         try {
-            caching.get().push(this);
+            enter(this);
             this.setStatus(originalStatus);
             final T value = this.latest = body.call();
+            this.loadedAt = System.currentTimeMillis();
             final Optional<T> result = Optional.ofNullable(value);
             final T newValue = result.orElse(null);
             if (this.compareAndSetStatus(originalStatus, Status.OK)) {
@@ -109,7 +142,7 @@ public class Cache1<T> {
                 throw (e instanceof AzureToolkitRuntimeException) ? (AzureToolkitRuntimeException) e : new AzureToolkitRuntimeException(e);
             }
         } finally {
-            caching.get().pop();
+            exit(this);
         }
         this.compareAndSetStatus(originalStatus, null);
         // noinspection OptionalAssignedToNull,ReturnOfNull
@@ -124,7 +157,7 @@ public class Cache1<T> {
             log.debug(Arrays.stream(Thread.currentThread().getStackTrace()).map(t -> "\tat " + t).collect(Collectors.joining("\n")));
             return this.latest;
         }
-        if (caching.get().contains(this)) {
+        if (isCaching(this)) {
             return body.call();
         }
         final T oldValue = this.getIfPresent();
@@ -152,7 +185,7 @@ public class Cache1<T> {
     @Nullable
     @SuppressWarnings("OptionalAssignedToNull")
     public T getIfPresent(boolean loadIfAbsent) {
-        if (caching.get().contains(this)) {
+        if (isCaching(this)) {
             return this.latest;
         }
         final Optional<T> opt = this.cache.getIfPresent(KEY);
@@ -173,9 +206,21 @@ public class Cache1<T> {
             log.debug(Arrays.stream(Thread.currentThread().getStackTrace()).map(t -> "\tat " + t).collect(Collectors.joining("\n")));
             return this.latest;
         }
-        if (caching.get().contains(this)) {
+        if (isCaching(this)) {
             return this.latest;
         }
+        if (this.isStaleWhileRevalidate()) {
+            final Optional<T> value = this.cache.getIfPresent(KEY);
+            final long age = System.currentTimeMillis() - this.loadedAt;
+            final boolean hardExpired = this.hardExpiry > 0 && age > this.hardExpiry;
+            if (!hardExpired && (Objects.isNull(value) || age > this.softExpiry)) {
+                this.revalidate(Objects.nonNull(value));
+                // noinspection OptionalAssignedToNull
+                return value == null ? this.latest : value.orElse(null);
+            } else if (hardExpired && Objects.nonNull(value)) {
+                this.cache.invalidate(KEY);
+            }
+        }
         try {
             final Optional<T> value = this.cache.get(KEY);
             // noinspection OptionalAssignedToNull
@@ -195,12 +240,57 @@ public class Cache1<T> {
         }
     }
 
+    private boolean isStaleWhileRevalidate() {
+        return this.softExpiry > 0 && this.loadedAt > 0;
+    }
+
+    /**
+     * reload the value in background, it's a no-op if a revalidation is in progress.
+     */
+    private void revalidate(boolean present) {
+        if (!this.revalidating.compareAndSet(false, true)) {
+            return;
+        }
+        AzureTaskManager.getInstance().runOnPooledThread(() -> {
+            try {
+                if (present) { // soft expired
+                    this.cache.invalidate(KEY);
+                }
+                this.cache.get(KEY);
+            } catch (final Throwable e) {
+                log.debug("failed to revalidate cached value", e);
+            } finally {
+                this.revalidating.set(false);
+            }
+        });
+    }
+
+    private static void enter(@Nonnull Cache1<?> cache) {
+        caching.get().merge(cache, 1, Integer::sum);
+    }
+
+    private static void exit(@Nonnull Cache1<?> cache) {
+        caching.get().computeIfPresent(cache, (c, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static boolean isCaching(@Nonnull Cache1<?> cache) {
+        return caching.get().containsKey(cache);
+    }
+
+    /**
+     * @return true if the value is loaded and not invalidated yet.
+     */
+    public boolean isCached() {
+        return Objects.nonNull(this.cache.getIfPresent(KEY));
+    }
+
     public void invalidate() {
-        if (caching.get().contains(this) || this.isProcessing()) {
+        if (isCaching(this) || this.isProcessing()) {
             this.status.set(null); // drop loading value.
             return;
         }
         if (this.status.compareAndSet(Status.OK, null) || this.status.compareAndSet(Status.UNKNOWN, null)) {
+            this.loadedAt = 0; // explicitly invalidated value is never served stale
             this.cache.invalidateAll();
         }
     }
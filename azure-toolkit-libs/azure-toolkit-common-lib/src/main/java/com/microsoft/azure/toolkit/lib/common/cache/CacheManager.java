@@ -5,12 +5,13 @@
 
 package com.microsoft.azure.toolkit.lib.common.cache;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.utils.aspect.ExpressionUtils;
-import com.microsoft.azure.toolkit.lib.common.utils.aspect.MethodInvocation;
+import com.microsoft.azure.toolkit.lib.common.utils.aspect.MethodTemplate;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -21,28 +22,29 @@ import org.aspectj.lang.reflect.MethodSignature;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 @Aspect
 @Slf4j
 public class CacheManager {
-    private static final CacheLoader<String, Cache<Object, Object>> loader = new CacheLoader<String, Cache<Object, Object>>() {
-        @Nonnull
-        @Override
-        public Cache<Object, Object> load(@Nonnull String key) {
-            return CacheBuilder.newBuilder()
-                .expireAfterAccess(4, TimeUnit.HOURS) // TODO: justify
-                .build();
-        }
-    };
-    private static final LoadingCache<String, Cache<Object, Object>> caches = CacheBuilder.newBuilder()
-        .expireAfterAccess(4, TimeUnit.HOURS) // TODO: justify
-        .build(loader);
+    private static final long DEFAULT_EXPIRE_AFTER_ACCESS = TimeUnit.HOURS.toSeconds(4);
+    private static final Cache<String, NamedCache> caches = Caffeine.newBuilder()
+        .expireAfterAccess(DEFAULT_EXPIRE_AFTER_ACCESS, TimeUnit.SECONDS)
+        .build();
+
+    private static final Map<Method, Templates<Cacheable>> cacheables = new ConcurrentHashMap<>();
+    private static final Map<Method, Templates<CacheEvict>> cacheEvicts = new ConcurrentHashMap<>();
 
     private static final Map<Class<?>, Object> histories = new ConcurrentHashMap<>();
     private static final Map<String, Object> namedHistories = new ConcurrentHashMap<>();
@@ -58,25 +60,25 @@ public class CacheManager {
     @Around("cacheable()")
     public Object aroundCacheable(@Nonnull final ProceedingJoinPoint point) throws Throwable {
         final MethodSignature signature = (MethodSignature) point.getSignature();
-        final MethodInvocation invocation = MethodInvocation.from(point);
-        final Cacheable annotation = signature.getMethod().getAnnotation(Cacheable.class);
+        final Templates<Cacheable> templates = cacheables.computeIfAbsent(signature.getMethod(),
+            m -> new Templates<>(m.getAnnotation(Cacheable.class), signature.getParameterNames()));
+        final Cacheable annotation = templates.annotation;
 
-        final String cacheName = StringUtils.firstNonBlank(annotation.cacheName(), annotation.value());
-        final String name = ExpressionUtils.render(cacheName, invocation);
-        final String key = ExpressionUtils.render(annotation.key(), invocation);
+        final String name = templates.cacheName.render(point);
+        final String key = templates.key.render(point);
 
         if (Objects.isNull(name) || Objects.isNull(key)) {
             log.warn(String.format("invalid @Cacheable on method(%s)", signature.getName()));
             return point.proceed();
         }
-        final String condition = annotation.condition();
-        final boolean toUseCache = StringUtils.isBlank(condition) || ExpressionUtils.evaluate(condition, invocation, true);
-        final Cache<Object, Object> cache = caches.get(name);
+        final boolean toUseCache = templates.evaluateCondition(point);
+        final NamedCache cache = caches.get(name, n -> new NamedCache(annotation));
+        cache.validate(name, annotation, signature.getMethod());
         if (toUseCache) {
-            log.debug(String.format("loading data from cache[%s.%s] on method[%s]", name, key, signature.getName()));
-            return readCache(cache, key, point);
+            log.debug("loading data from cache[{}.{}] on method[{}]", name, key, signature.getName());
+            return cache.read(key, point);
         }
-        log.debug(String.format("skipping cache[%s.%s] on method[%s]", name, key, signature.getName()));
+        log.debug("skipping cache[{}.{}] on method[{}]", name, key, signature.getName());
         final Object result = point.proceed();
         if (Objects.nonNull(result)) {
             cache.put(key, Optional.of(result));
@@ -87,17 +89,15 @@ public class CacheManager {
     @Around("cacheEvict()")
     public Object aroundCacheEvict(@Nonnull final ProceedingJoinPoint point) throws Throwable {
         final MethodSignature signature = (MethodSignature) point.getSignature();
-        final MethodInvocation invocation = MethodInvocation.from(point);
-        final CacheEvict annotation = signature.getMethod().getAnnotation(CacheEvict.class);
+        final Templates<CacheEvict> templates = cacheEvicts.computeIfAbsent(signature.getMethod(),
+            m -> new Templates<>(m.getAnnotation(CacheEvict.class), signature.getParameterNames()));
 
-        final String cacheName = StringUtils.firstNonBlank(annotation.cacheName(), annotation.value());
-        final String name = ExpressionUtils.render(cacheName, invocation);
-        final String key = ExpressionUtils.render(annotation.key(), invocation);
-        final String condition = annotation.condition();
-        final boolean toEvictCache = StringUtils.isBlank(condition) || ExpressionUtils.evaluate(condition, invocation, true);
+        final String name = templates.cacheName.render(point);
+        final String key = templates.key.render(point);
+        final boolean toEvictCache = templates.evaluateCondition(point);
 
         if (toEvictCache) {
-            log.debug(String.format("evict cache[%s.%s] on method[%s]", name, key, signature.getName()));
+            log.debug("evict cache[{}.{}] on method[{}]", name, key, signature.getName());
             evictCache(name, key);
         }
         return point.proceed();
@@ -114,30 +114,28 @@ public class CacheManager {
                 log.warn(String.format("key is not specified when invalidating cache[%s]", name));
             } else if (StringUtils.equals(CacheEvict.ALL, key)) { // invalidate all cache entries of named cache if only cache name is specified
                 log.debug(String.format("invalidate all entries in cache[%s]", name));
-                caches.invalidate(name);
+                Optional.ofNullable(caches.getIfPresent(name)).ifPresent(c -> c.entries.synchronous().invalidateAll());
             } else { // invalidate key specified cache entry of named cache if both cache name and key are specified
                 log.debug(String.format("invalidate cache entry[%s.%s]", name, key));
-                caches.get(name).invalidate(key);
+                Optional.ofNullable(caches.getIfPresent(name)).ifPresent(c -> c.entries.synchronous().invalidate(key));
             }
         }
     }
 
-    private Object readCache(Cache<Object, Object> cache, String key, ProceedingJoinPoint point) throws Throwable {
-        final Optional<?> result = (Optional<?>) cache.get(key, () -> {
-            try {
-                log.debug(String.format("cache[%s] miss on method[%s]", key, point.getSignature().getName()));
-                return Optional.ofNullable(point.proceed());
-            } catch (final Throwable throwable) {
-                log.debug(String.format("error occurs on loading data into cache[%s] on method[%s]", key, point.getSignature().getName()), throwable);
-                return Optional.of(throwable);
-            }
-        });
-        if (result.isPresent() && result.get() instanceof Throwable) {
-            cache.invalidate(key);
-            throw (Throwable) result.get();
-        } else {
-            return result.orElse(null);
-        }
+    /**
+     * statistics (hit/miss count, load time, eviction count...) of all the named caches.
+     */
+    @Nonnull
+    public static Map<String, CacheStats> getCacheStats() {
+        return caches.asMap().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().entries.synchronous().stats()));
+    }
+
+    /**
+     * @return statistics of the named cache or {@code null} if the named cache doesn't exist.
+     */
+    @Nullable
+    public static CacheStats getCacheStats(@Nonnull final String name) {
+        return Optional.ofNullable(caches.getIfPresent(name)).map(c -> c.entries.synchronous().stats()).orElse(null);
     }
 
     @SuppressWarnings("unchecked")
@@ -158,4 +156,144 @@ public class CacheManager {
     public static <T> LRUStack<T> getUsageHistory(final String name) {
         return (LRUStack<T>) namedHistories.computeIfAbsent(name, n -> new LRUStack<>());
     }
+
+    /**
+     * templates of {@link Cacheable}/{@link CacheEvict} compiled once per method.
+     */
+    private static class Templates<A extends Annotation> {
+        private final A annotation;
+        private final MethodTemplate cacheName;
+        private final MethodTemplate key;
+        @Nullable
+        private final MethodTemplate condition;
+
+        private Templates(@Nonnull A annotation, @Nonnull String[] parameterNames) {
+            this.annotation = annotation;
+            final String cacheName;
+            final String key;
+            final String condition;
+            if (annotation instanceof Cacheable) {
+                final Cacheable cacheable = (Cacheable) annotation;
+                cacheName = StringUtils.firstNonBlank(cacheable.cacheName(), cacheable.value());
+                key = cacheable.key();
+                condition = cacheable.condition();
+            } else {
+                final CacheEvict evict = (CacheEvict) annotation;
+                cacheName = StringUtils.firstNonBlank(evict.cacheName(), evict.value());
+                key = evict.key();
+                condition = evict.condition();
+            }
+            this.cacheName = MethodTemplate.compile(cacheName, parameterNames);
+            this.key = MethodTemplate.compile(key, parameterNames);
+            this.condition = StringUtils.isBlank(condition) ? null : MethodTemplate.compile(String.format("${%s}", condition), parameterNames);
+        }
+
+        private boolean evaluateCondition(@Nonnull final ProceedingJoinPoint point) {
+            return Objects.isNull(this.condition) || ExpressionUtils.toBoolean(this.condition.render(point), true);
+        }
+    }
+
+    /**
+     * a named cache, whose entries hold only the key and the loaded value (a {@link Throwable} is never cached). values are loaded
+     * by the calling thread outside of the cache's internal locks, so a cached method may call other cached methods of the same
+     * cache, and callers of the same key wait for the one loading it. entries are refreshed in background by the join point of the
+     * call which finds them stale, so that no join point (and its target and arguments) is kept by the cache.
+     */
+    private static class NamedCache {
+        private final Cacheable settings;
+        private final long refreshAfterWriteNanos;
+        private final AsyncCache<String, Entry> entries;
+
+        private NamedCache(@Nonnull final Cacheable settings) {
+            this.settings = settings;
+            this.refreshAfterWriteNanos = settings.refreshAfterWrite() > 0 ? TimeUnit.SECONDS.toNanos(settings.refreshAfterWrite()) : -1;
+            final Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+            if (settings.expireAfterWrite() > 0) {
+                builder.expireAfterWrite(settings.expireAfterWrite(), TimeUnit.SECONDS);
+            }
+            builder.expireAfterAccess(settings.expireAfterAccess() > 0 ? settings.expireAfterAccess() : DEFAULT_EXPIRE_AFTER_ACCESS, TimeUnit.SECONDS);
+            if (settings.maxSize() >= 0) {
+                builder.maximumSize(settings.maxSize());
+            }
+            this.entries = builder.buildAsync();
+        }
+
+        /**
+         * expiration/refresh/size settings are decided when the named cache is created, so all methods declaring it must agree on them.
+         */
+        private void validate(@Nonnull final String name, @Nonnull final Cacheable annotation, @Nonnull final Method method) {
+            if (annotation != this.settings && (annotation.expireAfterWrite() != this.settings.expireAfterWrite() ||
+                annotation.expireAfterAccess() != this.settings.expireAfterAccess() ||
+                annotation.refreshAfterWrite() != this.settings.refreshAfterWrite() || annotation.maxSize() != this.settings.maxSize())) {
+                throw new AzureToolkitRuntimeException(String.format("expiration/refresh/size settings of @Cacheable on method(%s) " +
+                    "conflict with other methods declaring the same cache[%s]", method, name));
+            }
+        }
+
+        @Nullable
+        private Object read(@Nonnull final String key, @Nonnull final ProceedingJoinPoint point) throws Throwable {
+            final Loading loading = new Loading();
+            final CompletableFuture<Entry> future = this.entries.get(key, (k, executor) -> loading);
+            if (future == loading) {
+                log.debug("cache[{}] miss on method[{}]", key, point.getSignature().getName());
+                try {
+                    loading.complete(new Entry(Optional.ofNullable(point.proceed())));
+                } catch (final Throwable t) { // failed loading is removed from the cache
+                    loading.completeExceptionally(t);
+                    throw t;
+                }
+            } else if (future instanceof Loading && ((Loading) future).thread == Thread.currentThread() && !future.isDone()) {
+                return point.proceed(); // the key is being loaded by this thread itself, e.g. a recursive call
+            }
+            final Entry entry;
+            try {
+                entry = future.join();
+            } catch (final CompletionException e) {
+                throw Optional.ofNullable(e.getCause()).orElse(e);
+            }
+            if (this.refreshAfterWriteNanos > 0 && System.nanoTime() - entry.loadedAt >= this.refreshAfterWriteNanos &&
+                entry.refreshing.compareAndSet(false, true)) {
+                this.refresh(key, future, entry, point);
+            }
+            return entry.value.orElse(null);
+        }
+
+        /**
+         * reloads the stale {@code entry} in background, the stale value is kept if reloading fails.
+         */
+        private void refresh(@Nonnull final String key, @Nonnull final CompletableFuture<Entry> future, @Nonnull final Entry entry,
+                             @Nonnull final ProceedingJoinPoint point) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    final Entry refreshed = new Entry(Optional.ofNullable(point.proceed()));
+                    // the entry may be invalidated or replaced meanwhile
+                    this.entries.asMap().replace(key, future, CompletableFuture.completedFuture(refreshed));
+                } catch (final Throwable t) {
+                    log.debug(String.format("error occurs on refreshing cache[%s] on method[%s]", key, point.getSignature().getName()), t);
+                    entry.refreshing.set(false);
+                }
+            });
+        }
+
+        private void put(@Nonnull final String key, @Nonnull final Optional<?> value) {
+            this.entries.put(key, CompletableFuture.completedFuture(new Entry(value)));
+        }
+    }
+
+    private static class Entry {
+        private final Optional<?> value;
+        private final long loadedAt = System.nanoTime();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(@Nonnull final Optional<?> value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * value being loaded by {@link #thread}.
+     */
+    private static class Loading extends CompletableFuture<Entry> {
+        private final Thread thread = Thread.currentThread();
+    }
 }
@@ -42,4 +42,29 @@ public @interface Cacheable {
      * e.g. groovy expression: {@code "this.isLoading()" } {@code "this.loading" },  {@code "this.subscriptionId=='xxx'" }
      */
     String condition() default "";
+
+    /**
+     * time to live of an entry since it's loaded (in seconds), non-positive means entries never expire after write.
+     * NOTE: expiration/refresh/size settings take effect when the named cache is created, so all methods declaring
+     * the same cache must agree on them, otherwise an exception is thrown when a conflicting method is called.
+     */
+    long expireAfterWrite() default -1;
+
+    /**
+     * time to live of an entry since it's last accessed (in seconds), non-positive means 4 hours.
+     */
+    long expireAfterAccess() default -1;
+
+    /**
+     * reload an entry in background (by invoking the method with the arguments of the current call) when it's accessed
+     * after the specified time (in seconds) since it's loaded, stale value is returned until the reloading completes.
+     * non-positive means never.
+     */
+    long refreshAfterWrite() default -1;
+
+    /**
+     * max number of entries of the named cache, least recently/frequently used entries are evicted when exceeded.
+     * negative means unbounded.
+     */
+    long maxSize() default -1;
 }
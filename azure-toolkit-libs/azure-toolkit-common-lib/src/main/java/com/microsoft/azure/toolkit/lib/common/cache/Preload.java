@@ -21,4 +21,9 @@ import java.lang.annotation.Target;
 @Inherited
 @Documented
 public @interface Preload {
+    /**
+     * preloads of the same order run in parallel, and after all preloads of smaller orders are done.
+     * a preload depending on the result of another one should have a larger order.
+     */
+    int order() default 0;
 }
@@ -7,9 +7,12 @@ package com.microsoft.azure.toolkit.lib.common.cache;
 
 import com.microsoft.azure.toolkit.lib.AzService;
 import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.common.index.AzureIndex;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
+import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 
 import javax.annotation.Nullable;
@@ -17,9 +20,22 @@ import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class Preloader {
@@ -27,27 +43,61 @@ public class Preloader {
     private static final String INVALID_PRELOAD_METHOD = "@Preload annotated method(%s.%s) should have (no args or only varargs) " +
             "and must be (static or in a singleton class)";
 
+    /**
+     * runs all {@link Preload} annotated methods on a bounded pool and waits until they are all done. methods of the same
+     * {@link Preload#order()} run in parallel, orders run one after another.
+     */
     public static Collection<Method> load() {
-        log.debug("Start Scanning for @Preload");
+        log.debug("Start Loading @Preload");
         final Set<Method> methods = getPreloadingMethods();
         log.debug(String.format("Found %d @Preload annotated methods.", methods.size()));
-        log.debug("End Scanning for @Preload");
+        log.debug("End Loading @Preload");
         log.debug("Start Preloading");
-        methods.forEach((m) -> {
-            Object instance = null;
-            // TODO: maybe support prededebugd variables, e.g. selected subscriptions
-            if ((m.getParameterCount() == 0 || m.isVarArgs()) && (Modifier.isStatic(m.getModifiers()) || Objects.nonNull(instance = getSingleton(m)))) {
-                log.debug(String.format("preloading [%s]", m.getName()));
-                invoke(m, instance);
-                log.debug(String.format("preloaded [%s]", m.getName()));
-            } else {
-                log.warn(String.format(INVALID_PRELOAD_METHOD, m.getDeclaringClass().getSimpleName(), m.getName()));
-            }
-        });
+        load(methods);
         log.debug("End Preloading");
         return methods;
     }
 
+    static void load(final Collection<Method> methods) {
+        final int parallelism = Math.min(methods.size(), Math.max(2, Runtime.getRuntime().availableProcessors()));
+        if (parallelism < 1) {
+            return;
+        }
+        final AtomicInteger count = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            final Thread thread = new Thread(r, "azure-preloader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Map<Integer, List<Method>> orders = methods.stream()
+            .collect(Collectors.groupingBy(m -> m.getAnnotation(Preload.class).order(), TreeMap::new, Collectors.toList()));
+        try {
+            for (final List<Method> group : orders.values()) {
+                final List<Callable<Void>> tasks = group.stream().map(m -> (Callable<Void>) () -> {
+                    preload(m);
+                    return null;
+                }).collect(Collectors.toList());
+                pool.invokeAll(tasks);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void preload(final Method m) {
+        Object instance = null;
+        // TODO: maybe support prededebugd variables, e.g. selected subscriptions
+        if ((m.getParameterCount() == 0 || m.isVarArgs()) && (Modifier.isStatic(m.getModifiers()) || Objects.nonNull(instance = getSingleton(m)))) {
+            log.debug(String.format("preloading [%s]", m.getName()));
+            invoke(m, instance);
+            log.debug(String.format("preloaded [%s]", m.getName()));
+        } else {
+            log.warn(String.format(INVALID_PRELOAD_METHOD, m.getDeclaringClass().getSimpleName(), m.getName()));
+        }
+    }
+
     private static void invoke(final Method m, final Object instance) {
         try {
             m.setAccessible(true);
@@ -89,8 +139,36 @@ public class Preloader {
     }
 
     private static Set<Method> getPreloadingMethods() {
+        final ClassLoader loader = Objects.requireNonNull(Optional.ofNullable(Thread.currentThread().getContextClassLoader())
+            .orElse(Preloader.class.getClassLoader()));
+        final Set<Method> methods = new LinkedHashSet<>();
+        for (final String entry : Optional.ofNullable(AzureIndex.read(AzureIndex.PRELOADS, loader)).orElse(Collections.emptySet())) {
+            final String className = StringUtils.substringBefore(entry, "#");
+            final String methodName = StringUtils.substringAfter(entry, "#");
+            try {
+                final Class<?> clazz = Class.forName(className, false, loader);
+                Arrays.stream(clazz.getDeclaredMethods())
+                    .filter(m -> m.getName().equals(methodName) && m.isAnnotationPresent(Preload.class))
+                    .forEach(methods::add);
+            } catch (final ClassNotFoundException | LinkageError e) {
+                log.debug(String.format("skip preloading [%s]: %s", entry, e.getMessage()));
+            }
+        }
+        // jars/directories built without the index processor
+        final Set<URL> roots = new LinkedHashSet<>(ClasspathHelper.forPackage("com.microsoft.azure.toolkit", loader));
+        roots.addAll(ClasspathHelper.forPackage("com.microsoft.azuretools", loader));
+        final Set<URL> unindexed = AzureIndex.getUnindexedRoots(AzureIndex.PRELOADS, roots, loader);
+        if (!unindexed.isEmpty()) {
+            log.debug("No index of @Preload found in {}, fall back to scanning", unindexed);
+            methods.addAll(scanPreloadingMethods(unindexed, loader));
+        }
+        return methods;
+    }
+
+    private static Set<Method> scanPreloadingMethods(final Collection<URL> roots, final ClassLoader loader) {
         final ConfigurationBuilder configuration = new ConfigurationBuilder()
-                .forPackages("com.microsoft.azure.toolkit", "com.microsoft.azuretools")
+                .setUrls(roots)
+                .addClassLoaders(loader)
                 .setScanners(Scanners.MethodsAnnotated);
         final Reflections reflections = new Reflections(configuration);
         return reflections.getMethodsAnnotatedWith(Preload.class);
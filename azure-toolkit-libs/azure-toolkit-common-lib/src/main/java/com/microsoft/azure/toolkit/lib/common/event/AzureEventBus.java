@@ -5,67 +5,92 @@
 
 package com.microsoft.azure.toolkit.lib.common.event;
 
-import com.google.common.eventbus.AsyncEventBus;
-import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.Subscribe;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NonNls;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
-@SuppressWarnings("UnstableApiUsage")
 public class AzureEventBus {
+    static final Scheduler SCHEDULER = Schedulers.boundedElastic();
+    private static final Duration DEFAULT_COALESCING_WINDOW = Duration.ofMillis(100);
     @NonNls
-    private static final Map<String, EventBus> buses = new ConcurrentHashMap<>();
+    private static final Map<String, AzureEventTopic<?>> topics = new ConcurrentHashMap<>();
+
+    static {
+        // fired for every resource/module during a refresh, listeners only care about the latest state of the source
+        topic("resource.children_changed.resource").setCoalescingWindow(DEFAULT_COALESCING_WINDOW);
+        topic("resource.status_changed.resource").setCoalescingWindow(DEFAULT_COALESCING_WINDOW);
+        topic("module.children_changed.module").setCoalescingWindow(DEFAULT_COALESCING_WINDOW);
+        topic("service.children_changed.service").setCoalescingWindow(DEFAULT_COALESCING_WINDOW);
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <T> AzureEventTopic<T> topic(@Nonnull final String type) {
+        return (AzureEventTopic<T>) topics.computeIfAbsent(type, AzureEventTopic::new);
+    }
+
+    /**
+     * typed topic whose event source is of {@code sourceType}.
+     *
+     * @throws com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException if the topic is already bound to
+     *                                                                                       an incompatible source type.
+     */
+    @Nonnull
+    public static <T> AzureEventTopic<T> topic(@Nonnull final String type, @Nonnull final Class<T> sourceType) {
+        return topics.computeIfAbsent(type, AzureEventTopic::new).bind(sourceType);
+    }
+
+    @Nonnull
+    public static List<AzureEventTopic.Metrics> getMetrics() {
+        return topics.values().stream().map(AzureEventTopic::getMetrics).collect(Collectors.toList());
+    }
 
     public static void on(@Nonnull final String type, @Nonnull EventListener listener) {
-        getBus(type).register(listener);
+        topic(type).subscribe(listener, listener.listener, AzureEventTopic.DEFAULT_CAPACITY, AzureEventTopic.OverflowPolicy.MERGE);
     }
 
     public static void off(@Nonnull final String type, @Nonnull EventListener listener) {
-        try {
-            getBus(type).unregister(listener);
-        } catch (final IllegalArgumentException e) {
-            // swallow exception during unregistering a listener which is not registered
-        }
+        topic(type).unsubscribe(listener);
     }
 
     public static void once(@Nonnull final String type, @Nonnull BiConsumer<Object, Object> listener) {
-        final EventBus bus = getBus(type);
-        final EventListener[] listeners = new EventListener[1];
-        listeners[0] = new EventListener((e) -> {
-            listener.accept(e.getSource(), e.getPayload());
-            bus.unregister(listeners[0]);
-        });
-        bus.register(listeners[0]);
+        final AzureEventTopic<Object> topic = topic(type);
+        final AtomicBoolean done = new AtomicBoolean();
+        final Object key = new Object();
+        topic.subscribe(key, e -> {
+            if (done.compareAndSet(false, true)) {
+                topic.unsubscribe(key);
+                listener.accept(e.getSource(), e.getPayload());
+            }
+        }, AzureEventTopic.DEFAULT_CAPACITY, AzureEventTopic.OverflowPolicy.DROP_NEWEST);
     }
 
     public static void emit(@Nonnull final String type) {
-        AzureEventBus.emit(type, new SimpleEvent(type, null));
+        AzureEventBus.emit(type, new AzureEventTopic.SimpleEvent(type, null, null));
     }
 
     public static void emit(@Nonnull final String type, @Nullable final Object source) {
-        AzureEventBus.emit(type, new SimpleEvent(type, source));
+        AzureEventBus.emit(type, new AzureEventTopic.SimpleEvent(type, source, null));
     }
 
     public static void emit(@Nonnull final String type, @Nullable final Object source, @Nullable final Object payload) {
-        AzureEventBus.emit(type, new SimpleEvent(type, source, payload));
+        AzureEventBus.emit(type, new AzureEventTopic.SimpleEvent(type, source, payload));
     }
 
     public static <T> void emit(@Nonnull final String type, @Nonnull AzureEvent event) {
-        getBus(type).post(event);
-    }
-
-    private static EventBus getBus(String eventType) {
-        return buses.computeIfAbsent(eventType, (e) -> new AsyncEventBus(command -> Schedulers.boundedElastic().schedule(command)));
+        topic(type).emit(event);
     }
 
     @RequiredArgsConstructor
@@ -74,21 +99,8 @@ public class AzureEventBus {
         @Nonnull
         private final Consumer<AzureEvent> listener;
 
-        @Subscribe
         public void onEvent(@Nonnull AzureEvent event) {
             this.listener.accept(event);
         }
     }
-
-    @Getter
-    @RequiredArgsConstructor
-    @AllArgsConstructor
-    private static class SimpleEvent implements AzureEvent {
-        @Nonnull
-        private final String type;
-        @Nullable
-        private final Object source;
-        @Nullable
-        private Object payload;
-    }
 }
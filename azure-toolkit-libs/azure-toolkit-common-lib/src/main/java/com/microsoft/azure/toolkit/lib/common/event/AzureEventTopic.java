@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.event;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * events of one type, whose source is of type {@code T}. listeners are plain functions, each has its own bounded queue drained by
+ * at most one task at a time, so a burst of events costs one task per listener instead of one per event. duplicate (type, source)
+ * events emitted within the coalescing window are delivered once, events are always delivered in the order they are emitted.
+ */
+@Slf4j
+public final class AzureEventTopic<T> {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final Object NULL_SOURCE = new Object();
+
+    @Getter
+    @Nonnull
+    private final String type;
+    @Getter
+    private volatile Duration coalescingWindow = Duration.ZERO;
+    private final Map<Object, Subscriber> subscribers = new ConcurrentHashMap<>();
+    @Getter
+    @Nullable
+    private volatile Class<?> sourceType;
+    /**
+     * events waiting for the coalescing window in emission order, guarded by itself.
+     */
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+    /**
+     * the latest pending event of each source, guarded by {@link #pending}.
+     */
+    private final Map<Object, Pending> latest = new HashMap<>();
+    private volatile boolean flushing;
+    private final AtomicLong emitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    AzureEventTopic(@Nonnull final String type) {
+        this.type = type;
+    }
+
+    /**
+     * records the type of event source, a topic can be bound to only one type and its super types.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    synchronized <S> AzureEventTopic<S> bind(@Nonnull final Class<S> type) {
+        final Class<?> bound = this.sourceType;
+        if (bound == null) {
+            this.sourceType = type;
+        } else if (!type.isAssignableFrom(bound)) {
+            throw new AzureToolkitRuntimeException(String.format("source of event '%s' is of type '%s', not '%s'", this.type, bound.getName(), type.getName()));
+        }
+        return (AzureEventTopic<S>) this;
+    }
+
+    /**
+     * duplicate (same source and payload) events emitted within {@code window} after the first one are merged into it,
+     * which is delivered after the window, keeping its position among other events. events are delivered immediately
+     * if {@code window} is zero.
+     */
+    public AzureEventTopic<T> setCoalescingWindow(@Nonnull final Duration window) {
+        this.coalescingWindow = window;
+        return this;
+    }
+
+    @Nonnull
+    public Disposable on(@Nonnull final BiConsumer<? super T, Object> listener) {
+        return this.subscribe(listener, e -> listener.accept(this.cast(e.getSource()), e.getPayload()), DEFAULT_CAPACITY, OverflowPolicy.MERGE);
+    }
+
+    /**
+     * @param key identity of the listener, subscribing with the same key again has no effect.
+     */
+    @Nonnull
+    public Disposable subscribe(@Nonnull final Object key, @Nonnull final Consumer<AzureEvent> listener, final int capacity, @Nonnull final OverflowPolicy policy) {
+        this.subscribers.computeIfAbsent(key, k -> new Subscriber(listener, capacity, policy));
+        return () -> this.unsubscribe(key);
+    }
+
+    public void unsubscribe(@Nonnull final Object key) {
+        this.subscribers.remove(key);
+    }
+
+    public void emit(@Nullable final T source) {
+        this.emit(source, null);
+    }
+
+    public void emit(@Nullable final T source, @Nullable final Object payload) {
+        this.emit(new SimpleEvent(this.type, source, payload));
+    }
+
+    void emit(@Nonnull final AzureEvent event) {
+        this.emitted.incrementAndGet();
+        final Duration window = this.coalescingWindow;
+        final boolean immediate = window.isZero() || window.isNegative();
+        if (immediate && !this.flushing) {
+            this.dispatch(event);
+            return;
+        }
+        final Object key = Optional.ofNullable(event.getSource()).orElse(NULL_SOURCE);
+        synchronized (this.pending) {
+            final Pending last = this.latest.get(key);
+            if (!immediate && last != null && Objects.equals(last.event.getPayload(), event.getPayload())) {
+                this.coalesced.incrementAndGet();
+                return;
+            }
+            // event of different payload can't be merged, it's queued behind the pending one to keep the order.
+            final long delay = immediate ? 0 : window.toNanos();
+            final Pending p = new Pending(key, event, System.nanoTime() + delay);
+            this.pending.offer(p);
+            this.latest.put(key, p);
+            if (!this.flushing) {
+                this.flushing = true;
+                AzureEventBus.SCHEDULER.schedule(this::flush, delay, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * dispatches due pending events in emission order and reschedules itself for the rest.
+     */
+    private void flush() {
+        synchronized (this.pending) {
+            final long now = System.nanoTime();
+            Pending head;
+            while ((head = this.pending.peek()) != null && head.dueAt - now <= 0) {
+                this.pending.poll();
+                this.latest.remove(head.key, head);
+                // dispatch while holding the lock, so that events emitted later won't go ahead of it.
+                this.dispatch(head.event);
+            }
+            if (head == null) {
+                this.flushing = false;
+            } else {
+                AzureEventBus.SCHEDULER.schedule(this::flush, head.dueAt - now, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void dispatch(@Nonnull final AzureEvent event) {
+        final long now = System.nanoTime();
+        for (final Subscriber subscriber : this.subscribers.values()) {
+            subscriber.offer(new Envelope(event, now));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private T cast(@Nullable final Object source) {
+        return (T) source;
+    }
+
+    @Nonnull
+    public Metrics getMetrics() {
+        final long count = this.dispatched.get();
+        final long depth = this.subscribers.values().stream().mapToLong(s -> s.size.get()).sum();
+        return new Metrics(this.type, this.subscribers.size(), depth, this.emitted.get(), this.coalesced.get(), this.dropped.get(), count,
+            count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(this.totalLatency.get() / count), TimeUnit.NANOSECONDS.toMicros(this.maxLatency.get()));
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * drop the oldest queued event.
+         */
+        DROP_OLDEST,
+        /**
+         * drop the new event.
+         */
+        DROP_NEWEST,
+        /**
+         * drop the new event if an event of the same source and payload is queued, otherwise drop the oldest queued event.
+         */
+        MERGE
+    }
+
+    @Value
+    public static class Metrics {
+        String type;
+        int subscribers;
+        long queueDepth;
+        long emitted;
+        long coalesced;
+        long dropped;
+        long dispatched;
+        long averageLatencyMicros;
+        long maxLatencyMicros;
+    }
+
+    @RequiredArgsConstructor
+    private static class Pending {
+        private final Object key;
+        private final AzureEvent event;
+        private final long dueAt;
+    }
+
+    @RequiredArgsConstructor
+    private static class Envelope {
+        private final AzureEvent event;
+        private final long emittedAt;
+    }
+
+    private class Subscriber implements Runnable {
+        private final Consumer<AzureEvent> listener;
+        private final int capacity;
+        private final OverflowPolicy policy;
+        private final Queue<Envelope> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(@Nonnull final Consumer<AzureEvent> listener, final int capacity, @Nonnull final OverflowPolicy policy) {
+            this.listener = listener;
+            this.capacity = Math.max(1, capacity);
+            this.policy = policy;
+        }
+
+        void offer(@Nonnull final Envelope envelope) {
+            if (this.size.get() >= this.capacity && !this.makeRoom(envelope.event)) {
+                dropped.incrementAndGet();
+                return;
+            }
+            this.queue.offer(envelope);
+            this.size.incrementAndGet();
+            if (this.draining.compareAndSet(false, true)) {
+                AzureEventBus.SCHEDULER.schedule(this);
+            }
+        }
+
+        /**
+         * @return false if {@code event} should be dropped.
+         */
+        private boolean makeRoom(@Nonnull final AzureEvent event) {
+            if (this.policy == OverflowPolicy.DROP_NEWEST) {
+                return false;
+            }
+            if (this.policy == OverflowPolicy.MERGE) {
+                for (final Iterator<Envelope> it = this.queue.iterator(); it.hasNext(); ) {
+                    final AzureEvent queued = it.next().event;
+                    if (Objects.equals(queued.getSource(), event.getSource()) && Objects.equals(queued.getPayload(), event.getPayload())) {
+                        return false;
+                    }
+                }
+            }
+            if (this.queue.poll() != null) {
+                this.size.decrementAndGet();
+                dropped.incrementAndGet();
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Envelope envelope;
+                while ((envelope = this.queue.poll()) != null) {
+                    this.size.decrementAndGet();
+                    final long latency = System.nanoTime() - envelope.emittedAt;
+                    totalLatency.addAndGet(latency);
+                    maxLatency.accumulateAndGet(latency, Math::max);
+                    dispatched.incrementAndGet();
+                    try {
+                        this.listener.accept(envelope.event);
+                    } catch (final Throwable t) {
+                        log.warn("error occurs when handling event {}", type, t);
+                    }
+                }
+                this.draining.set(false);
+                // events offered after the queue is found empty but before the flag is cleared
+                if (this.queue.isEmpty() || !this.draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class SimpleEvent implements AzureEvent {
+        @Nonnull
+        private final String type;
+        @Nullable
+        private final Object source;
+        @Nullable
+        private final Object payload;
+    }
+}
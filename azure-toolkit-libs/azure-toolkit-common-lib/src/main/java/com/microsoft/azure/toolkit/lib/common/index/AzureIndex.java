@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * reads the indexes generated by {@link AzureIndexProcessor} at build time from all jars/directories on the classpath. jars/directories
+ * built without the processor have no index, callers should scan them, see {@link #getUnindexedRoots}.
+ */
+@Slf4j
+public final class AzureIndex {
+    public static final String PRELOADS = "META-INF/azure-toolkit/preloads.idx";
+    public static final String SCHEMAS = "META-INF/azure-toolkit/schemas.idx";
+
+    private AzureIndex() {
+    }
+
+    /**
+     * @return entries of index {@code name} from all classpath entries, or {@code null} if no index is found.
+     */
+    @Nullable
+    public static Set<String> read(@Nonnull final String name, @Nonnull final ClassLoader loader) {
+        final Enumeration<URL> urls;
+        try {
+            urls = loader.getResources(name);
+        } catch (final IOException e) {
+            log.warn("failed to find index {}", name, e);
+            return null;
+        }
+        if (!urls.hasMoreElements()) {
+            return null;
+        }
+        final Set<String> entries = new LinkedHashSet<>();
+        while (urls.hasMoreElements()) {
+            final URL url = urls.nextElement();
+            try (final BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                reader.lines().map(String::trim).filter(StringUtils::isNotBlank).filter(l -> !l.startsWith("#")).forEach(entries::add);
+            } catch (final IOException e) {
+                log.warn("failed to read index {}", url, e);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * @param roots classpath roots (jars or directories), e.g. found by {@code ClasspathHelper.forPackage}
+     * @return the roots which have no index {@code name}, i.e. not built with {@link AzureIndexProcessor}, they are to be scanned.
+     */
+    @Nonnull
+    public static Set<URL> getUnindexedRoots(@Nonnull final String name, @Nonnull final Collection<URL> roots, @Nonnull final ClassLoader loader) {
+        final Set<String> indexed = new HashSet<>();
+        try {
+            final Enumeration<URL> urls = loader.getResources(name);
+            while (urls.hasMoreElements()) {
+                // e.g. jar:file:/lib/a.jar!/META-INF/... or file:/a/classes/META-INF/...
+                String root = StringUtils.removeEnd(urls.nextElement().toExternalForm(), name);
+                if (root.startsWith("jar:")) {
+                    root = StringUtils.removeEnd(root.substring("jar:".length()), "!/");
+                }
+                indexed.add(StringUtils.removeEnd(root, "/"));
+            }
+        } catch (final IOException e) {
+            log.warn("failed to find index {}", name, e);
+        }
+        return roots.stream().filter(r -> !indexed.contains(StringUtils.removeEnd(r.toExternalForm(), "/")))
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.index;
+
+import javax.annotation.Nonnull;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * generates {@link AzureIndex#PRELOADS} (methods annotated with {@code @Preload}) and {@link AzureIndex#SCHEMAS} (json schemas
+ * under {@code schema/com/microsoft/azure/toolkit}) of the module being compiled, so that they needn't be scanned at runtime.
+ * it's registered as a service, so it runs in every module depending on azure-toolkit-common-lib. the indexes are written even if
+ * empty, which tells the module is indexed. only the changed sources are compiled by an incremental build, so the existing
+ * {@link AzureIndex#PRELOADS} is merged with the found methods rather than overwritten.
+ */
+@SupportedAnnotationTypes("*")
+public class AzureIndexProcessor extends AbstractProcessor {
+    static final String PRELOAD = "com.microsoft.azure.toolkit.lib.common.cache.Preload";
+    private static final String SCHEMA_ROOT = "schema/com/microsoft/azure/toolkit";
+
+    private final Set<String> preloads = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+        final TypeElement preload = processingEnv.getElementUtils().getTypeElement(PRELOAD);
+        if (round.processingOver()) {
+            this.writeIndexes();
+        } else if (preload != null) {
+            for (final Element method : round.getElementsAnnotatedWith(preload)) {
+                if (method.getKind() == ElementKind.METHOD) {
+                    final TypeElement type = (TypeElement) method.getEnclosingElement();
+                    this.preloads.add(processingEnv.getElementUtils().getBinaryName(type) + "#" + method.getSimpleName());
+                }
+            }
+        }
+        return false;
+    }
+
+    private void writeIndexes() {
+        try {
+            final Set<String> schemas = this.findSchemas();
+            this.preloads.addAll(this.readExistingPreloads());
+            this.write(AzureIndex.PRELOADS, this.preloads);
+            this.write(AzureIndex.SCHEMAS, schemas);
+        } catch (final IOException | RuntimeException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "failed to generate azure toolkit index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return entries of the existing index whose methods are still annotated, the classes not compiled this time are read from
+     * the class output.
+     */
+    @Nonnull
+    private Set<String> readExistingPreloads() {
+        final Set<String> result = new TreeSet<>();
+        final TypeElement preload = processingEnv.getElementUtils().getTypeElement(PRELOAD);
+        if (preload == null) {
+            return result;
+        }
+        try (final BufferedReader reader = new BufferedReader(
+            processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", AzureIndex.PRELOADS).openReader(true))) {
+            reader.lines().map(String::trim).filter(e -> e.contains("#")).filter(e -> isPreload(e, preload)).forEach(result::add);
+        } catch (final IOException | RuntimeException e) {
+            // no existing index, e.g. a clean build
+        }
+        return result;
+    }
+
+    private boolean isPreload(@Nonnull final String entry, @Nonnull final TypeElement preload) {
+        final String className = entry.substring(0, entry.indexOf('#')).replace('$', '.');
+        final String methodName = entry.substring(entry.indexOf('#') + 1);
+        final TypeElement type = processingEnv.getElementUtils().getTypeElement(className);
+        return type != null && type.getEnclosedElements().stream()
+            .filter(e -> e.getKind() == ElementKind.METHOD && e.getSimpleName().contentEquals(methodName))
+            .anyMatch(e -> e.getAnnotationMirrors().stream().anyMatch(a -> a.getAnnotationType().asElement().equals(preload)));
+    }
+
+    /**
+     * resources are copied to the class output before compiling, find schemas there.
+     */
+    @Nonnull
+    private Set<String> findSchemas() throws IOException {
+        // the filer doesn't support directories, locate the output root by the index file.
+        final URI index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", AzureIndex.SCHEMAS).toUri();
+        if (!"file".equals(index.getScheme())) {
+            return new TreeSet<>();
+        }
+        final Path dir = Paths.get(index).getParent().getParent().getParent().resolve(SCHEMA_ROOT);
+        if (!Files.isDirectory(dir)) {
+            return new TreeSet<>();
+        }
+        try (final Stream<Path> files = Files.walk(dir)) {
+            return files.filter(f -> Files.isRegularFile(f) && f.getFileName().toString().endsWith(".json"))
+                .map(f -> SCHEMA_ROOT + "/" + dir.relativize(f).toString().replace('\\', '/'))
+                .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    private void write(@Nonnull final String name, @Nonnull final Set<String> entries) throws IOException {
+        final FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", name);
+        try (final Writer writer = file.openWriter()) {
+            for (final String entry : entries) {
+                writer.write(entry);
+                writer.write('\n');
+            }
+        }
+    }
+}
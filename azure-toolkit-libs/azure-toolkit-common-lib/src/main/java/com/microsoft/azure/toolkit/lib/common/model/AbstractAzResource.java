@@ -15,6 +15,7 @@ import com.azure.resourcemanager.authorization.models.RoleAssignment;
 import com.azure.resourcemanager.authorization.models.RoleDefinition;
 import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
 import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.AzureConfiguration;
 import com.microsoft.azure.toolkit.lib.account.IAccount;
 import com.microsoft.azure.toolkit.lib.account.IAzureAccount;
 import com.microsoft.azure.toolkit.lib.common.cache.Cache1;
@@ -35,6 +36,7 @@ import org.apache.http.HttpStatus;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -121,12 +123,20 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
     }
 
     public void invalidateCache() {
-        log.debug("[{}:{}]:invalidateCache->subModules.invalidateCache()", this.module.getName(), this.getName());
-        this.getCachedSubModules().forEach(AbstractAzResourceModule::invalidateCache);
+        this.invalidateSubModulesCache();
         log.debug("[{}]:invalidateCache()", this.name);
         this.cache.invalidate();
     }
 
+    void invalidateSubModulesCache() {
+        log.debug("[{}:{}]:invalidateCache->subModules.invalidateCache()", this.module.getName(), this.getName());
+        this.getCachedSubModules().forEach(AbstractAzResourceModule::invalidateCache);
+    }
+
+    boolean isRemoteCached() {
+        return this.cache.isCached();
+    }
+
     @Nullable
     protected final R loadRemoteFromAzure() {
         log.debug("[{}:{}]:loadRemote()", this.module.getName(), this.getName());
@@ -154,6 +164,25 @@ public abstract class AbstractAzResource<T extends AbstractAzResource<T, P, R>,
         return this.cache.get();
     }
 
+    /**
+     * let {@link #getRemote()} return the cached remote immediately when it's older than {@code softExpiry}, while reloading it
+     * in background, the cached remote is reloaded synchronously if it's older than {@code hardExpiry} or invalidated explicitly
+     * (e.g. by {@link #refresh()}). only suitable for resources whose callers can tolerate a slightly stale remote.
+     *
+     * @see Cache1#staleWhileRevalidate(Duration, Duration)
+     */
+    protected void setRemoteExpiry(@Nonnull Duration softExpiry, @Nonnull Duration hardExpiry) {
+        this.cache.staleWhileRevalidate(softExpiry, hardExpiry);
+    }
+
+    /**
+     * {@link #setRemoteExpiry(Duration, Duration)} with expiries configured in {@link AzureConfiguration}.
+     */
+    protected void setRemoteExpiry() {
+        final AzureConfiguration config = Azure.az().config();
+        this.setRemoteExpiry(Duration.ofSeconds(config.getRemoteSoftExpiry()), Duration.ofSeconds(config.getRemoteHardExpiry()));
+    }
+
     protected void setRemote(R remote) {
         this.cache.update(() -> remote, Status.UPDATING);
     }
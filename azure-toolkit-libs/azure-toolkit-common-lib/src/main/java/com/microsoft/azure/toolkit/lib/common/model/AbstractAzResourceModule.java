@@ -13,13 +13,13 @@ import com.azure.resourcemanager.resources.fluentcore.arm.collection.SupportsGet
 import com.azure.resourcemanager.resources.fluentcore.arm.collection.SupportsGettingByResourceGroup;
 import com.azure.resourcemanager.resources.fluentcore.collection.SupportsDeletingById;
 import com.azure.resourcemanager.resources.fluentcore.collection.SupportsListing;
-import com.google.common.collect.Sets;
 import com.microsoft.azure.toolkit.lib.AzService;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.account.IAzureAccount;
 import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
+import com.microsoft.azure.toolkit.lib.common.model.page.PrefetchingPageIterator;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.Operation;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
@@ -47,17 +47,16 @@ import javax.annotation.Nullable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -89,8 +88,21 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     @ToString.Include
     protected final AtomicLong syncTimeRef = new AtomicLong(-1);
     @Nonnull
-    protected final Map<String, Optional<T>> resources = Collections.synchronizedMap(new LinkedHashMap<>());
-    private final Map<String, T> tempResources = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final ResourceIndex<T> resources = new ResourceIndex<>();
+    private final Map<String, T> tempResources = new ConcurrentHashMap<>();
+    /**
+     * versions (e.g. etag or changed time) of last synced remotes, see {@link #getRemoteVersion(String, Object)}
+     */
+    private final Map<String, String> remoteVersions = new ConcurrentHashMap<>();
+
+    private static final ClassValue<Boolean> LIST_CUSTOMIZED = new ClassValue<Boolean>() {
+        @Override
+        @SneakyThrows(NoSuchMethodException.class)
+        protected Boolean computeValue(@Nonnull Class<?> type) {
+            return type.getMethod("list").getDeclaringClass() != AbstractAzResourceModule.class;
+        }
+    };
+    private static final int SET_REMOTE_PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors());
 
     @Nonnull
     private final Debouncer fireEvents = new TailingDebouncer(this::fireChildrenChangedEvent, 300);
@@ -109,15 +121,21 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         log.debug("[{}]:invalidateCache()", this.name);
         if (this.lock.tryLock()) {
             try {
-                this.resources.entrySet().removeIf(e -> !e.getValue().isPresent());
+                this.resources.removeAbsent();
                 this.syncTimeRef.set(-1);
             } finally {
                 this.lock.unlock();
             }
         }
         log.debug("[{}]:invalidateCache->resources.invalidateCache()", this.name);
-        final Collection<Optional<T>> values = new ArrayList<>(this.resources.values());
-        values.forEach(v -> v.ifPresent(AbstractAzResource::invalidateCache));
+        this.resources.list().forEach(r -> {
+            if (this.remoteVersions.containsKey(r.getId().toLowerCase())) {
+                // remote of versioned resource will be revalidated (and updated only if changed) by the next sync.
+                r.invalidateSubModulesCache();
+            } else {
+                r.invalidateCache();
+            }
+        });
     }
 
     @Nonnull
@@ -142,8 +160,8 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
                 this.lock.unlock();
             }
         }
-        log.debug("[{}]:list->this.resources.values()", this.name);
-        return this.resources.values().stream().filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList());
+        log.debug("[{}]:list->this.resources.list()", this.name);
+        return this.resources.list();
     }
 
     private void reloadResources() {
@@ -183,7 +201,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     }
 
     protected Map<String, R> getResourcesFromAzure() {
-        this.pages = this.loadResourcePagesFromAzure();
+        this.pages = new PrefetchingPageIterator<>(this.loadResourcePagesFromAzure(), getMaxPrefetchedPages());
         final ContinuablePage<String, R> page = pages.hasNext() ? pages.next() : new ItemPage<>(Collections.emptyList());
         return page.getElements().stream()
             .collect(Collectors.toMap(r -> this.newResource(r).getId().toLowerCase(), r -> r));
@@ -213,53 +231,91 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     }
 
     private void setResources(Map<String, R> loadedResources) {
-        final Set<String> localResources = this.resources.values().stream().filter(Optional::isPresent).map(Optional::get)
-            .map(AbstractAzResource::getId).map(String::toLowerCase).collect(Collectors.toSet());
-        final Set<String> creating = this.resources.values().stream().filter(Optional::isPresent).map(Optional::get)
-            .filter(AbstractAzResource::isDraftForCreating)
-            .map(AbstractAzResource::getId).map(String::toLowerCase).collect(Collectors.toSet());
-        log.debug("[{}]:reload().creating={}", this.name, creating);
-        final Sets.SetView<String> refreshed = Sets.intersection(localResources, loadedResources.keySet());
-        log.debug("[{}]:reload().refreshed={}", this.name, refreshed);
-        final Sets.SetView<String> deleted = Sets.difference(Sets.difference(localResources, loadedResources.keySet()), creating);
-        log.debug("[{}]:reload().deleted={}", this.name, deleted);
-        final Sets.SetView<String> added = Sets.difference(loadedResources.keySet(), localResources);
-        log.debug("[{}]:reload().added={}", this.name, added);
+        final Map<String, R> added = new HashMap<>(loadedResources);
+        final List<Pair<T, R>> refreshed = new ArrayList<>();
+        final List<T> deleted = new ArrayList<>();
+        // diff local resources against loaded ones in a single pass, only changed resources will be refreshed.
+        this.resources.list().forEach(r -> {
+            final String id = r.getId().toLowerCase();
+            if (added.containsKey(id)) {
+                final R remote = added.remove(id);
+                if (this.isRemoteChanged(r, id, remote)) {
+                    refreshed.add(Pair.of(r, remote));
+                }
+            } else if (!r.isDraftForCreating()) {
+                deleted.add(r);
+            }
+        });
+        log.debug("[{}]:reload().refreshed={}", this.name, refreshed.size());
+        log.debug("[{}]:reload().deleted={}", this.name, deleted.size());
+        log.debug("[{}]:reload().added={}", this.name, added.size());
         log.debug("[{}]:reload.deleted->deleteResourceFromLocal", this.name);
-        deleted.forEach(id -> this.resources.getOrDefault(id, Optional.empty()).ifPresent(r -> {
+        deleted.forEach(r -> {
             r.deleteFromCache();
             r.setRemote(null);
-        }));
+        });
 
-        final AzureTaskManager m = AzureTaskManager.getInstance();
         log.debug("[{}]:reload.refreshed->resource.setRemote", this.name);
-        refreshed.forEach(id -> this.resources.getOrDefault(id, Optional.empty()).ifPresent(r -> m.runOnPooledThread(() -> r.setRemote(loadedResources.get(id)))));
+        this.setRemotes(refreshed);
         log.debug("[{}]:reload.added->addResourceToLocal", this.name);
-        final Map<String, R> newResources = new HashMap<>();
-        added.forEach(id -> newResources.put(id, loadedResources.get(id)));
-        addResources(newResources);
+        addResources(added);
         this.syncTimeRef.set(System.currentTimeMillis());
     }
 
     protected void addResources(Map<String, R> loadedResources) {
         final Set<String> added = loadedResources.keySet();
         log.debug("[{}]:reload().added={}", this.name, added);
-        loadedResources.values().stream().map(r -> Pair.of(r, this.newResource(r)))
-            .sorted(Comparator.comparing(p -> p.getValue().getName())) // sort by name when adding into cache
-            .forEach(p -> {
-                final R remote = p.getKey();
-                final T resource = p.getValue();
-                AzureTaskManager.getInstance().runOnPooledThread(() -> resource.setRemote(remote));
-                this.addResourceToLocal(resource.getId(), resource, true);
-            });
+        final List<Pair<T, R>> resources = loadedResources.entrySet().stream().map(e -> Pair.of(this.newLoadedResource(e.getKey(), e.getValue()), e.getValue()))
+            .sorted(Comparator.comparing(p -> p.getKey().getName())) // sort by name when adding into cache
+            .collect(Collectors.toList());
+        resources.forEach(p -> {
+            final T resource = p.getKey();
+            final String id = resource.getId().toLowerCase();
+            Optional.ofNullable(this.getRemoteVersion(id, p.getValue())).ifPresent(v -> this.remoteVersions.put(id, v));
+            this.addResourceToLocal(resource.getId(), resource, true);
+        });
+        this.setRemotes(resources);
         this.syncTimeRef.set(System.currentTimeMillis());
     }
 
+    /**
+     * set remotes of resources in a few pooled tasks (each for a slice of the resources) instead of one task per resource.
+     * a resource whose remote is not loaded (e.g. only ids are listed) is refreshed instead, which loads its remote.
+     */
+    private void setRemotes(@Nonnull List<Pair<T, R>> resources) {
+        final int size = resources.size();
+        final int tasks = Math.min(size, SET_REMOTE_PARALLELISM);
+        for (int i = 0; i < tasks; i++) {
+            final List<Pair<T, R>> slice = resources.subList(i * size / tasks, (i + 1) * size / tasks);
+            AzureTaskManager.getInstance().runOnPooledThread(() -> slice.forEach(p -> {
+                if (Objects.nonNull(p.getValue())) {
+                    p.getKey().setRemote(p.getValue());
+                } else {
+                    p.getKey().refresh();
+                }
+            }));
+        }
+    }
+
+    /**
+     * @return false only if version of the loaded remote equals to that of the last synced remote and the synced remote is still cached.
+     */
+    private boolean isRemoteChanged(@Nonnull T resource, @Nonnull String id, @Nullable R remote) {
+        final String version = this.getRemoteVersion(id, remote);
+        if (Objects.isNull(version)) {
+            this.remoteVersions.remove(id);
+            return true;
+        }
+        final String syncedVersion = this.remoteVersions.put(id, version);
+        return !version.equals(syncedVersion) || !resource.isRemoteCached();
+    }
+
     public void clear() {
         log.debug("[{}]:clear()", this.name);
         try {
             this.lock.lock();
             this.resources.clear();
+            this.remoteVersions.clear();
             this.syncTimeRef.set(-1);
         } finally {
             this.lock.unlock();
@@ -303,7 +359,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
             }
         }
         log.debug("[{}]:get({}, {})->this.resources.get({})", this.name, id, resourceGroup, name);
-        return this.resources.getOrDefault(id, Optional.empty()).orElse(null);
+        return this.resources.get(id).orElse(null);
     }
 
     @Nullable
@@ -369,13 +425,25 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
 
     @Nonnull
     public List<T> listCachedResources() { // getResources
-        return this.resources.values().stream().filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList());
+        return this.resources.list();
     }
 
     @Nonnull
     public List<T> listByResourceGroup(@Nonnull String resourceGroup) {
         log.debug("[{}]:listByResourceGroupName({})", this.name, resourceGroup);
-        return this.list().stream().filter(r -> r.getResourceGroupName().equalsIgnoreCase(resourceGroup)).collect(Collectors.toList());
+        final List<T> resources = this.list();
+        if (this.isListingIndexed()) {
+            return this.resources.listByResourceGroup(resourceGroup);
+        }
+        return resources.stream().filter(r -> r.getResourceGroupName().equalsIgnoreCase(resourceGroup)).collect(Collectors.toList());
+    }
+
+    /**
+     * whether {@link #list()} returns all cached resources, in which case {@link #listByResourceGroup(String)} is served by
+     * the index of cached resources. modules that customize {@link #list()} (e.g. filter it) are not indexed by default.
+     */
+    protected boolean isListingIndexed() {
+        return !LIST_CUSTOMIZED.get(this.getClass());
     }
 
     @Nonnull
@@ -476,6 +544,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         log.debug("[{}]:deleteResourceFromLocal->this.resources.remove({})", this.name, id);
         id = id.toLowerCase();
         final Optional<T> removed = this.resources.remove(id);
+        this.remoteVersions.remove(id);
         if (Objects.nonNull(removed) && removed.isPresent()) {
             this.deleteResourceFromLocalResourceGroup(removed.get(), silent);
             if ((silent.length == 0 || !silent[0])) {
@@ -498,7 +567,7 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
     protected void addResourceToLocal(@Nonnull String id, @Nullable T resource, boolean... silent) {
         log.debug("[{}]:addResourceToLocal({}, {})", this.name, id, resource);
         id = id.toLowerCase();
-        final Optional<T> oldResource = this.resources.getOrDefault(id, Optional.empty());
+        final Optional<T> oldResource = this.resources.get(id);
         final Optional<T> newResource = Optional.ofNullable(resource);
         if (!oldResource.isPresent()) {
             log.debug("[{}]:addResourceToLocal->this.resources.put({}, {})", this.name, id, resource);
@@ -608,6 +677,38 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         throw new AzureToolkitRuntimeException("not supported");
     }
 
+    /**
+     * version (e.g. etag or changed time) of the given remote, which is used to skip syncing unchanged resources
+     * when reloading resources of this module.
+     *
+     * @return {@code null} if version of the remote is unknown, in which case the resource will always be synced.
+     */
+    @Nullable
+    protected String getRemoteVersion(@Nonnull R remote) {
+        return null;
+    }
+
+    /**
+     * version of resource {@code id} loaded by {@link #getResourcesFromAzure()}, whose remote is absent if only ids are loaded.
+     */
+    @Nullable
+    protected String getRemoteVersion(@Nonnull String id, @Nullable R remote) {
+        return Objects.isNull(remote) ? null : this.getRemoteVersion(remote);
+    }
+
+    /**
+     * @param id    id of the resource loaded by {@link #getResourcesFromAzure()}
+     * @param remote the loaded remote, which is absent if only ids are loaded
+     */
+    @Nonnull
+    protected T newLoadedResource(@Nonnull String id, @Nullable R remote) {
+        if (Objects.nonNull(remote)) {
+            return this.newResource(remote);
+        }
+        final ResourceId resourceId = ResourceId.fromString(id);
+        return this.newResource(resourceId.name(), resourceId.resourceGroupName());
+    }
+
     @Nonnull
     protected abstract T newResource(@Nonnull R r);
 
@@ -653,6 +754,10 @@ public abstract class AbstractAzResourceModule<T extends AbstractAzResource<T, P
         return Azure.az().config().getPageSize();
     }
 
+    public static int getMaxPrefetchedPages() {
+        return Azure.az().config().getMaxPrefetchedPages();
+    }
+
     public boolean isAuthRequiredForCreating() {
         return !isMocked();
     }
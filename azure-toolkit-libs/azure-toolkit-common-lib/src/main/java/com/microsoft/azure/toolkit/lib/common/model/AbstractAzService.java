@@ -26,6 +26,7 @@ import javax.annotation.Nullable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -50,6 +51,14 @@ public abstract class AbstractAzService<T extends AbstractAzServiceSubscription<
         return super.list().stream().filter(s -> s.getSubscription().isSelected()).collect(Collectors.toList());
     }
 
+    /**
+     * lists with {@code lister} in all selected subscriptions concurrently, see {@link FanOut}.
+     */
+    @Nonnull
+    public <E> List<E> listInSubscriptions(@Nonnull Function<? super T, ? extends Collection<? extends E>> lister) {
+        return FanOut.list(this.list(), AbstractAzResource::getSubscriptionId, lister);
+    }
+
     @Nonnull
     @Override
     public String getFullResourceType() {
@@ -28,9 +28,11 @@ import io.netty.resolver.AddressResolverGroup;
 import io.netty.resolver.DefaultAddressResolverGroup;
 import io.netty.resolver.NoopAddressResolverGroup;
 import org.apache.commons.lang3.StringUtils;
+import reactor.netty.resources.ConnectionProvider;
 
 import javax.annotation.Nonnull;
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -82,9 +84,17 @@ public abstract class AbstractAzServiceSubscription<T extends AbstractAzResource
         return getResourceManager(subscriptionId);
     }
 
+    /**
+     * @return the pooled {@link ResourceManager} of {@code subscriptionId}, see {@link AzureManagerPool}
+     */
     @Nonnull
     public static ResourceManager getResourceManager(@Nonnull final String subscriptionId) {
         final IAccount account = az(IAzureAccount.class).account();
+        return AzureManagerPool.get(account, subscriptionId, ResourceManager.class, () -> createResourceManager(account, subscriptionId));
+    }
+
+    @Nonnull
+    private static ResourceManager createResourceManager(@Nonnull final IAccount account, @Nonnull final String subscriptionId) {
         final AzureConfiguration config = Azure.az().config();
         final String userAgent = config.getUserAgent();
         final HttpLogDetailLevel logDetailLevel = config.getLogLevel() == null ?
@@ -117,6 +127,10 @@ public abstract class AbstractAzServiceSubscription<T extends AbstractAzResource
     }
 
     public static class HttpClientHolder {
+        /**
+         * connections per host, requests are mostly sent to the same ARM endpoint and fanned out across subscriptions.
+         */
+        private static final int MAX_CONNECTIONS = Math.max(64, Runtime.getRuntime().availableProcessors() * 8);
         private static HttpClient defaultHttpClient = null;
 
         @Nonnull
@@ -137,8 +151,15 @@ public abstract class AbstractAzServiceSubscription<T extends AbstractAzResource
             } else {
                 resolverGroup = DefaultAddressResolverGroup.INSTANCE;
             }
+            final ConnectionProvider connectionProvider = ConnectionProvider.builder("azure-toolkit")
+                .maxConnections(MAX_CONNECTIONS)
+                .pendingAcquireMaxCount(-1) // queue requests instead of failing them when all connections are busy
+                .pendingAcquireTimeout(Duration.ofSeconds(60))
+                .maxIdleTime(Duration.ofSeconds(60)) // shorter than the 4 minutes idle timeout of azure load balancers
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
             reactor.netty.http.client.HttpClient nettyHttpClient =
-                reactor.netty.http.client.HttpClient.create()
+                reactor.netty.http.client.HttpClient.create(connectionProvider)
                         .resolver(resolverGroup);
             if (Objects.nonNull(config.getSslContext())) {
                 nettyHttpClient = nettyHttpClient.secure(sslConfig -> sslConfig.sslContext(new JdkSslContext(config.getSslContext(), true, ClientAuth.NONE)));
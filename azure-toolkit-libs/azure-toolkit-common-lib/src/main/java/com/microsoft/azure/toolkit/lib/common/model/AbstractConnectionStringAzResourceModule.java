@@ -17,7 +17,6 @@ import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 public abstract class AbstractConnectionStringAzResourceModule<T> extends AbstractAzResourceModule<AbstractConnectionStringAzResource<T>, AzResource.None, String> {
@@ -41,8 +40,8 @@ public abstract class AbstractConnectionStringAzResourceModule<T> extends Abstra
     @Nonnull
     @Override
     protected Iterator<? extends ContinuablePage<String, String>> loadResourcePagesFromAzure() {
-        final List<String> strings = this.resources.values().stream()
-            .filter(Optional::isPresent).map(Optional::get).map(AbstractConnectionStringAzResource<T>::getConnectionString)
+        final List<String> strings = this.listCachedResources().stream()
+            .map(AbstractConnectionStringAzResource<T>::getConnectionString)
             .filter(StringUtils::isNotBlank)
             .collect(Collectors.toList());
         return Collections.singletonList(new ItemPage<>(strings)).iterator();
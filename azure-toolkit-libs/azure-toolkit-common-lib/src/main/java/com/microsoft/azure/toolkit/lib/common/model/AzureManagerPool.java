@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.microsoft.azure.toolkit.lib.Azure;
+import com.microsoft.azure.toolkit.lib.account.IAzureAccount;
+import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * track2 managers (e.g. {@code ResourceManager}, {@code AppServiceManager}) keyed by (account, subscription, manager type), so that
+ * the http pipeline and policies of a manager are built once per subscription instead of every time it's requested.
+ * all managers are dropped when an account signs in or out.
+ */
+public final class AzureManagerPool {
+    private static final Map<Key, Object> managers = new ConcurrentHashMap<>();
+
+    static {
+        AzureEventBus.on("account.logged_in.account", new AzureEventBus.EventListener(e -> invalidate()));
+        AzureEventBus.on("account.logged_out.account", new AzureEventBus.EventListener(e -> invalidate()));
+    }
+
+    private AzureManagerPool() {
+    }
+
+    /**
+     * @return the pooled manager of {@code type} for {@code subscriptionId} of the signed-in account, created by {@code factory} if absent.
+     */
+    @Nonnull
+    public static <M> M get(@Nonnull final String subscriptionId, @Nonnull final Class<M> type, @Nonnull final Supplier<M> factory) {
+        return get(Azure.az(IAzureAccount.class).account(), subscriptionId, type, factory);
+    }
+
+    /**
+     * @param account the account (compared by identity) the manager is authenticated with
+     */
+    @Nonnull
+    public static <M> M get(@Nonnull final Object account, @Nonnull final String subscriptionId, @Nonnull final Class<M> type, @Nonnull final Supplier<M> factory) {
+        final Key key = new Key(account, subscriptionId.toLowerCase(), type);
+        final Object existing = managers.get(key);
+        if (existing != null) {
+            return type.cast(existing);
+        }
+        // not computeIfAbsent, since factories may get other managers from the pool, e.g. ResourceManager for provider registration
+        final M created = Objects.requireNonNull(factory.get(), "manager factory returns null");
+        final Object previous = managers.putIfAbsent(key, created);
+        return type.cast(previous == null ? created : previous);
+    }
+
+    public static void invalidate() {
+        managers.clear();
+    }
+
+    public static int size() {
+        return managers.size();
+    }
+
+    @RequiredArgsConstructor
+    private static class Key {
+        private final Object account;
+        private final String subscriptionId;
+        private final Class<?> type;
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return this.account == that.account && this.subscriptionId.equals(that.subscriptionId) && this.type == that.type;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(this.account) * 31 + this.subscriptionId.hashCode()) * 31 + this.type.hashCode();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.operation.OperationThreadContext;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * runs a listing against every source (e.g. subscriptions of a service) concurrently on a bounded pool of daemon threads and merges
+ * the results in the order of the sources. each source is cancelled if it takes longer than the timeout, failed sources are skipped
+ * and reported as one warning, unless all sources fail. fan-outs nested in a listing run inline to not starve the pool.
+ */
+@Slf4j
+public final class FanOut {
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(2);
+    // listings are network bound, so more threads than cores
+    private static final int PARALLELISM = Math.max(8, Math.min(32, Runtime.getRuntime().availableProcessors() * 4));
+    private static final ThreadLocal<Boolean> WORKER = ThreadLocal.withInitial(() -> false);
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(PARALLELISM, daemon("azure-fan-out-", true));
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(daemon("azure-fan-out-timer-", false));
+
+    private FanOut() {
+    }
+
+    @Nonnull
+    public static <S, E> List<E> list(@Nonnull final List<S> sources, @Nonnull final Function<? super S, String> nameOf,
+                                      @Nonnull final Function<? super S, ? extends Collection<? extends E>> lister) {
+        return list(sources, nameOf, lister, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param nameOf name of a source used in the failure report, e.g. the subscription id
+     */
+    @Nonnull
+    public static <S, E> List<E> list(@Nonnull final List<S> sources, @Nonnull final Function<? super S, String> nameOf,
+                                      @Nonnull final Function<? super S, ? extends Collection<? extends E>> lister, @Nonnull final Duration timeout) {
+        final List<E> result = new ArrayList<>();
+        if (sources.size() < 2 || WORKER.get()) {
+            sources.forEach(s -> result.addAll(lister.apply(s)));
+            return result;
+        }
+        final List<FutureTask<Collection<? extends E>>> tasks = new ArrayList<>(sources.size());
+        for (final S source : sources) {
+            tasks.add(submit(source, lister, timeout));
+        }
+        final Map<String, Throwable> failures = new LinkedHashMap<>();
+        for (int i = 0; i < sources.size(); i++) {
+            try {
+                result.addAll(tasks.get(i).get());
+            } catch (final InterruptedException e) {
+                tasks.forEach(t -> t.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new AzureToolkitRuntimeException("interrupted while listing resources", e);
+            } catch (final CancellationException e) {
+                failures.put(nameOf.apply(sources.get(i)), new TimeoutException(String.format("timed out after %ss", timeout.getSeconds())));
+            } catch (final ExecutionException e) {
+                failures.put(nameOf.apply(sources.get(i)), e.getCause());
+            }
+        }
+        if (!failures.isEmpty()) {
+            report(sources.size(), failures);
+        }
+        return result;
+    }
+
+    @Nonnull
+    private static <S, E> FutureTask<Collection<? extends E>> submit(@Nonnull final S source,
+                                                                    @Nonnull final Function<? super S, ? extends Collection<? extends E>> lister,
+                                                                    @Nonnull final Duration timeout) {
+        final OperationThreadContext context = OperationThreadContext.current().derive();
+        final FutureTask<Collection<? extends E>> task = new FutureTask<>(() -> {
+            final AtomicReference<Collection<? extends E>> result = new AtomicReference<>();
+            final AtomicReference<RuntimeException> error = new AtomicReference<>();
+            // catch inside, since the context reports whatever escapes it as an error
+            context.run(() -> {
+                try {
+                    result.set(lister.apply(source));
+                } catch (final RuntimeException e) {
+                    error.set(e);
+                }
+            });
+            if (error.get() != null) {
+                throw error.get();
+            }
+            return result.get();
+        });
+        POOL.execute(() -> {
+            // the timeout starts when the listing starts instead of when it's queued
+            final ScheduledFuture<?> timer = TIMER.schedule(() -> task.cancel(true), timeout.toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                task.run();
+            } finally {
+                timer.cancel(false);
+            }
+        });
+        return task;
+    }
+
+    private static void report(final int total, @Nonnull final Map<String, Throwable> failures) {
+        failures.forEach((name, error) -> log.warn(String.format("failed to list resources in (%s)", name), error));
+        if (failures.size() == total) {
+            final Throwable first = failures.values().iterator().next();
+            throw first instanceof RuntimeException ? (RuntimeException) first : new AzureToolkitRuntimeException(first.getMessage(), first);
+        }
+        AzureMessager.getMessager().warning(AzureString.format("Failed to list resources in %s of %s subscriptions (%s): %s",
+            failures.size(), total, String.join(", ", failures.keySet()), failures.values().iterator().next().getMessage()));
+    }
+
+    @Nonnull
+    private static ThreadFactory daemon(@Nonnull final String prefix, final boolean worker) {
+        final AtomicInteger count = new AtomicInteger();
+        return r -> {
+            final Thread thread = new Thread(() -> {
+                WORKER.set(worker);
+                r.run();
+            }, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * concurrent, insertion-ordered index of (cached) resources of a module.
+ * reads never lock, listing is served by immutable snapshots which are rebuilt lazily only after mutation.
+ * a {@code Optional.empty()} value means the resource is known to be nonexistent.
+ * resources are grouped by the resource group in their (ARM) ids, which never changes, unlike
+ * {@link AbstractAzResource#getResourceGroupName()} of drafts.
+ */
+class ResourceIndex<T> {
+    private static final String RESOURCE_GROUPS = "/resourcegroups/";
+
+    private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong modCount = new AtomicLong();
+    @Nullable
+    private volatile Snapshot<T> snapshot;
+
+    public boolean containsKey(@Nonnull String id) {
+        return this.entries.containsKey(id);
+    }
+
+    @Nonnull
+    public Optional<T> get(@Nonnull String id) {
+        final Entry<T> entry = this.entries.get(id);
+        return entry == null ? Optional.empty() : entry.value;
+    }
+
+    /**
+     * put the value to index, position of the id in insertion order is kept if it's already indexed.
+     */
+    public void put(@Nonnull String id, @Nonnull Optional<T> value) {
+        this.entries.compute(id, (k, old) -> new Entry<>(old == null ? this.sequence.incrementAndGet() : old.seq, resourceGroupOf(id), value));
+        this.modCount.incrementAndGet();
+    }
+
+    @Nullable
+    public Optional<T> remove(@Nonnull String id) {
+        final Entry<T> removed = this.entries.remove(id);
+        if (removed == null) {
+            return null;
+        }
+        this.modCount.incrementAndGet();
+        return removed.value;
+    }
+
+    /**
+     * remove all ids that are known to be nonexistent.
+     */
+    public void removeAbsent() {
+        if (this.entries.values().removeIf(e -> !e.value.isPresent())) {
+            this.modCount.incrementAndGet();
+        }
+    }
+
+    public void clear() {
+        this.entries.clear();
+        this.modCount.incrementAndGet();
+    }
+
+    /**
+     * @return immutable snapshot of all existing resources in insertion order.
+     */
+    @Nonnull
+    public List<T> list() {
+        return this.getSnapshot().resources;
+    }
+
+    /**
+     * @return immutable snapshot of existing resources in the given resource group in insertion order.
+     */
+    @Nonnull
+    public List<T> listByResourceGroup(@Nonnull String resourceGroup) {
+        return this.getSnapshot().byResourceGroup.getOrDefault(resourceGroup.toLowerCase(), Collections.emptyList());
+    }
+
+    @Nonnull
+    private Snapshot<T> getSnapshot() {
+        final Snapshot<T> current = this.snapshot;
+        final long version = this.modCount.get();
+        if (current != null && current.version == version) {
+            return current;
+        }
+        // a concurrent mutation during rebuilding only results in one more rebuilding on next read.
+        final Snapshot<T> rebuilt = new Snapshot<>(version, this.entries.values());
+        this.snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * @return lower case name of the resource group in the given resource id, {@code null} if absent.
+     */
+    @Nullable
+    static String resourceGroupOf(@Nonnull String id) {
+        final String lowerCaseId = id.toLowerCase();
+        final int index = lowerCaseId.indexOf(RESOURCE_GROUPS);
+        if (index < 0) {
+            return null;
+        }
+        final int start = index + RESOURCE_GROUPS.length();
+        final int end = lowerCaseId.indexOf('/', start);
+        return end < 0 ? lowerCaseId.substring(start) : lowerCaseId.substring(start, end);
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry<T> {
+        private final long seq;
+        @Nullable
+        private final String resourceGroup;
+        @Nonnull
+        private final Optional<T> value;
+    }
+
+    private static class Snapshot<T> {
+        private final long version;
+        private final List<T> resources;
+        private final Map<String, List<T>> byResourceGroup;
+
+        private Snapshot(long version, @Nonnull Iterable<Entry<T>> entries) {
+            final List<Entry<T>> sorted = new ArrayList<>();
+            entries.forEach(e -> {
+                if (e.value.isPresent()) {
+                    sorted.add(e);
+                }
+            });
+            sorted.sort(Comparator.comparingLong(e -> e.seq));
+            final List<T> all = sorted.stream().map(e -> e.value.get()).collect(Collectors.toList());
+            final Map<String, List<T>> groups = new HashMap<>();
+            sorted.stream().filter(e -> Objects.nonNull(e.resourceGroup))
+                .forEach(e -> groups.computeIfAbsent(e.resourceGroup, k -> new ArrayList<>()).add(e.value.get()));
+            groups.replaceAll((rg, l) -> Collections.unmodifiableList(l));
+            this.version = version;
+            this.resources = Collections.unmodifiableList(all);
+            this.byResourceGroup = Collections.unmodifiableMap(groups);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model.page;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * page iterator that fetches up to {@code maxPrefetchedPages} next pages in background while current page is being consumed,
+ * so that {@link #next()} doesn't have to wait for a remote round-trip in most cases. prefetching starts only after the
+ * first page is consumed and another is requested, so callers that only read the first page (e.g. reloading resources
+ * of a module) never fetch pages they don't use.
+ * pages are fetched one by one (each page depends on the continuation token of the previous one), each is handed to the
+ * waiting consumer as soon as it arrives. at most {@link #MAX_CONCURRENT_PREFETCHING} iterators are prefetching at the
+ * same time, others simply load pages lazily.
+ */
+@Slf4j
+public class PrefetchingPageIterator<P> implements Iterator<P> {
+    private static final int MAX_CONCURRENT_PREFETCHING = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final Semaphore prefetching = new Semaphore(MAX_CONCURRENT_PREFETCHING);
+
+    private final Iterator<? extends P> pages;
+    private final int maxPrefetchedPages;
+    private final Queue<P> prefetched = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger prefetchedCount = new AtomicInteger();
+    private final AtomicInteger consumed = new AtomicInteger();
+    private final Object lock = new Object();
+    /**
+     * whether {@link #pages} is being accessed (by consumer or prefetching task), guarded by {@link #lock}.
+     * the underlying iterator is not thread safe, only the one who set it can access {@link #pages}.
+     */
+    private boolean fetching;
+    private volatile RuntimeException error;
+
+    public PrefetchingPageIterator(@Nonnull Iterator<? extends P> pages, int maxPrefetchedPages) {
+        this.pages = pages;
+        this.maxPrefetchedPages = Math.max(0, maxPrefetchedPages);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!this.prefetched.isEmpty() || !this.acquire()) {
+            return true;
+        }
+        try {
+            return this.error != null || this.pages.hasNext();
+        } finally {
+            this.release();
+        }
+    }
+
+    @Override
+    public P next() {
+        P page = this.poll();
+        while (page == null) {
+            if (!this.acquire()) { // a page is prefetched
+                page = this.poll();
+                continue;
+            }
+            try {
+                final RuntimeException e = this.error;
+                this.error = null;
+                if (e != null) {
+                    throw e;
+                }
+                if (!this.pages.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                page = this.pages.next();
+            } finally {
+                this.release();
+            }
+        }
+        if (this.consumed.incrementAndGet() > 1) {
+            this.prefetch();
+        }
+        return page;
+    }
+
+    /**
+     * wait until a page is prefetched or {@link #pages} is accessible.
+     *
+     * @return true if {@link #pages} is acquired, false if a page is prefetched.
+     */
+    private boolean acquire() {
+        synchronized (this.lock) {
+            while (this.prefetched.isEmpty()) {
+                if (!this.fetching) {
+                    this.fetching = true;
+                    return true;
+                }
+                try {
+                    this.lock.wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AzureToolkitRuntimeException("interrupted while waiting for the next page.", e);
+                }
+            }
+            return false;
+        }
+    }
+
+    private void release() {
+        synchronized (this.lock) {
+            this.fetching = false;
+            this.lock.notifyAll();
+        }
+    }
+
+    private P poll() {
+        final P page = this.prefetched.poll();
+        if (page != null) {
+            this.prefetchedCount.decrementAndGet();
+        }
+        return page;
+    }
+
+    private void prefetch() {
+        if (this.maxPrefetchedPages < 1 || this.prefetchedCount.get() >= this.maxPrefetchedPages || this.error != null) {
+            return;
+        }
+        synchronized (this.lock) {
+            if (this.fetching) {
+                return;
+            }
+            this.fetching = true;
+        }
+        if (!prefetching.tryAcquire()) { // too many iterators are prefetching, load lazily instead.
+            this.release();
+            return;
+        }
+        try {
+            AzureTaskManager.getInstance().runOnPooledThread(this::doPrefetch);
+        } catch (final RuntimeException e) {
+            log.debug("failed to start prefetching pages", e);
+            prefetching.release();
+            this.release();
+        }
+    }
+
+    /**
+     * fetch pages without holding the lock, each page is published as soon as it arrives.
+     */
+    private void doPrefetch() {
+        try {
+            while (this.prefetchedCount.get() < this.maxPrefetchedPages && this.pages.hasNext()) {
+                final P page = this.pages.next();
+                synchronized (this.lock) {
+                    this.prefetched.add(page);
+                    this.prefetchedCount.incrementAndGet();
+                    this.lock.notifyAll();
+                }
+            }
+        } catch (final RuntimeException e) {
+            log.debug("failed to prefetch pages", e);
+            this.error = e;
+        } finally {
+            prefetching.release();
+            this.release();
+        }
+    }
+}
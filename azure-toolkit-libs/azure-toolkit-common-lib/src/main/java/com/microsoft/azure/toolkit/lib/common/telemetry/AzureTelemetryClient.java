@@ -18,6 +18,8 @@ import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -46,7 +48,7 @@ public class AzureTelemetryClient {
     private static final Pattern CLI_CREDENTIALS_REGEX = Pattern.compile("((login|psexec|(certutil|psexec)\\.exe).{1,50}(\\s-u(ser(name)?)?\\s+.{3,100})?\\s-(admin|user|vm|root)?p(ass(word)?)?\\s+[\"']?[^$\\-/\\s]|(^|[\\s\\r\\n\\\\])net(\\.exe)?.{1,5}(user\\s+|share\\s+/user:| user -? secrets ? set) \\s + [^ $\\s/])");
 
 
-    private static final Map<Pattern, String> PATTERN_MAP = new HashMap<Pattern, String>() {{
+    private static final Map<Pattern, String> PATTERN_MAP = new LinkedHashMap<Pattern, String>() {{
         put(EMAIL_PATTERN, "<REDACTED: Email>");
         put(SECRET_PATTERN, "<REDACTED: Generic Secret>");
         put(TOKEN_REGEX, "<REDACTED: Slack Toke>");
@@ -54,11 +56,12 @@ public class AzureTelemetryClient {
         put(GITHUB_TOKEN_REGEX, "<REDACTED: GitHub Token>");
         put(CLI_CREDENTIALS_REGEX, "<REDACTED: CLI Credentials>");
     }};
-
     @Getter
     @Setter(AccessLevel.PACKAGE)
     private String eventNamePrefix;
     @Nonnull
+    private final AzureTelemetryPipeline pipeline = new AzureTelemetryPipeline(this::send);
+    @Nonnull
     private final Map<String, String> defaultProperties = new HashMap<String, String>() {
         {
             put(ARCH_KEY, System.getProperty("os.arch"));
@@ -125,11 +128,22 @@ public class AzureTelemetryClient {
             return;
         }
 
-        final Map<String, String> properties = mergeProperties(getDefaultProperties(), customProperties, overrideDefaultProperties);
+        final Map<String, String> properties = new HashMap<>(mergeProperties(getDefaultProperties(), customProperties, overrideDefaultProperties));
         properties.entrySet().removeIf(stringStringEntry -> StringUtils.isEmpty(stringStringEntry.getValue())); // filter out null values
-        anonymizePersonallyIdentifiableInformation(properties);
+        // PII is anonymized by pipeline in background
+        this.pipeline.offer(new AzureTelemetryPipeline.Event(eventName, properties, metrics));
+    }
+
+    /**
+     * send all buffered events synchronously.
+     */
+    public void flush() {
+        this.pipeline.flush();
+    }
+
+    private void send(@Nonnull List<AzureTelemetryPipeline.Event> events) {
         Optional.ofNullable(getClient()).ifPresent(client -> {
-            client.trackEvent(eventName, properties, metrics);
+            events.forEach(e -> client.trackEvent(e.getName(), e.getProperties(), e.getMetrics()));
             client.flush();
         });
     }
@@ -156,6 +170,9 @@ public class AzureTelemetryClient {
             if (StringUtils.isBlank(value) || StringUtils.equalsAnyIgnoreCase(key, SYSTEM_PROPERTIES)) {
                 return value;
             }
+            if (!StringUtils.containsAny(value, '\r', '\n')) {
+                return anonymizePiiData(value);
+            }
             return Arrays.stream(value.split("\\r?\\n"))
                 .map(AzureTelemetryClient::anonymizePiiData).collect(Collectors.joining(StringUtils.LF));
         });
@@ -163,6 +180,7 @@ public class AzureTelemetryClient {
 
     public static String anonymizePiiData(@Nonnull final String input) {
         final String result = FILE_PATH_PATTERN.matcher(input).replaceAll("<REDACTED: user-file-path>");
+        // patterns are applied in order, so that the first matched pattern rather than the leftmost match decides the label
         for (final Pattern pattern : PATTERN_MAP.keySet()) {
             if (pattern.matcher(result).find()) {
                 return PATTERN_MAP.get(pattern);
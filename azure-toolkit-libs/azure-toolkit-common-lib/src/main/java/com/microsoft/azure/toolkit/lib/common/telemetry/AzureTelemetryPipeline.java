@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.telemetry;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * asynchronous telemetry pipeline: events are buffered in a bounded queue (new events are dropped if it's full) and
+ * sent to the {@code sink} in batches by a background thread when {@code batchSize} events are buffered or
+ * {@code flushInterval} passed since the first buffered event. PII is scrubbed on the background thread too.
+ * events stay in the queue while the batcher waits, and are taken and sent under {@link #sendLock}, so that
+ * {@link #flush()} sends or waits for every event offered before it.
+ */
+@Slf4j
+public class AzureTelemetryPipeline {
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int DEFAULT_BATCH_SIZE = 32;
+    public static final long DEFAULT_FLUSH_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+
+    private final int capacity;
+    /**
+     * guarded by itself
+     */
+    private final Deque<Event> buffer;
+    private final Object sendLock = new Object();
+    private final int batchSize;
+    private final long flushInterval;
+    @Nonnull
+    private final Consumer<List<Event>> sink;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public AzureTelemetryPipeline(@Nonnull Consumer<List<Event>> sink) {
+        this(sink, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public AzureTelemetryPipeline(@Nonnull Consumer<List<Event>> sink, int capacity, int batchSize, long flushInterval) {
+        this.sink = sink;
+        this.capacity = capacity;
+        this.buffer = new ArrayDeque<>(Math.min(capacity, 64));
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        final Thread batcher = new Thread(this::batch, "azure-telemetry-batcher");
+        batcher.setDaemon(true);
+        batcher.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "azure-telemetry-flusher"));
+    }
+
+    /**
+     * @return false if the event is dropped because the buffer is full.
+     */
+    public boolean offer(@Nonnull Event event) {
+        synchronized (this.buffer) {
+            if (this.buffer.size() >= this.capacity) {
+                this.dropped.incrementAndGet();
+                return false;
+            }
+            this.buffer.add(event);
+            if (this.buffer.size() == 1 || this.buffer.size() == this.batchSize) {
+                this.buffer.notifyAll();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * send all buffered events synchronously, including the batch being sent by the background thread.
+     */
+    public void flush() {
+        synchronized (this.sendLock) {
+            List<Event> batch;
+            while (!(batch = this.take(this.batchSize)).isEmpty()) {
+                this.send(batch);
+            }
+        }
+    }
+
+    public long getSentCount() {
+        return this.sent.get();
+    }
+
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    public long getFailedCount() {
+        return this.failed.get();
+    }
+
+    private void batch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                synchronized (this.buffer) {
+                    while (this.buffer.isEmpty()) {
+                        this.buffer.wait();
+                    }
+                    final long deadline = System.currentTimeMillis() + this.flushInterval;
+                    long timeout;
+                    while (this.buffer.size() < this.batchSize && (timeout = deadline - System.currentTimeMillis()) > 0) {
+                        this.buffer.wait(timeout);
+                    }
+                }
+                synchronized (this.sendLock) {
+                    this.send(this.take(this.batchSize)); // may be empty if flushed meanwhile
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Nonnull
+    private List<Event> take(int max) {
+        synchronized (this.buffer) {
+            final List<Event> batch = new ArrayList<>(Math.min(max, this.buffer.size()));
+            while (batch.size() < max && !this.buffer.isEmpty()) {
+                batch.add(this.buffer.poll());
+            }
+            return batch;
+        }
+    }
+
+    private void send(@Nonnull List<Event> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            batch.forEach(e -> AzureTelemetryClient.anonymizePersonallyIdentifiableInformation(e.getProperties()));
+            this.sink.accept(batch);
+            this.sent.addAndGet(batch.size());
+        } catch (final Throwable t) {
+            log.debug("failed to send telemetry events", t);
+            this.failed.addAndGet(batch.size());
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Event {
+        @Nonnull
+        private final String name;
+        @Nonnull
+        private final Map<String, String> properties;
+        @Nullable
+        private final Map<String, Double> metrics;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * a single hashed timing wheel shared by all {@link TailingDebouncer}s. a debouncer is put into the wheel at most once no matter how
+ * many times it's debounced, postponing only moves its deadline, and it's moved to a later bucket when the wheel reaches it.
+ * the wheel is only touched by its own thread, other threads hand debouncers over through a lock-free queue, and the thread
+ * parks when there is nothing to wait for.
+ */
+@Slf4j
+final class DebounceScheduler {
+    static final DebounceScheduler INSTANCE = new DebounceScheduler(TimeUnit.MILLISECONDS.toNanos(10), 512);
+
+    private final long origin = System.nanoTime();
+    private final long tickNanos;
+    private final int mask;
+    private final Queue<TailingDebouncer>[] wheel;
+    private final Queue<TailingDebouncer> incoming = new ConcurrentLinkedQueue<>();
+    private final ExecutorService executor;
+    private final Thread worker;
+    private volatile boolean idle;
+    private int size;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    private DebounceScheduler(final long tickNanos, final int wheelSize) {
+        this.tickNanos = tickNanos;
+        this.mask = wheelSize - 1;
+        this.wheel = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            this.wheel[i] = new ArrayDeque<>();
+        }
+        final AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            final Thread thread = new Thread(r, "azure-debouncer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.worker = new Thread(this::run, "azure-debounce-scheduler");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * @return current time in nanoseconds since the scheduler is created, which is always positive.
+     */
+    long now() {
+        return System.nanoTime() - origin + 1;
+    }
+
+    void schedule(@Nonnull final TailingDebouncer debouncer) {
+        this.incoming.offer(debouncer);
+        if (this.idle) {
+            LockSupport.unpark(this.worker);
+        }
+    }
+
+    private void run() {
+        this.tick = now() / tickNanos;
+        while (true) {
+            try {
+                if (this.size == 0 && this.incoming.isEmpty()) {
+                    this.idle = true;
+                    if (this.incoming.isEmpty()) {
+                        LockSupport.park(this);
+                    }
+                    this.idle = false;
+                    this.tick = now() / tickNanos;
+                }
+                transferIncoming();
+                final long current = now() / tickNanos;
+                for (; this.tick <= current; this.tick++) {
+                    expire(this.tick);
+                }
+                LockSupport.parkNanos(this, (this.tick * tickNanos) - now());
+            } catch (final Throwable t) {
+                log.warn("unexpected error in debounce scheduler", t);
+            }
+        }
+    }
+
+    private void transferIncoming() {
+        TailingDebouncer debouncer;
+        while ((debouncer = this.incoming.poll()) != null) {
+            place(debouncer, debouncer.getDeadline());
+        }
+    }
+
+    private void place(@Nonnull final TailingDebouncer debouncer, final long deadline) {
+        final long target = Math.max(deadline / tickNanos, this.tick);
+        this.wheel[(int) (target & mask)].add(debouncer);
+        this.size++;
+    }
+
+    private void expire(final long tick) {
+        final Queue<TailingDebouncer> bucket = this.wheel[(int) (tick & mask)];
+        final long now = now();
+        for (int i = bucket.size(); i > 0; i--) {
+            final TailingDebouncer debouncer = bucket.poll();
+            this.size--;
+            final long deadline = debouncer.expire(now);
+            if (deadline > 0) {
+                // postponed, or not due in this round
+                final long target = Math.max(deadline / tickNanos, tick + 1);
+                this.wheel[(int) (target & mask)].add(debouncer);
+                this.size++;
+            }
+        }
+    }
+
+    void execute(@Nonnull final Runnable runnable) {
+        this.executor.execute(runnable);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * rules of {@code .dockerignore}/{@code .gitignore} style ignore files, compiled once into regular expressions. the last matching
+ * rule decides whether a path is ignored, a path is also matched by a rule matching any of its parent directories.
+ */
+public class IgnoreRules {
+    public static final String DOCKER_IGNORE = ".dockerignore";
+    public static final String GIT_IGNORE = ".gitignore";
+    public static final String DOCKERFILE = "Dockerfile";
+    /**
+     * files which are never ignored by {@code .dockerignore}, docker cli always sends them to the daemon
+     */
+    private static final Set<String> DOCKER_KEPT = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(DOCKERFILE, DOCKER_IGNORE)));
+    private static final IgnoreRules EMPTY = new IgnoreRules(new ArrayList<>(), Collections.emptySet());
+
+    private final List<Rule> rules;
+    private final Set<String> kept;
+    private final boolean negated;
+
+    private IgnoreRules(@Nonnull final List<Rule> rules, @Nonnull final Set<String> kept) {
+        this.rules = rules;
+        this.kept = kept;
+        this.negated = rules.stream().anyMatch(r -> r.negated);
+    }
+
+    /**
+     * loads the ignore files (e.g. {@link #DOCKER_IGNORE}) in {@code root}, missing files are skipped. {@code .dockerignore} patterns
+     * are relative to {@code root}, others follow {@code .gitignore}: patterns without a slash match at any depth.
+     */
+    @Nonnull
+    public static IgnoreRules load(@Nonnull final Path root, @Nonnull final Collection<String> files) throws IOException {
+        final List<Rule> rules = new ArrayList<>();
+        boolean docker = false;
+        for (final String file : files) {
+            final Path path = root.resolve(file);
+            if (Files.isRegularFile(path)) {
+                final boolean anchored = DOCKER_IGNORE.equals(file);
+                docker |= anchored;
+                Files.readAllLines(path, StandardCharsets.UTF_8).forEach(line -> parse(line, anchored, rules));
+            }
+        }
+        return rules.isEmpty() ? EMPTY : new IgnoreRules(rules, docker ? DOCKER_KEPT : Collections.emptySet());
+    }
+
+    /**
+     * @param anchored patterns are relative to the root as {@code .dockerignore}, {@code Dockerfile} and {@code .dockerignore}
+     *                 are never ignored then.
+     */
+    @Nonnull
+    public static IgnoreRules parse(@Nonnull final Collection<String> lines, final boolean anchored) {
+        final List<Rule> rules = new ArrayList<>();
+        lines.forEach(line -> parse(line, anchored, rules));
+        return new IgnoreRules(rules, anchored ? DOCKER_KEPT : Collections.emptySet());
+    }
+
+    private static void parse(@Nonnull final String line, final boolean anchored, @Nonnull final List<Rule> rules) {
+        String pattern = StringUtils.stripEnd(line, null);
+        if (StringUtils.isBlank(pattern) || pattern.startsWith("#")) {
+            return;
+        }
+        final boolean negated = pattern.startsWith("!");
+        pattern = negated ? pattern.substring(1) : pattern;
+        if (pattern.startsWith("\\")) { // escaped leading `#` or `!`
+            pattern = pattern.substring(1);
+        }
+        final boolean directoryOnly = pattern.endsWith("/");
+        pattern = StringUtils.stripEnd(pattern.trim(), "/");
+        // a slash at the beginning or middle anchors the pattern to the root
+        final boolean rooted = anchored || pattern.contains("/");
+        pattern = StringUtils.stripStart(pattern, "/");
+        if (pattern.startsWith("./")) {
+            pattern = pattern.substring(2);
+        }
+        if (pattern.isEmpty()) {
+            return;
+        }
+        final String regex = (rooted ? "" : "(?:.*/)?") + toRegex(pattern);
+        rules.add(new Rule(Pattern.compile("^(" + regex + ")(/.*)?$"), negated, directoryOnly));
+    }
+
+    @Nonnull
+    private static String toRegex(@Nonnull final String glob) {
+        final StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            final char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    i++;
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '/') {
+                        i++;
+                        regex.append("(?:.*/)?");
+                    } else {
+                        regex.append(".*");
+                    }
+                } else {
+                    regex.append("[^/]*");
+                }
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else if (c == '[') {
+                final int end = glob.indexOf(']', i + 1);
+                if (end < 0) {
+                    regex.append("\\[");
+                } else {
+                    final String set = glob.substring(i + 1, end);
+                    regex.append('[').append(set.startsWith("!") ? "^" + set.substring(1) : set).append(']');
+                    i = end;
+                }
+            } else if (c == '\\' && i + 1 < glob.length()) {
+                regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    public boolean isEmpty() {
+        return this.rules.isEmpty();
+    }
+
+    /**
+     * @param path path relative to the root, separated by {@code /}
+     */
+    public boolean isIgnored(@Nonnull final String path, final boolean directory) {
+        if (!directory && this.kept.contains(path)) {
+            return false;
+        }
+        for (int i = this.rules.size() - 1; i >= 0; i--) {
+            final Rule rule = this.rules.get(i);
+            if (rule.matches(path, directory)) {
+                return !rule.negated;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the subtree of an ignored directory can be skipped, which is not the case if any rule re-includes paths.
+     */
+    public boolean canSkipIgnoredDirectory() {
+        return !this.negated;
+    }
+
+    @RequiredArgsConstructor
+    private static class Rule {
+        private final Pattern pattern;
+        private final boolean negated;
+        private final boolean directoryOnly;
+
+        boolean matches(@Nonnull final String path, final boolean directory) {
+            final Matcher matcher = this.pattern.matcher(path);
+            // a directory only rule matches a file only by one of its parent directories
+            return matcher.matches() && (!this.directoryOnly || directory || matcher.group(2) != null);
+        }
+    }
+}
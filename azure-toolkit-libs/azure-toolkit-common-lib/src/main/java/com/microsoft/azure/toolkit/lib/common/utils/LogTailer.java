@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * tails a log at {@link #url} which is only appended, e.g. the log blob of a build. only the bytes after the ones already read are
+ * requested with a {@code Range} header, lines are emitted as soon as they are complete, and polls are scheduled without blocking a
+ * thread, backing off while there is nothing new. a server which ignores {@code Range} works too, the bytes already read are skipped.
+ */
+@Slf4j
+@Builder
+public class LogTailer {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_FAILURES = 5;
+
+    @Nonnull
+    private final String url;
+    /**
+     * value of the {@code Authorization} header, evaluated for every poll so that it can be refreshed
+     */
+    @Builder.Default
+    private final Supplier<String> authorization = () -> null;
+    /**
+     * whether the log is complete, following stops when nothing is appended after it's complete
+     */
+    @Builder.Default
+    private final BooleanSupplier completed = () -> false;
+    @Builder.Default
+    private final Duration minInterval = Duration.ofMillis(500);
+    @Builder.Default
+    private final Duration maxInterval = Duration.ofSeconds(10);
+
+    /**
+     * @param follow keep polling for appended lines until the log is complete, otherwise stop at the current end of the log
+     */
+    @Nonnull
+    public Flux<String> tail(final boolean follow) {
+        return Flux.defer(() -> {
+            final Tail tail = new Tail();
+            return Flux.<String>create(sink -> this.poll(tail, sink))
+                .subscribeOn(Schedulers.boundedElastic())
+                .repeatWhen(polls -> polls.takeWhile(n -> tail.hasMore(follow)).concatMap(n -> Mono.delay(tail.nextInterval())))
+                .concatWith(Flux.defer(() -> Mono.justOrEmpty(tail.lines.flush())));
+        });
+    }
+
+    /**
+     * reads the bytes appended since the last poll
+     */
+    private void poll(@Nonnull final Tail tail, @Nonnull final FluxSink<String> sink) {
+        tail.completedBeforePoll = this.completed.getAsBoolean();
+        tail.progressed = false;
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(this.url).openConnection();
+            final HttpURLConnection current = connection;
+            sink.onCancel(current::disconnect);
+            connection.setConnectTimeout(3000);
+            connection.setReadTimeout(600000);
+            Optional.ofNullable(this.authorization.get()).filter(StringUtils::isNotBlank).ifPresent(a -> current.setRequestProperty("Authorization", a));
+            if (tail.offset > 0) {
+                connection.setRequestProperty("Range", String.format("bytes=%d-", tail.offset));
+            }
+            final int code = connection.getResponseCode();
+            if (code == HttpURLConnection.HTTP_PARTIAL || code == HttpURLConnection.HTTP_OK) {
+                try (final InputStream in = connection.getInputStream()) {
+                    // the whole log is returned if range is not supported
+                    final long skip = code == HttpURLConnection.HTTP_OK ? tail.offset : 0;
+                    this.read(in, skip, tail, sink);
+                }
+            } else if (code != 416 && code != HttpURLConnection.HTTP_NOT_FOUND) { // nothing appended, or nothing written yet
+                throw new IOException(String.format("failed to read log, request exited with %s", code));
+            }
+            tail.failures = 0;
+            sink.complete();
+        } catch (final IOException e) {
+            if (sink.isCancelled()) {
+                return;
+            }
+            if (++tail.failures >= MAX_FAILURES) {
+                sink.error(new AzureToolkitRuntimeException(String.format("failed to read log: %s", e.getMessage()), e));
+                return;
+            }
+            log.debug("failed to read log, will retry", e);
+            sink.complete();
+        } finally {
+            Optional.ofNullable(connection).ifPresent(HttpURLConnection::disconnect);
+        }
+    }
+
+    private void read(@Nonnull final InputStream in, long skip, @Nonnull final Tail tail, @Nonnull final FluxSink<String> sink) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int n;
+        while (!sink.isCancelled() && (n = in.read(buffer)) >= 0) {
+            final int from = (int) Math.min(skip, n);
+            skip -= from;
+            if (n > from) {
+                tail.offset += n - from;
+                tail.progressed = true;
+                tail.lines.feed(buffer, from, n, sink::next);
+            }
+        }
+    }
+
+    private class Tail {
+        private final LineSplitter lines = new LineSplitter();
+        private long offset;
+        private int failures;
+        private boolean progressed;
+        private boolean completedBeforePoll;
+        private Duration interval = minInterval;
+
+        boolean hasMore(final boolean follow) {
+            // read once more after the log is complete, lines may be appended between the last poll and completion
+            return this.progressed || (follow && !this.completedBeforePoll);
+        }
+
+        @Nonnull
+        Duration nextInterval() {
+            if (this.progressed) {
+                this.interval = minInterval;
+            } else {
+                final Duration doubled = this.interval.multipliedBy(2);
+                this.interval = doubled.compareTo(maxInterval) > 0 ? maxInterval : doubled;
+            }
+            return this.interval;
+        }
+    }
+
+    /**
+     * splits bytes into utf-8 lines, the incomplete line (and character) at the end of a chunk is kept until the next chunk.
+     */
+    static class LineSplitter {
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+        void feed(@Nonnull final byte[] bytes, final int from, final int to, @Nonnull final Consumer<String> consumer) {
+            int start = from;
+            for (int i = from; i < to; i++) {
+                if (bytes[i] == '\n') {
+                    this.pending.write(bytes, start, i - start);
+                    consumer.accept(this.take());
+                    start = i + 1;
+                }
+            }
+            this.pending.write(bytes, start, to - start);
+        }
+
+        @Nullable
+        String flush() {
+            return this.pending.size() > 0 ? this.take() : null;
+        }
+
+        @Nonnull
+        private String take() {
+            final String line = new String(this.pending.toByteArray(), StandardCharsets.UTF_8);
+            this.pending.reset();
+            return StringUtils.removeEnd(line, "\r");
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * gzip output stream compressing blocks in parallel (like pigz). each block is deflated independently, primed with the last 32K of
+ * the previous block as dictionary and ended with a sync flush, so the output is a single standard gzip member with nearly the same
+ * ratio as single-threaded compression. the crc is computed by the writing thread, the number of blocks in flight is bounded.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final AtomicInteger count = new AtomicInteger();
+
+    private final OutputStream out;
+    private final int blockSize;
+    private final int level;
+    private final int maxPending;
+    private final ExecutorService executor;
+    private final Queue<Future<byte[]>> pending = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private long size;
+    private byte[] previous;
+    private byte[] block;
+    private int position;
+    private boolean closed;
+
+    public ParallelGzipOutputStream(@Nonnull final OutputStream out) throws IOException {
+        this(out, Runtime.getRuntime().availableProcessors(), DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public ParallelGzipOutputStream(@Nonnull final OutputStream out, final int parallelism, final int blockSize, final int level) throws IOException {
+        this.out = out;
+        this.blockSize = Math.max(blockSize, DICTIONARY_SIZE);
+        this.level = level;
+        this.maxPending = Math.max(1, parallelism) * 2;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            final Thread thread = new Thread(r, "azure-gzip-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.block = new byte[this.blockSize];
+        this.out.write(HEADER);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        this.write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(@Nonnull final byte[] b, int off, int len) throws IOException {
+        if (this.closed) {
+            throw new IOException("stream is closed");
+        }
+        this.crc.update(b, off, len);
+        this.size += len;
+        while (len > 0) {
+            final int n = Math.min(len, this.blockSize - this.position);
+            System.arraycopy(b, off, this.block, this.position, n);
+            this.position += n;
+            off += n;
+            len -= n;
+            if (this.position == this.blockSize) {
+                this.submit(false);
+            }
+        }
+    }
+
+    private void submit(final boolean last) throws IOException {
+        final byte[] data = this.block;
+        final int length = this.position;
+        final byte[] dictionary = this.previous;
+        this.pending.add(this.executor.submit(() -> deflate(data, length, dictionary, this.level, last)));
+        this.previous = data;
+        this.block = last ? null : new byte[this.blockSize];
+        this.position = 0;
+        while (this.pending.size() > (last ? 0 : this.maxPending - 1)) {
+            this.out.write(await(this.pending.poll()));
+        }
+    }
+
+    @Nonnull
+    private static byte[] deflate(@Nonnull final byte[] data, final int length, @Nullable final byte[] dictionary, final int level, final boolean last) {
+        final Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary, dictionary.length - DICTIONARY_SIZE, DICTIONARY_SIZE);
+            }
+            deflater.setInput(data, 0, length);
+            final ByteArrayOutputStream result = new ByteArrayOutputStream(length / 2 + 64);
+            final byte[] buffer = new byte[64 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    result.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int n;
+                // a sync flush ends the block at a byte boundary, so that blocks can be concatenated
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    result.write(buffer, 0, n);
+                } while (n == buffer.length || !deflater.needsInput());
+            }
+            return result.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Nonnull
+    private static byte[] await(@Nonnull final Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while compressing");
+        } catch (final ExecutionException e) {
+            throw new IOException("failed to compress", e.getCause());
+        }
+    }
+
+    /**
+     * compresses and writes the remaining data and the gzip trailer, the underlying stream is not closed.
+     */
+    public void finish() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            this.submit(true);
+            final long value = this.crc.getValue();
+            this.out.write(new byte[]{
+                (byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24),
+                (byte) this.size, (byte) (this.size >> 8), (byte) (this.size >> 16), (byte) (this.size >> 24)});
+            this.out.flush();
+        } finally {
+            this.pending.forEach(f -> f.cancel(true));
+            this.executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.finish();
+        } finally {
+            this.out.close();
+        }
+    }
+}
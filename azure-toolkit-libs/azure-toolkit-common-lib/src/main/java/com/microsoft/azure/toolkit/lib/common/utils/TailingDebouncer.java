@@ -5,17 +5,41 @@
 
 package com.microsoft.azure.toolkit.lib.common.utils;
 
-import rx.Observable;
-import rx.Subscription;
-import rx.schedulers.Schedulers;
+import lombok.extern.slf4j.Slf4j;
 
-import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+/**
+ * runs {@code debounced} once {@code delay} milliseconds passed since the last {@link #debounce()}. all instances share one
+ * {@link DebounceScheduler}, state is changed with CAS only, so debouncing a pending debouncer allocates nothing and never blocks.
+ * runs never overlap: a debounce arriving while {@code debounced} is running schedules the next run, which is deferred until
+ * the current run completes if it's due earlier.
+ */
+@Slf4j
 public class TailingDebouncer implements Debouncer {
+    private static final long IDLE = 0;
+    private static final long RUNNING = -1;
+    private static final AtomicLongFieldUpdater<TailingDebouncer> DEADLINE = AtomicLongFieldUpdater.newUpdater(TailingDebouncer.class, "deadline");
+    private static final AtomicIntegerFieldUpdater<TailingDebouncer> SCHEDULED = AtomicIntegerFieldUpdater.newUpdater(TailingDebouncer.class, "scheduled");
+    private static final AtomicIntegerFieldUpdater<TailingDebouncer> RUNS = AtomicIntegerFieldUpdater.newUpdater(TailingDebouncer.class, "runs");
+
     private final Runnable debounced;
     private final int delay;
-    private Subscription timer;
+    private final Runnable fire = this::fire;
+    /**
+     * {@link #IDLE}, {@link #RUNNING} or the deadline (in {@link DebounceScheduler#now()}) of next run.
+     */
+    private volatile long deadline = IDLE;
+    /**
+     * 1 if this debouncer is in (or being handed over to) the timing wheel.
+     */
+    private volatile int scheduled = 0;
+    /**
+     * 1 if {@code debounced} is running.
+     */
+    private volatile int runs = 0;
 
     public TailingDebouncer(final Runnable debounced, final int delayInMillis) {
         this.debounced = debounced;
@@ -23,35 +47,81 @@ public class TailingDebouncer implements Debouncer {
     }
 
     @Override
-    public synchronized void debounce(int delay) {
-        if (this.isPending()) {
-            this.timer.unsubscribe();
-        }
+    public void debounce(int delay) {
         delay = delay < 0 ? this.delay : delay;
-        this.timer = Observable.timer(delay, TimeUnit.MILLISECONDS)
-            .subscribeOn(Schedulers.io())
-            .subscribe(ignore -> {
-                this.debounced.run();
-                this.clearTimer();
-            }, (e) -> this.clearTimer());
+        final DebounceScheduler scheduler = DebounceScheduler.INSTANCE;
+        // a running debouncer will run again after the new deadline
+        DEADLINE.set(this, scheduler.now() + TimeUnit.MILLISECONDS.toNanos(delay));
+        if (SCHEDULED.compareAndSet(this, 0, 1)) {
+            scheduler.schedule(this);
+        }
     }
 
     @Override
-    public synchronized void debounce() {
+    public void debounce() {
         this.debounce(this.delay);
     }
 
-    public synchronized void cancel() {
-        if (this.isPending()) {
-            this.timer.unsubscribe();
+    public void cancel() {
+        long current = this.deadline;
+        while (current > 0 && !DEADLINE.compareAndSet(this, current, IDLE)) {
+            current = this.deadline;
         }
     }
 
-    public synchronized boolean isPending() {
-        return Objects.nonNull(this.timer) && !this.timer.isUnsubscribed();
+    public boolean isPending() {
+        return this.deadline != IDLE;
+    }
+
+    long getDeadline() {
+        return this.deadline;
     }
 
-    private synchronized void clearTimer() {
-        this.timer = null;
+    /**
+     * called by the scheduler thread when the wheel reaches this debouncer.
+     *
+     * @return the deadline to wait for if this debouncer should stay in the wheel, or 0 if it's removed from the wheel.
+     */
+    long expire(final long now) {
+        while (true) {
+            final long current = this.deadline;
+            if (current > now) {
+                return current;
+            }
+            if (current > 0 && !RUNS.compareAndSet(this, 0, 1)) {
+                // the previous run is not completed yet, it reschedules this debouncer on completion.
+                SCHEDULED.set(this, 0);
+                if (this.runs == 0 && this.deadline > 0 && SCHEDULED.compareAndSet(this, 0, 1)) {
+                    continue; // completed meanwhile without seeing it's removed from the wheel
+                }
+                return 0;
+            }
+            if (current > 0 && !DEADLINE.compareAndSet(this, current, RUNNING)) {
+                RUNS.set(this, 0);
+                continue;
+            }
+            if (current > 0) {
+                DebounceScheduler.INSTANCE.execute(this.fire);
+            }
+            // a concurrent debounce() may have seen it's still scheduled
+            SCHEDULED.set(this, 0);
+            final long next = this.deadline;
+            return next > 0 && SCHEDULED.compareAndSet(this, 0, 1) ? next : 0;
+        }
+    }
+
+    private void fire() {
+        try {
+            this.debounced.run();
+        } catch (final Throwable t) {
+            log.warn("error occurs when running debounced task", t);
+        } finally {
+            DEADLINE.compareAndSet(this, RUNNING, IDLE);
+            RUNS.set(this, 0);
+            // debounced while running, but removed from the wheel since it was due before this run completes
+            if (this.deadline > 0 && SCHEDULED.compareAndSet(this, 0, 1)) {
+                DebounceScheduler.INSTANCE.schedule(this);
+            }
+        }
     }
 }
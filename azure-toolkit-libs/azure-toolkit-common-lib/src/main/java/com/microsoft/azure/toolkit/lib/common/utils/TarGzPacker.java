@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import lombok.Builder;
+import lombok.Singular;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.zip.Deflater;
+
+/**
+ * packs a directory into a tar.gz, compressed in parallel by {@link ParallelGzipOutputStream}. files are read through one reused
+ * buffer, paths matched by the ignore files (e.g. {@code .dockerignore}, which never ignores {@code Dockerfile} and itself) in the
+ * directory are skipped and progress is reported at most every {@link #PROGRESS_INTERVAL_MILLIS} milliseconds instead of per file.
+ */
+@Builder
+public class TarGzPacker {
+    private static final long PROGRESS_INTERVAL_MILLIS = 500;
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    @Builder.Default
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+    @Builder.Default
+    private final int blockSize = ParallelGzipOutputStream.DEFAULT_BLOCK_SIZE;
+    @Builder.Default
+    private final int level = Deflater.DEFAULT_COMPRESSION;
+    /**
+     * names of the ignore files in the root directory, e.g. {@link IgnoreRules#DOCKER_IGNORE}
+     */
+    @Singular
+    private final List<String> ignoreFiles;
+    /**
+     * additional paths to skip
+     */
+    @Nullable
+    private final Predicate<Path> ignore;
+
+    /**
+     * packs {@code source} into a new tar.gz in the temp directory.
+     */
+    @Nonnull
+    public Path pack(@Nonnull final Path source) throws IOException {
+        final Path target = Paths.get(System.getProperty("java.io.tmpdir")).resolve(String.format("build_archive_%s.tar.gz", UUID.randomUUID()));
+        this.pack(source, target);
+        return target;
+    }
+
+    public void pack(@Nonnull final Path source, @Nonnull final Path target) throws IOException {
+        if (!Files.isDirectory(source)) {
+            throw new IOException("Please provide a directory.");
+        }
+        this.pack(source, Files.newOutputStream(target));
+    }
+
+    /**
+     * packs {@code source} into {@code out}, which is closed when done, e.g. to upload the archive while it's being packed.
+     */
+    public void pack(@Nonnull final Path source, @Nonnull final OutputStream out) throws IOException {
+        if (!Files.isDirectory(source)) {
+            out.close();
+            throw new IOException("Please provide a directory.");
+        }
+        final IgnoreRules rules = IgnoreRules.load(source, this.ignoreFiles);
+        final Progress progress = new Progress(source);
+        try (final OutputStream fOut = out;
+             final ParallelGzipOutputStream gzOut = new ParallelGzipOutputStream(fOut, this.parallelism, this.blockSize, this.level);
+             final TarArchiveOutputStream tOut = new TarArchiveOutputStream(gzOut)) {
+            tOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tOut.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                    if (attrs.isSymbolicLink() || isIgnored(dir) ||
+                        (!dir.equals(source) && rules.canSkipIgnoredDirectory() && rules.isIgnored(relativize(source, dir), true))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(final Path path, final BasicFileAttributes attributes) throws IOException {
+                    // only copy files, no symbolic links
+                    final String name = relativize(source, path);
+                    if (attributes.isSymbolicLink() || !attributes.isRegularFile() || isIgnored(path) || rules.isIgnored(name, false)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    // failures of writing the archive abort packing
+                    if (addFile(tOut, path, name, attributes, buffer)) {
+                        progress.add(attributes.size());
+                    } else {
+                        AzureMessager.getMessager().warning(AzureString.format("Unable to compress : %s", path));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(final Path file, final IOException exc) {
+                    AzureMessager.getMessager().warning(AzureString.format("Unable to compress : %s", file));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            tOut.finish();
+        }
+        progress.done();
+    }
+
+    private boolean isIgnored(@Nonnull final Path path) {
+        return Objects.nonNull(this.ignore) && this.ignore.test(path);
+    }
+
+    /**
+     * @return false if the file can't be read entirely, it's skipped if it can't be opened, otherwise its entry is padded with
+     * zeros to the recorded size to keep the following entries valid.
+     * @throws IOException if failed to write the archive.
+     */
+    static boolean addFile(@Nonnull final TarArchiveOutputStream tOut, @Nonnull final Path path, @Nonnull final String name,
+                           @Nonnull final BasicFileAttributes attributes, @Nonnull final ByteBuffer buffer) throws IOException {
+        final FileChannel channel;
+        try {
+            // open before writing the entry, so that an unreadable file doesn't break the archive
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (final IOException e) {
+            return false;
+        }
+        try {
+            final long size = attributes.size();
+            final TarArchiveEntry entry = new TarArchiveEntry(name);
+            entry.setSize(size);
+            entry.setModTime(attributes.lastModifiedTime());
+            tOut.putArchiveEntry(entry);
+            boolean complete = true;
+            long remaining = size;
+            while (remaining > 0) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), remaining));
+                final int n = complete ? read(channel, buffer) : -1;
+                if (n < 0) {
+                    // the file is truncated or fails to be read while packing, pad it to the recorded size
+                    complete = false;
+                    Arrays.fill(buffer.array(), 0, buffer.limit(), (byte) 0);
+                    tOut.write(buffer.array(), 0, buffer.limit());
+                    remaining -= buffer.limit();
+                    continue;
+                }
+                tOut.write(buffer.array(), 0, n);
+                remaining -= n;
+            }
+            tOut.closeArchiveEntry();
+            return complete;
+        } finally {
+            IOUtils.closeQuietly(channel);
+        }
+    }
+
+    /**
+     * @return -1 if failed to read
+     */
+    private static int read(@Nonnull final FileChannel channel, @Nonnull final ByteBuffer buffer) {
+        try {
+            return channel.read(buffer);
+        } catch (final IOException e) {
+            return -1;
+        }
+    }
+
+    @Nonnull
+    private static String relativize(@Nonnull final Path source, @Nonnull final Path path) {
+        return FilenameUtils.separatorsToUnix(source.relativize(path).toString());
+    }
+
+    private static class Progress {
+        private final Path source;
+        private long files;
+        private long bytes;
+        private long lastReported = System.nanoTime();
+
+        Progress(@Nonnull final Path source) {
+            this.source = source;
+        }
+
+        void add(final long size) {
+            this.files++;
+            this.bytes += size;
+            final long now = System.nanoTime();
+            if (now - this.lastReported >= TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MILLIS)) {
+                this.lastReported = now;
+                AzureMessager.getMessager().progress(AzureString.format("compressing %s: %s files (%s)",
+                    this.source.getFileName(), this.files, FileUtils.byteCountToDisplaySize(this.bytes)));
+            }
+        }
+
+        void done() {
+            AzureMessager.getMessager().progress(AzureString.format("compressed %s: %s files (%s)",
+                this.source.getFileName(), this.files, FileUtils.byteCountToDisplaySize(this.bytes)));
+        }
+    }
+}
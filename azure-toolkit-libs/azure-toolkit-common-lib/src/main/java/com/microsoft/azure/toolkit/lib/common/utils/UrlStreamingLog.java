@@ -12,8 +12,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import reactor.core.publisher.Flux;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
 @Builder
@@ -29,6 +35,12 @@ public class UrlStreamingLog implements StreamingLogSupport {
     @Setter
     @Builder.Default
     private Supplier<String> authorizationSupplier = () -> StringUtils.EMPTY;
+    /**
+     * set for a log which is appended until it's complete (e.g. log of a build), so that it's tailed by {@link LogTailer}
+     * instead of being streamed through one long connection.
+     */
+    @Nullable
+    private BooleanSupplier completed;
 
     @NotNull
     @Override
@@ -42,6 +54,14 @@ public class UrlStreamingLog implements StreamingLogSupport {
         return this.endpoint;
     }
 
+    @Override
+    public Flux<String> streamingLogs(boolean follow, @Nonnull Map<String, String> params) {
+        if (Objects.isNull(this.completed)) {
+            return StreamingLogSupport.super.streamingLogs(follow, params);
+        }
+        return LogTailer.builder().url(this.endpoint).authorization(this::getLogStreamAuthorization).completed(this.completed).build().tail(follow);
+    }
+
     @Override
     public String getLogStreamEndpoint() {
         return this.endpoint;
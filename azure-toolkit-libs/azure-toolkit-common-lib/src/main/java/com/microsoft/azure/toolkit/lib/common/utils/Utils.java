@@ -7,16 +7,11 @@ package com.microsoft.azure.toolkit.lib.common.utils;
 
 import com.azure.resourcemanager.resources.fluentcore.utils.ResourceNamer;
 import com.google.common.base.Preconditions;
-import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
 import com.microsoft.azure.toolkit.lib.common.exception.CommandExecuteException;
-import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import lombok.SneakyThrows;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
-import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
-import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
@@ -25,23 +20,16 @@ import org.apache.commons.lang3.reflect.FieldUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.math.BigInteger;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.FileVisitResult;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
 import java.util.Collections;
@@ -318,55 +306,12 @@ public class Utils {
         return (T) obj;
     }
 
+    /**
+     * packs {@code source} into a tar.gz in the temp directory, paths matched by {@code ignore} or the {@code .dockerignore}
+     * in {@code source} are skipped, except {@code Dockerfile} and {@code .dockerignore} which are always packed as docker cli does.
+     */
     @SneakyThrows(IOException.class)
     public static Path tar(Path source, Predicate<Path> ignore) {
-        if (!Files.isDirectory(source)) {
-            throw new IOException("Please provide a directory.");
-        }
-        // get folder name as zip file name
-        final Path tarFilePath = Paths.get(System.getProperty("java.io.tmpdir")).resolve(String.format("build_archive_%s.tar.gz", UUID.randomUUID()));
-        try (final OutputStream fOut = Files.newOutputStream(tarFilePath);
-             final BufferedOutputStream buffOut = new BufferedOutputStream(fOut);
-             final GzipCompressorOutputStream gzOut = new GzipCompressorOutputStream(buffOut);
-             final TarArchiveOutputStream tOut = new TarArchiveOutputStream(gzOut)) {
-            tOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
-            Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
-                    if (attrs.isSymbolicLink() || ignore.test(dir)) {
-                        return FileVisitResult.SKIP_SUBTREE;
-                    }
-                    return super.preVisitDirectory(dir, attrs);
-                }
-
-                @Override
-                public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) {
-                    // only copy files, no symbolic links
-                    if (attributes.isSymbolicLink() || ignore.test(path)) {
-                        return FileVisitResult.CONTINUE;
-                    }
-                    // get filename
-                    final Path targetFile = source.relativize(path);
-                    try {
-                        final TarArchiveEntry tarEntry = new TarArchiveEntry(path.toFile(), targetFile.toString());
-                        tOut.putArchiveEntry(tarEntry);
-                        Files.copy(path, tOut);
-                        tOut.closeArchiveEntry();
-                        AzureMessager.getMessager().progress(AzureString.format("compressing : %s", path));
-                    } catch (final IOException e) {
-                        AzureMessager.getMessager().warning(AzureString.format("Unable to compress : %s", path));
-                    }
-                    return FileVisitResult.CONTINUE;
-                }
-
-                @Override
-                public FileVisitResult visitFileFailed(Path file, IOException exc) {
-                    System.err.printf("Unable to tar.gz : %s%n%s%n", file, exc);
-                    return FileVisitResult.CONTINUE;
-                }
-            });
-            tOut.finish();
-        }
-        return tarFilePath;
+        return TarGzPacker.builder().ignore(ignore).ignoreFile(IgnoreRules.DOCKER_IGNORE).build().pack(source);
     }
 }
@@ -6,11 +6,14 @@
 package com.microsoft.azure.toolkit.lib.common.utils.aspect;
 
 import com.azure.resourcemanager.resources.fluentcore.arm.ResourceUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.ImmutableMap;
 import groovy.lang.Binding;
 import groovy.lang.GroovyShell;
 import groovy.text.SimpleTemplateEngine;
 import groovy.text.Template;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Triple;
@@ -29,9 +32,17 @@ public class ExpressionUtils {
     private static final ImmutableMap<String, Boolean> valueMap = ImmutableMap.of("true", true, "false", false);
     private static final SimpleTemplateEngine engine = new SimpleTemplateEngine();
     private static final String INVALID_TEMPLATE = "error occurs when evaluate template(%s) with bindings(%s)";
+    private static final int MAX_COMPILED_TEMPLATES = 1000;
+    /**
+     * compiled templates, which are mostly from annotations. bounded in case templates are built dynamically.
+     */
+    private static final Cache<String, Template> templates = Caffeine.newBuilder().maximumSize(MAX_COMPILED_TEMPLATES).build();
 
     public static boolean evaluate(@Nonnull final String expression, @Nonnull final MethodInvocation invocation, boolean defaultVal) {
-        final String result = interpret(expression, invocation);
+        return toBoolean(interpret(expression, invocation), defaultVal);
+    }
+
+    public static boolean toBoolean(@Nullable final String result, boolean defaultVal) {
         return Boolean.TRUE.equals(valueMap.getOrDefault(Optional.ofNullable(result).map(String::toLowerCase).orElse(null), defaultVal));
     }
 
@@ -62,7 +73,7 @@ public class ExpressionUtils {
         final Map<String, Object> bindings = initBindings(invocation);
         final String fixed = template.replaceAll("(\\W)this(\\.)", "$1_this_$2"); // resolve `this`
         try {
-            final Template tpl = engine.createTemplate(fixed);
+            final Template tpl = templates.get(fixed, ExpressionUtils::createTemplate);
             return tpl.make(bindings).toString();
         } catch (final Throwable e) { // swallow all exceptions during render
             log.warn(String.format(INVALID_TEMPLATE, template, bindings), e);
@@ -70,6 +81,11 @@ public class ExpressionUtils {
         return template;
     }
 
+    @SneakyThrows
+    private static Template createTemplate(@Nonnull final String template) {
+        return engine.createTemplate(template);
+    }
+
     @Nonnull
     private static Map<String, Object> initBindings(@Nonnull final MethodInvocation invocation) {
         final List<Triple<String, Parameter, Object>> args = invocation.getArgs();
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils.aspect;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.JoinPoint;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * string literal or groovy template parsed once against the parameters of a specific method.
+ * templates that only reference parameters directly, e.g. {@code "$subscriptionId"}, {@code "${subscriptionId}/${name}"},
+ * are rendered by plain concatenation without groovy or building a {@link MethodInvocation}, others fall back to
+ * {@link ExpressionUtils#render(String, MethodInvocation)}.
+ */
+public class MethodTemplate {
+    private static final Pattern PARAMETER = Pattern.compile("\\$\\{\\s*([a-zA-Z_]\\w*)\\s*}|\\$([a-zA-Z_]\\w*)(?![.\\w\\[(])");
+    @Nullable
+    private final String template;
+    /**
+     * {@link String} for literal parts and {@link Integer} for indexes of referenced parameters,
+     * {@code null} if the template has to be rendered by groovy.
+     */
+    @Nullable
+    private final Object[] parts;
+
+    private MethodTemplate(@Nullable String template, @Nullable Object[] parts) {
+        this.template = template;
+        this.parts = parts;
+    }
+
+    @Nonnull
+    public static MethodTemplate compile(@Nullable final String template, @Nonnull final String[] parameterNames) {
+        if (StringUtils.isBlank(template) || !template.contains("$")) {
+            return new MethodTemplate(template, new Object[]{template});
+        }
+        if (StringUtils.containsAny(template, "<%", "\\")) { // scriptlets or escapes
+            return new MethodTemplate(template, null);
+        }
+        final List<Object> parts = new ArrayList<>();
+        final Matcher matcher = PARAMETER.matcher(template);
+        int start = 0;
+        while (matcher.find()) {
+            final String name = StringUtils.firstNonBlank(matcher.group(1), matcher.group(2));
+            final int index = ArrayUtils.indexOf(parameterNames, name);
+            final String literal = template.substring(start, matcher.start());
+            if (index < 0 || literal.contains("$")) { // not a parameter (e.g. `this`), or other expressions before it
+                return new MethodTemplate(template, null);
+            }
+            parts.add(literal);
+            parts.add(index);
+            start = matcher.end();
+        }
+        final String tail = template.substring(start);
+        if (tail.contains("$")) {
+            return new MethodTemplate(template, null);
+        }
+        parts.add(tail);
+        return new MethodTemplate(template, parts.toArray());
+    }
+
+    /**
+     * @return true if the template can be rendered without groovy.
+     */
+    public boolean isParameterOnly() {
+        return this.parts != null;
+    }
+
+    @Nullable
+    public String render(@Nonnull final JoinPoint point) {
+        if (this.parts == null) {
+            return ExpressionUtils.render(this.template, MethodInvocation.from(point));
+        }
+        if (this.parts.length == 1 && !(this.parts[0] instanceof Integer)) {
+            return this.template;
+        }
+        final Object[] args = point.getArgs();
+        final StringBuilder result = new StringBuilder();
+        for (final Object part : this.parts) {
+            result.append(part instanceof Integer ? String.valueOf(args[(Integer) part]) : part);
+        }
+        return result.toString();
+    }
+}
@@ -10,6 +10,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
 import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.index.AzureIndex;
 import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
@@ -17,32 +18,45 @@ import com.networknt.schema.SpecVersion;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.fasterxml.jackson.databind.MapperFeature.AUTO_DETECT_CREATORS;
 import static com.fasterxml.jackson.databind.MapperFeature.AUTO_DETECT_GETTERS;
 import static com.fasterxml.jackson.databind.MapperFeature.AUTO_DETECT_IS_GETTERS;
 
+/**
+ * schemas are listed by the index generated at build time (or scanned in jars built without it) and compiled on first use.
+ */
 public class SchemaValidator {
     private static final Path SCHEMA_ROOT = Paths.get("schema");
+    private static final String SCHEMA_PACKAGE = "schema.com.microsoft.azure.toolkit";
     private static final String INVALID_PARAMETER_ERROR_MESSAGE = "Invalid parameters founded, please correct the value with messages below:";
 
-    private final Map<String, JsonSchema> schemaMap = new HashMap<>();
+    private final Map<String, JsonSchema> schemaMap = new ConcurrentHashMap<>();
+    /**
+     * schema id to resource path of the not yet compiled schemas
+     */
+    private final Map<String, String> schemaResources = new ConcurrentHashMap<>();
     private final JsonSchemaFactory factory = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
     private final ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
             .disable(AUTO_DETECT_CREATORS, AUTO_DETECT_GETTERS, AUTO_DETECT_IS_GETTERS);
@@ -55,18 +69,24 @@ public class SchemaValidator {
     }
 
     private SchemaValidator() {
-        Optional.of(new Reflections("schema.com.microsoft.azure.toolkit", Scanners.Resources))
-                .map(reflections -> {
-                    try {
-                        return reflections.getResources(".*\\.json");
-                    } catch (Exception exception) {
-                        return null;
-                    }
-                })
-                .orElse(Collections.emptySet())
-                .stream().map(resource -> Pair.of(resource, SchemaValidator.class.getResourceAsStream("/" + resource)))
-                .filter(pair -> pair.getValue() != null)
-                .forEach(pair -> registerSchema(getSchemaId(pair.getKey()), pair.getValue()));
+        getSchemaResources().forEach(resource -> schemaResources.put(getSchemaId(resource), resource));
+    }
+
+    private static Set<String> getSchemaResources() {
+        final ClassLoader loader = SchemaValidator.class.getClassLoader();
+        final Set<String> resources = new LinkedHashSet<>(Optional.ofNullable(AzureIndex.read(AzureIndex.SCHEMAS, loader)).orElse(Collections.emptySet()));
+        // jars/directories built without the index processor
+        final Set<URL> unindexed = AzureIndex.getUnindexedRoots(AzureIndex.SCHEMAS, ClasspathHelper.forPackage(SCHEMA_PACKAGE, loader), loader);
+        if (!unindexed.isEmpty()) {
+            final ConfigurationBuilder configuration = new ConfigurationBuilder().setUrls(unindexed).addClassLoaders(loader)
+                .filterInputsBy(new FilterBuilder().includePackage(SCHEMA_PACKAGE)).setScanners(Scanners.Resources);
+            try {
+                resources.addAll(new Reflections(configuration).getResources(".*\\.json"));
+            } catch (final Exception ignored) {
+                // no schema found
+            }
+        }
+        return resources;
     }
 
     public static SchemaValidator getInstance() {
@@ -74,10 +94,11 @@ public class SchemaValidator {
     }
 
     public void registerSchema(@Nonnull final String schemaId, @Nonnull final JsonNode schema) {
-        if (schemaMap.containsKey(schemaId)) {
+        if (schemaMap.containsKey(schemaId) || schemaResources.containsKey(schemaId)) {
             AzureMessager.getMessager().info(AzureString.format("Updating schema for %s", schemaId));
         }
         schemaMap.put(schemaId, factory.getSchema(schema));
+        schemaResources.remove(schemaId);
     }
 
     public void registerSchema(@Nonnull final String schemaId, @Nonnull final InputStream schema) {
@@ -98,11 +119,12 @@ public class SchemaValidator {
     }
 
     public List<ValidationMessage> validate(@Nonnull final String schemaId, @Nonnull final JsonNode value, @Nullable final String pathPrefix) {
-        if (!schemaMap.containsKey(schemaId)) {
+        final JsonSchema schema = getSchema(schemaId);
+        if (schema == null) {
             AzureMessager.getMessager().warning(AzureString.format("Skip validation as schema %s was not registered", schemaId));
             return Collections.emptyList();
         }
-        return schemaMap.get(schemaId).validate(value, value, pathPrefix).stream().map(ValidationMessage::fromRawMessage).collect(Collectors.toList());
+        return schema.validate(value, value, pathPrefix).stream().map(ValidationMessage::fromRawMessage).collect(Collectors.toList());
     }
 
     public void validateAndThrow(@Nonnull final String schemaId, @Nonnull final Object value) {
@@ -121,6 +143,22 @@ public class SchemaValidator {
         }
     }
 
+    @Nullable
+    private JsonSchema getSchema(@Nonnull final String schemaId) {
+        // concurrent callers wait for the schema being compiled
+        return schemaMap.computeIfAbsent(schemaId, id -> Optional.ofNullable(schemaResources.get(id)).map(this::loadSchema).orElse(null));
+    }
+
+    @Nullable
+    private JsonSchema loadSchema(@Nonnull final String resource) {
+        try (final InputStream inputStream = SchemaValidator.class.getResourceAsStream("/" + resource)) {
+            return inputStream == null ? null : factory.getSchema(this.objectMapper.readTree(inputStream));
+        } catch (IOException e) {
+            AzureMessager.getMessager().warning(AzureString.format("Failed to load configuration schema %s", resource));
+            return null;
+        }
+    }
+
     private static String getSchemaId(final String path) {
         try {
             final Path schemaPath = Paths.get(FilenameUtils.removeExtension(path));
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CacheManagerTest {
+    private final Service service = new Service();
+
+    @Test
+    public void loadOnce() {
+        assertEquals("a-1", this.service.get("a"));
+        assertEquals("a-1", this.service.get("a"));
+        assertEquals("b-2", this.service.get("b"));
+        assertNotNull(CacheManager.getCacheStats("test-load"));
+        assertEquals(1, CacheManager.getCacheStats("test-load").hitCount());
+    }
+
+    @Test
+    public void loadNestedInSameCache() {
+        // the outer entry is being loaded while the inner one is loaded
+        assertEquals("outer(inner-1)", this.service.outer("x"));
+        assertEquals("outer(inner-1)", this.service.outer("x"));
+        assertEquals("inner-1", this.service.inner("x"));
+        assertEquals(3, this.service.recursive(3));
+    }
+
+    @Test
+    public void failureIsNotCached() {
+        try {
+            this.service.fail();
+            fail("exception should be thrown");
+        } catch (final IllegalStateException e) {
+            assertEquals("failed-1", e.getMessage());
+        }
+        assertEquals("ok-2", this.service.fail());
+        assertEquals("ok-2", this.service.fail());
+    }
+
+    @Test
+    public void refreshStaleEntry() throws InterruptedException {
+        assertEquals("v1", this.service.refreshed());
+        Thread.sleep(1100);
+        assertEquals("stale value should be returned while refreshing", "v1", this.service.refreshed());
+        assertTrue(this.service.refreshing.await(5, TimeUnit.SECONDS));
+        final long deadline = System.currentTimeMillis() + 5000;
+        String value = this.service.refreshed();
+        while (!"v2".equals(value) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            value = this.service.refreshed();
+        }
+        assertEquals("v2", value);
+    }
+
+    @Test(expected = AzureToolkitRuntimeException.class)
+    public void conflictingSettings() {
+        this.service.shortLived();
+        this.service.longLived();
+    }
+
+    public static class Service {
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicInteger refreshes = new AtomicInteger();
+        private final CountDownLatch refreshing = new CountDownLatch(1);
+
+        @Cacheable(cacheName = "test-load", key = "$name")
+        public String get(String name) {
+            return name + "-" + this.loads.incrementAndGet();
+        }
+
+        @Cacheable(cacheName = "test-nested", key = "outer-$name")
+        public String outer(String name) {
+            return "outer(" + this.inner(name) + ")";
+        }
+
+        @Cacheable(cacheName = "test-nested", key = "inner-$name")
+        public String inner(String name) {
+            return "inner-" + this.loads.incrementAndGet();
+        }
+
+        @Cacheable(cacheName = "test-nested", key = "recursive")
+        public int recursive(int depth) {
+            return depth <= 1 ? 1 : 1 + this.recursive(depth - 1);
+        }
+
+        @Cacheable(cacheName = "test-failure")
+        public String fail() {
+            final int count = this.loads.incrementAndGet();
+            if (count == 1) {
+                throw new IllegalStateException("failed-" + count);
+            }
+            return "ok-" + count;
+        }
+
+        @Cacheable(cacheName = "test-refresh", refreshAfterWrite = 1)
+        public String refreshed() {
+            final int count = this.refreshes.incrementAndGet();
+            if (count > 1) {
+                this.refreshing.countDown();
+            }
+            return "v" + count;
+        }
+
+        @Cacheable(cacheName = "test-conflict", expireAfterWrite = 10)
+        public String shortLived() {
+            return "short";
+        }
+
+        @Cacheable(cacheName = "test-conflict", expireAfterWrite = 100)
+        public String longLived() {
+            return "long";
+        }
+    }
+}
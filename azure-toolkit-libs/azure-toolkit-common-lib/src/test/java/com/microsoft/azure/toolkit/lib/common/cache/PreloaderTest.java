@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.cache;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class PreloaderTest {
+    private static final List<String> loaded = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void loadDependentPreloadsInOrder() {
+        Preloader.load(Arrays.stream(PreloaderTest.class.getDeclaredMethods())
+            .filter(m -> m.isAnnotationPresent(Preload.class)).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("subscriptions", "resources", "resources"), loaded);
+    }
+
+    @Preload(order = 1)
+    private static void loadResources() {
+        loaded.add(loaded.contains("subscriptions") ? "resources" : "resources without subscriptions");
+    }
+
+    @Preload(order = 1)
+    private static void loadMoreResources() {
+        loaded.add(loaded.contains("subscriptions") ? "resources" : "resources without subscriptions");
+    }
+
+    @Preload
+    private static void loadSubscriptions() throws InterruptedException {
+        Thread.sleep(100);
+        loaded.add("subscriptions");
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.event;
+
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import org.junit.Test;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AzureEventTopicTest {
+    @Test
+    public void coalesce() throws InterruptedException {
+        final AzureEventTopic<String> topic = AzureEventBus.topic("test.coalesce", String.class).setCoalescingWindow(Duration.ofMillis(100));
+        final List<String> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(2);
+        final Disposable subscription = topic.on((source, payload) -> {
+            received.add(source);
+            latch.countDown();
+        });
+        for (int i = 0; i < 100; i++) {
+            topic.emit("a");
+            topic.emit("b");
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        subscription.dispose();
+        assertEquals(2, received.size());
+        final AzureEventTopic.Metrics metrics = topic.getMetrics();
+        assertEquals(200, metrics.getEmitted());
+        assertEquals(198, metrics.getCoalesced());
+        assertEquals(0, metrics.getSubscribers());
+    }
+
+    @Test
+    public void keepOrderWhenCoalescing() throws InterruptedException {
+        final AzureEventTopic<String> topic = AzureEventBus.topic("test.order", String.class).setCoalescingWindow(Duration.ofMillis(100));
+        final List<String> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(5);
+        final Disposable subscription = topic.on((source, payload) -> {
+            received.add(source + payload);
+            latch.countDown();
+        });
+        topic.emit("a", 1);
+        topic.emit("b", 1);
+        topic.emit("a", 1);
+        topic.emit("a", 2);
+        topic.emit("c", 1);
+        topic.emit("a", 1);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        subscription.dispose();
+        assertEquals(Arrays.asList("a1", "b1", "a2", "c1", "a1"), received);
+    }
+
+    @Test
+    public void checkSourceType() {
+        final AzureEventTopic<Integer> topic = AzureEventBus.topic("test.typed", Integer.class);
+        assertSame(topic, AzureEventBus.topic("test.typed", Number.class));
+        assertEquals(Integer.class, topic.getSourceType());
+        try {
+            AzureEventBus.topic("test.typed", String.class);
+            fail("incompatible source type should be rejected");
+        } catch (final AzureToolkitRuntimeException ignored) {
+        }
+    }
+
+    @Test
+    public void dropNewest() throws InterruptedException {
+        final AzureEventTopic<Integer> topic = AzureEventBus.topic("test.drop", Integer.class);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        final AtomicInteger count = new AtomicInteger();
+        topic.subscribe(this, e -> {
+            count.incrementAndGet();
+            blocked.countDown();
+            try {
+                released.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException ignored) {
+            }
+        }, 2, AzureEventTopic.OverflowPolicy.DROP_NEWEST);
+        topic.emit(0);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 10; i++) {
+            topic.emit(i);
+        }
+        released.countDown();
+        Thread.sleep(200);
+        topic.unsubscribe(this);
+        assertEquals(3, count.get());
+        assertEquals(8, topic.getMetrics().getDropped());
+    }
+
+    @Test
+    public void legacyListener() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AzureEventBus.EventListener listener = new AzureEventBus.EventListener(e -> latch.countDown());
+        AzureEventBus.on("test.legacy", listener);
+        AzureEventBus.emit("test.legacy", "source");
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        AzureEventBus.off("test.legacy", listener);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.index;
+
+import com.microsoft.azure.toolkit.lib.common.validator.SchemaValidator;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AzureIndexTest {
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void generated() {
+        final Set<String> preloads = AzureIndex.read(AzureIndex.PRELOADS, getClass().getClassLoader());
+        assertNotNull(preloads);
+        assertTrue(preloads.contains("com.microsoft.azure.toolkit.lib.common.model.AbstractAzService#preload"));
+        final Set<String> schemas = AzureIndex.read(AzureIndex.SCHEMAS, getClass().getClassLoader());
+        assertNotNull(schemas);
+        assertTrue(schemas.contains("schema/com/microsoft/azure/toolkit/common/UUID.json"));
+        assertNull(AzureIndex.read("META-INF/azure-toolkit/absent.idx", getClass().getClassLoader()));
+    }
+
+    @Test
+    public void validateWithIndexedSchema() {
+        final SchemaValidator validator = SchemaValidator.getInstance();
+        assertEquals(Collections.emptyList(), validator.validate("com/microsoft/azure/toolkit/common/UUID", "00000000-0000-0000-0000-000000000000"));
+        assertEquals(1, validator.validate("com/microsoft/azure/toolkit/common/UUID", "not-a-uuid").size());
+    }
+
+    @Test
+    public void unindexedRoots() throws Exception {
+        final File indexed = temp.newFolder("indexed");
+        final File unindexed = temp.newFolder("unindexed");
+        write(new File(indexed, AzureIndex.PRELOADS), "");
+        final List<URL> roots = Arrays.asList(indexed.toURI().toURL(), unindexed.toURI().toURL());
+        try (final URLClassLoader loader = new URLClassLoader(roots.toArray(new URL[0]), null)) {
+            assertEquals(Collections.singleton(roots.get(1)), AzureIndex.getUnindexedRoots(AzureIndex.PRELOADS, roots, loader));
+        }
+    }
+
+    @Test
+    public void mergeIndexOnIncrementalCompile() throws Exception {
+        final File source = temp.newFolder("src");
+        final File output = temp.newFolder("classes");
+        final String preload = "import com.microsoft.azure.toolkit.lib.common.cache.Preload;\n";
+        final File a = write(new File(source, "A.java"), preload + "public class A { @Preload static void a() {} }");
+        final File b = write(new File(source, "B.java"), preload + "public class B { @Preload static void b() {} }");
+        compile(output, a, b);
+        assertEquals(Arrays.asList("A#a", "B#b"), readIndex(output));
+
+        // only B is changed and compiled, A is still in the output
+        write(b, preload + "public class B { @Preload static void b() {} @Preload static void c() {} }");
+        compile(output, b);
+        assertEquals(Arrays.asList("A#a", "B#b", "B#c"), readIndex(output));
+
+        write(b, "public class B { static void b() {} }");
+        compile(output, b);
+        assertEquals(Collections.singletonList("A#a"), readIndex(output));
+    }
+
+    private static void compile(final File output, final File... sources) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeNotNull(compiler);
+        final String classpath = output.getAbsolutePath() + File.pathSeparator + System.getProperty("java.class.path");
+        // classes not compiled next time are found in the output
+        final List<String> args = new ArrayList<>(Arrays.asList("-d", output.getAbsolutePath(), "-cp", classpath,
+            "-processor", AzureIndexProcessor.class.getName()));
+        Arrays.stream(sources).map(File::getAbsolutePath).forEach(args::add);
+        assertEquals(0, compiler.run(null, null, null, args.toArray(new String[0])));
+    }
+
+    private static List<String> readIndex(final File output) throws IOException {
+        return Files.readAllLines(new File(output, AzureIndex.PRELOADS).toPath(), StandardCharsets.UTF_8);
+    }
+
+    private static File write(final File file, final String content) throws IOException {
+        FileUtils.write(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
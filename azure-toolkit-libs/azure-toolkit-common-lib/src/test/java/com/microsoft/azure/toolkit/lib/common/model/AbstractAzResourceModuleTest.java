@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.microsoft.azure.toolkit.lib.common.model.FakeResourceModule.FakeResource;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractAzResourceModuleTest {
+    private final FakeResourceModule module = new FakeResourceModule();
+
+    @Test
+    public void syncChangedResourcesOnly() throws InterruptedException {
+        this.module.put("a", "rg1", "1");
+        this.module.put("b", "rg1", "1");
+        this.module.put("c", "rg2", "1");
+        assertEquals(3, this.module.list().size());
+        final FakeResource a = this.get("a");
+        final FakeResource b = this.get("b");
+        final FakeResource c = this.get("c");
+        await(() -> a.synced.get() == 1 && b.synced.get() == 1 && c.synced.get() == 1);
+
+        this.module.put("b", "rg1", "2");
+        this.module.remotes.remove("c");
+        this.module.put("d", "rg2", "1");
+        this.module.refresh();
+        assertEquals("[a, b, d]", names(this.module.list()));
+        final FakeResource d = this.get("d");
+        await(() -> b.synced.get() == 2 && d.synced.get() == 1);
+        assertEquals("unchanged resource should not be synced", 1, a.synced.get());
+        assertEquals(AzResource.Status.DELETED, c.getStatus());
+        assertEquals("2", Objects.requireNonNull(b.getRemote()).version);
+    }
+
+    @Test
+    public void syncAllResourcesIfNotVersioned() throws InterruptedException {
+        this.module.versioned = false;
+        this.module.put("a", "rg1", "1");
+        this.module.put("b", "rg1", "1");
+        this.module.list();
+        final FakeResource a = this.get("a");
+        final FakeResource b = this.get("b");
+        await(() -> a.synced.get() == 1 && b.synced.get() == 1);
+
+        this.module.refresh();
+        this.module.list();
+        await(() -> a.synced.get() == 2 && b.synced.get() == 2);
+    }
+
+    @Test
+    public void listResourcesLoadedByIds() throws InterruptedException {
+        final FakeResourceModule byIds = new FakeResourceModule() {
+            @Nonnull
+            @Override
+            protected Map<String, FakeRemote> getResourcesFromAzure() {
+                final Map<String, FakeRemote> result = new HashMap<>();
+                this.remotes.values().forEach(r -> result.put(this.toResourceId(r.name, r.resourceGroup).toLowerCase(), null));
+                return result;
+            }
+        };
+        byIds.put("a", "rg1", "1");
+        final FakeResource a = byIds.list().get(0);
+        assertEquals("rg1", a.getResourceGroupName());
+        // remote of resource loaded by id is loaded on demand
+        assertEquals("1", Objects.requireNonNull(a.getRemote()).version);
+        assertEquals(1, byIds.loadedRemotes.get());
+        assertNull(byIds.get("b", "rg1"));
+    }
+
+    @Test
+    public void fetchNextPagesOnlyAfterLoadingMore() throws InterruptedException {
+        this.module.pageSize = 2;
+        for (int i = 0; i < 7; i++) {
+            this.module.put("r" + i, "rg", "1");
+        }
+        assertEquals(2, this.module.list().size());
+        Thread.sleep(200);
+        assertEquals("reloading should fetch the first page only", 1, this.module.loadedPages.get());
+        this.module.refresh();
+        this.module.list();
+        Thread.sleep(200);
+        assertEquals(2, this.module.loadedPages.get());
+
+        this.module.loadMoreResources();
+        assertEquals(4, this.module.list().size());
+        await(() -> this.module.loadedPages.get() == 4); // the next page is prefetched
+        while (this.module.hasMoreResources()) {
+            this.module.loadMoreResources();
+        }
+        assertEquals(7, this.module.list().size());
+    }
+
+    @Test
+    public void listByResourceGroup() {
+        this.module.put("a", "rg1", "1");
+        this.module.put("b", "rg2", "1");
+        this.module.put("c", "rg1", "1");
+        assertEquals("[a, c]", names(this.module.listByResourceGroup("RG1")));
+        final FakeResourceModule filtered = new FakeResourceModule() {
+            @Nonnull
+            @Override
+            public List<FakeResource> list() {
+                return super.list().stream().filter(r -> !r.getName().equals("a")).collect(Collectors.toList());
+            }
+        };
+        filtered.remotes.putAll(this.module.remotes);
+        assertEquals("customized listing should be respected", "[c]", names(filtered.listByResourceGroup("rg1")));
+    }
+
+    @Nonnull
+    private FakeResource get(@Nonnull String name) {
+        return this.module.list().stream().filter(r -> r.getName().equals(name)).findAny().orElseThrow(AssertionError::new);
+    }
+
+    @Nonnull
+    private static String names(@Nonnull List<FakeResource> resources) {
+        return resources.stream().map(AbstractAzResource::getName).sorted().collect(Collectors.toList()).toString();
+    }
+
+    static void await(@Nonnull BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("condition is not met in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
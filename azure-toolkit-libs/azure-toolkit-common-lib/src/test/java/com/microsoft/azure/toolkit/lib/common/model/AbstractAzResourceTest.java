@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.microsoft.azure.toolkit.lib.common.model.FakeResourceModule.FakeResource;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModuleTest.await;
+import static org.junit.Assert.assertEquals;
+
+public class AbstractAzResourceTest {
+    private final FakeResourceModule module = new FakeResourceModule();
+    private FakeResource resource;
+
+    @Before
+    public void setUp() {
+        this.module.remoteExpiry = Pair.of(Duration.ofMillis(300), Duration.ofSeconds(2));
+        this.module.put("a", "rg", "1");
+        this.resource = Objects.requireNonNull(this.module.get("a", "rg"));
+        assertEquals("1", this.version());
+        assertEquals(1, this.module.loadedRemotes.get());
+    }
+
+    @Test
+    public void readStaleRemoteWhileRevalidating() throws InterruptedException {
+        this.module.put("a", "rg", "2");
+        assertEquals("fresh remote should not be revalidated", "1", this.version());
+        Thread.sleep(400);
+        this.module.loadDelay = 200;
+        assertEquals("stale remote should be returned immediately", "1", this.version());
+        await(() -> "2".equals(this.version()));
+        assertEquals(2, this.module.loadedRemotes.get());
+    }
+
+    @Test
+    public void readFreshRemoteAfterRefresh() {
+        this.module.put("a", "rg", "2");
+        this.module.loadDelay = 200;
+        this.resource.refresh();
+        assertEquals("refreshed remote should be reloaded synchronously", "2", this.version());
+        assertEquals(2, this.module.loadedRemotes.get());
+    }
+
+    @Test
+    public void coalesceRevalidations() throws InterruptedException {
+        Thread.sleep(400);
+        this.module.loadDelay = 300;
+        CompletableFuture.allOf(IntStream.range(0, 8).mapToObj(i -> CompletableFuture.runAsync(this::version)).toArray(CompletableFuture[]::new)).join();
+        await(() -> this.resource.isRemoteCached());
+        assertEquals("concurrent revalidations should be coalesced", 2, this.module.loadedRemotes.get());
+    }
+
+    @Test
+    public void reloadHardExpiredRemote() throws InterruptedException {
+        this.module.put("a", "rg", "2");
+        Thread.sleep(2100);
+        assertEquals("hard expired remote should be reloaded synchronously", "2", this.version());
+    }
+
+    private String version() {
+        return Objects.requireNonNull(this.resource.getRemote()).version;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.credential.AccessToken;
+import com.azure.core.credential.TokenCredential;
+import com.azure.core.http.HttpClient;
+import com.azure.core.management.AzureEnvironment;
+import com.azure.core.management.profile.AzureProfile;
+import com.azure.resourcemanager.resources.ResourceManager;
+import com.microsoft.azure.toolkit.lib.common.event.AzureEventBus;
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModuleTest.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class AzureManagerPoolTest {
+    private static final String SUBSCRIPTION = "00000000-0000-0000-0000-000000000000";
+
+    private final AtomicInteger created = new AtomicInteger();
+    // no request is sent by the tests
+    private final HttpClient httpClient = request -> Mono.error(new UnsupportedOperationException());
+    private final TokenCredential credential = r -> Mono.just(new AccessToken("token", OffsetDateTime.now().plusHours(1)));
+    private final AzureProfile profile = new AzureProfile(null, SUBSCRIPTION, AzureEnvironment.AZURE);
+
+    @After
+    public void tearDown() {
+        AzureManagerPool.invalidate();
+    }
+
+    @Test
+    public void pooled() {
+        final Object account = new Object();
+        final ResourceManager manager = AzureManagerPool.get(account, SUBSCRIPTION, ResourceManager.class, this::createManager);
+        assertSame(manager, AzureManagerPool.get(account, SUBSCRIPTION.toUpperCase(), ResourceManager.class, this::createManager));
+        assertEquals("manager should be created once for the same key", 1, this.created.get());
+        assertNotSame(manager, AzureManagerPool.get(new Object(), SUBSCRIPTION, ResourceManager.class, this::createManager));
+        assertEquals(2, AzureManagerPool.size());
+        AzureManagerPool.invalidate();
+        assertEquals(0, AzureManagerPool.size());
+        assertNotSame(manager, AzureManagerPool.get(account, SUBSCRIPTION, ResourceManager.class, this::createManager));
+    }
+
+    @Test
+    public void invalidateOnAccountChanged() throws InterruptedException {
+        final Object account = new Object();
+        for (final String event : new String[]{"account.logged_in.account", "account.logged_out.account"}) {
+            final ResourceManager manager = AzureManagerPool.get(account, SUBSCRIPTION, ResourceManager.class, this::createManager);
+            assertEquals(1, AzureManagerPool.size());
+            AzureEventBus.emit(event, account);
+            await(() -> AzureManagerPool.size() == 0);
+            assertNotSame(manager, AzureManagerPool.get(account, SUBSCRIPTION, ResourceManager.class, this::createManager));
+            AzureManagerPool.invalidate();
+        }
+    }
+
+    private ResourceManager createManager() {
+        this.created.incrementAndGet();
+        return ResourceManager.configure().withHttpClient(httpClient).authenticate(credential, profile).withSubscription(SUBSCRIPTION);
+    }
+}
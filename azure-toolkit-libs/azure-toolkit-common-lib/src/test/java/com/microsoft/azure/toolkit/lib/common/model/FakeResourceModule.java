@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import com.azure.core.util.paging.ContinuablePage;
+import com.microsoft.azure.toolkit.lib.common.model.page.ItemPage;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * in-memory stand-in of a module whose remotes are listed by pages of {@link #pageSize}.
+ */
+class FakeResourceModule extends AbstractAzResourceModule<FakeResourceModule.FakeResource, AzResource.None, FakeResourceModule.FakeRemote> {
+    final Map<String, FakeRemote> remotes = new ConcurrentSkipListMap<>();
+    final AtomicInteger loadedPages = new AtomicInteger();
+    final AtomicInteger loadedRemotes = new AtomicInteger();
+    int pageSize = 100;
+    boolean versioned = true;
+    /**
+     * expiries of remotes of new resources, see {@link AbstractAzResource#setRemoteExpiry(Duration, Duration)}
+     */
+    @Nullable
+    Pair<Duration, Duration> remoteExpiry;
+    volatile long loadDelay;
+
+    FakeResourceModule() {
+        super("fakes", AzResource.NONE);
+    }
+
+    void put(@Nonnull String name, @Nonnull String resourceGroup, @Nonnull String version) {
+        this.remotes.put(name, new FakeRemote(name, resourceGroup, version));
+    }
+
+    @Nonnull
+    @Override
+    public String toResourceId(@Nonnull String resourceName, @Nullable String resourceGroup) {
+        return String.format("/subscriptions/%s/resourceGroups/%s/providers/Fake.Provider/fakes/%s", Subscription.MOCK_SUBSCRIPTION_ID,
+            StringUtils.firstNonBlank(resourceGroup, "rg"), resourceName);
+    }
+
+    @Nonnull
+    @Override
+    protected Iterator<? extends ContinuablePage<String, FakeRemote>> loadResourcePagesFromAzure() {
+        final List<FakeRemote> all = new ArrayList<>(this.remotes.values());
+        return new Iterator<ItemPage<FakeRemote>>() {
+            private int start = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.start < all.size();
+            }
+
+            @Override
+            public ItemPage<FakeRemote> next() {
+                final List<FakeRemote> page = all.subList(this.start, Math.min(this.start + pageSize, all.size()));
+                this.start += pageSize;
+                loadedPages.incrementAndGet();
+                return new ItemPage<>(page);
+            }
+        };
+    }
+
+    @Nullable
+    @Override
+    protected FakeRemote loadResourceFromAzure(@Nonnull String name, @Nullable String resourceGroup) {
+        this.loadedRemotes.incrementAndGet();
+        try {
+            Thread.sleep(this.loadDelay);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return this.remotes.get(name);
+    }
+
+    @Nullable
+    @Override
+    protected String getRemoteVersion(@Nonnull FakeRemote remote) {
+        return this.versioned ? remote.version : null;
+    }
+
+    @Nonnull
+    @Override
+    protected FakeResource newResource(@Nonnull FakeRemote remote) {
+        return new FakeResource(remote.name, remote.resourceGroup, this);
+    }
+
+    @Nonnull
+    @Override
+    protected FakeResource newResource(@Nonnull String name, @Nullable String resourceGroupName) {
+        return new FakeResource(name, StringUtils.firstNonBlank(resourceGroupName, "rg"), this);
+    }
+
+    static class FakeRemote {
+        final String name;
+        final String resourceGroup;
+        final String version;
+
+        FakeRemote(@Nonnull String name, @Nonnull String resourceGroup, @Nonnull String version) {
+            this.name = name;
+            this.resourceGroup = resourceGroup;
+            this.version = version;
+        }
+    }
+
+    static class FakeResource extends AbstractAzResource<FakeResource, AzResource.None, FakeRemote> {
+        final AtomicInteger synced = new AtomicInteger();
+
+        FakeResource(@Nonnull String name, @Nonnull String resourceGroupName, @Nonnull FakeResourceModule module) {
+            super(name, resourceGroupName, module);
+            Optional.ofNullable(module.remoteExpiry).ifPresent(e -> this.setRemoteExpiry(e.getLeft(), e.getRight()));
+        }
+
+        @Override
+        protected void setRemote(FakeRemote remote) {
+            if (remote != null) {
+                this.synced.incrementAndGet();
+            }
+            super.setRemote(remote);
+        }
+
+        @Nonnull
+        @Override
+        protected String loadStatus(@Nonnull FakeRemote remote) {
+            return Status.RUNNING;
+        }
+
+        @Nonnull
+        @Override
+        public List<AbstractAzResourceModule<?, ?, ?>> getSubModules() {
+            return Collections.emptyList();
+        }
+    }
+}
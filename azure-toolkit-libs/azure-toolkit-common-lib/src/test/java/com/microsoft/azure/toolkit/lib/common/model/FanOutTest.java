@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FanOutTest {
+    private static final List<String> SUBSCRIPTIONS = Arrays.asList("s1", "s2", "s3", "s4", "s5", "s6", "s7", "s8");
+
+    @Test
+    public void concurrentInStableOrder() {
+        final long start = System.nanoTime();
+        final List<String> result = FanOut.list(SUBSCRIPTIONS, Function.identity(), s -> {
+            sleep(200 - 20 * Integer.parseInt(s.substring(1))); // later subscriptions finish first
+            return Arrays.asList(s + "/a", s + "/b");
+        });
+        final long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        assertEquals(16, result.size());
+        assertEquals("s1/a", result.get(0));
+        assertEquals("s8/b", result.get(15));
+        assertTrue("subscriptions should be listed concurrently, took " + elapsed + "ms", elapsed < 800);
+    }
+
+    @Test
+    public void partialFailuresAndTimeouts() {
+        final List<String> result = FanOut.list(SUBSCRIPTIONS, Function.identity(), s -> {
+            if (s.equals("s2")) {
+                throw new IllegalStateException("forbidden");
+            }
+            if (s.equals("s5")) {
+                sleep(5000);
+            }
+            return Collections.singletonList(s);
+        }, Duration.ofMillis(300));
+        assertEquals(Arrays.asList("s1", "s3", "s4", "s6", "s7", "s8"), result);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void allFailed() {
+        FanOut.list(SUBSCRIPTIONS, Function.identity(), s -> {
+            throw new IllegalStateException("forbidden");
+        });
+    }
+
+    @Test
+    public void nested() {
+        // more outer listings than threads, inner fan-outs run inline instead of waiting for the pool
+        final List<String> outer = Collections.nCopies(64, "s");
+        final List<String> result = FanOut.list(outer, Function.identity(), s -> FanOut.list(SUBSCRIPTIONS, Function.identity(), Collections::singletonList));
+        assertEquals(64 * SUBSCRIPTIONS.size(), result.size());
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
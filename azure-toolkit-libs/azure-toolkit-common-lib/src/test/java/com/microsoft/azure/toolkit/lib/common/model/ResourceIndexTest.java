@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResourceIndexTest {
+    private static final String RG1 = "/subscriptions/s/resourcegroups/rg1/providers/p/fakes/";
+    private static final String RG2 = "/subscriptions/s/resourcegroups/rg2/providers/p/fakes/";
+
+    private final ResourceIndex<String> index = new ResourceIndex<>();
+
+    @Test
+    public void listInInsertionOrder() {
+        this.index.put(RG1 + "b", Optional.of("b"));
+        this.index.put(RG2 + "a", Optional.of("a"));
+        this.index.put(RG1 + "c", Optional.empty());
+        this.index.put(RG1 + "b", Optional.of("b2")); // keeps its position
+        assertEquals(Arrays.asList("b2", "a"), this.index.list());
+        assertTrue(this.index.containsKey(RG1 + "c"));
+        assertFalse(this.index.get(RG1 + "c").isPresent());
+
+        this.index.removeAbsent();
+        assertFalse(this.index.containsKey(RG1 + "c"));
+        assertEquals(Optional.of("a"), this.index.remove(RG2 + "a"));
+        assertNull(this.index.remove(RG2 + "a"));
+        assertEquals(Collections.singletonList("b2"), this.index.list());
+    }
+
+    @Test
+    public void listByResourceGroupInIds() {
+        this.index.put(RG1 + "a", Optional.of("a"));
+        this.index.put(RG2 + "b", Optional.of("b"));
+        this.index.put(RG1 + "c", Optional.of("c"));
+        this.index.put("/subscriptions/s/resourcegroups/rg3", Optional.of("rg3"));
+        this.index.put("/subscriptions/s", Optional.of("s"));
+        assertEquals(Arrays.asList("a", "c"), this.index.listByResourceGroup("RG1"));
+        assertEquals(Collections.singletonList("b"), this.index.listByResourceGroup("rg2"));
+        assertEquals(Collections.singletonList("rg3"), this.index.listByResourceGroup("rg3"));
+        assertEquals(Collections.emptyList(), this.index.listByResourceGroup("rg4"));
+    }
+
+    @Test
+    public void reuseUnmodifiableSnapshots() {
+        this.index.put(RG1 + "a", Optional.of("a"));
+        final List<String> list = this.index.list();
+        assertSame("snapshot should be reused if nothing changed", list, this.index.list());
+        assertSame(this.index.listByResourceGroup("rg1"), this.index.listByResourceGroup("rg1"));
+        try {
+            list.add("b");
+            fail("snapshot should be unmodifiable");
+        } catch (final UnsupportedOperationException ignored) {
+        }
+        try {
+            this.index.listByResourceGroup("rg1").clear();
+            fail("snapshot should be unmodifiable");
+        } catch (final UnsupportedOperationException ignored) {
+        }
+
+        this.index.put(RG1 + "b", Optional.of("b"));
+        assertEquals("snapshot should not be changed by later mutations", Collections.singletonList("a"), list);
+        assertEquals(Arrays.asList("a", "b"), this.index.list());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.model.page;
+
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PrefetchingPageIteratorTest {
+    private final AtomicInteger fetched = new AtomicInteger();
+    /**
+     * fetching of a page waits for its latch if any.
+     */
+    private final Map<Integer, CountDownLatch> blocking = new ConcurrentHashMap<>();
+
+    @Test
+    public void noPrefetchingForFirstPage() throws InterruptedException {
+        final PrefetchingPageIterator<Integer> pages = new PrefetchingPageIterator<>(this.pages(5, -1), 2);
+        assertEquals(1, (int) pages.next());
+        Thread.sleep(200);
+        assertEquals("only the first page should be fetched", 1, this.fetched.get());
+    }
+
+    @Test
+    public void prefetchAfterSecondPage() throws InterruptedException {
+        final PrefetchingPageIterator<Integer> pages = new PrefetchingPageIterator<>(this.pages(5, -1), 2);
+        assertEquals(1, (int) pages.next());
+        assertEquals(2, (int) pages.next());
+        this.await(4);
+        final List<Integer> rest = new ArrayList<>();
+        pages.forEachRemaining(rest::add);
+        assertEquals(Arrays.asList(3, 4, 5), rest);
+        assertFalse(pages.hasNext());
+    }
+
+    @Test
+    public void handOverPagesOneByOne() throws InterruptedException, ExecutionException, TimeoutException {
+        final CountDownLatch page3 = new CountDownLatch(1);
+        final CountDownLatch page4 = new CountDownLatch(1);
+        this.blocking.put(3, page3);
+        this.blocking.put(4, page4);
+        final PrefetchingPageIterator<Integer> pages = new PrefetchingPageIterator<>(this.pages(5, -1), 3);
+        pages.next();
+        pages.next();
+        this.await(3); // page 3 is being fetched
+        final CompletableFuture<Integer> next = CompletableFuture.supplyAsync(pages::next);
+        Thread.sleep(100);
+        page3.countDown();
+        assertEquals("waiting consumer should get the page as soon as it's fetched", 3, (int) next.get(2, TimeUnit.SECONDS));
+        page4.countDown();
+        assertEquals(4, (int) pages.next());
+        assertEquals(5, (int) pages.next());
+        assertFalse(pages.hasNext());
+    }
+
+    @Test
+    public void noPrefetchingIfDisabled() throws InterruptedException {
+        final PrefetchingPageIterator<Integer> pages = new PrefetchingPageIterator<>(this.pages(5, -1), 0);
+        pages.next();
+        pages.next();
+        Thread.sleep(200);
+        assertEquals(2, this.fetched.get());
+    }
+
+    @Test
+    public void rethrowPrefetchingFailure() throws InterruptedException {
+        final PrefetchingPageIterator<Integer> pages = new PrefetchingPageIterator<>(this.pages(5, 3), 1);
+        pages.next();
+        pages.next();
+        this.await(3);
+        assertTrue(pages.hasNext());
+        try {
+            pages.next();
+            fail("failure of prefetching should be thrown");
+        } catch (final IllegalStateException e) {
+            assertEquals("page 3", e.getMessage());
+        }
+    }
+
+    private void await(int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (this.fetched.get() < count) {
+            assertTrue("pages are not prefetched in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * @param failing the page that fails to be fetched, -1 if none
+     */
+    @Nonnull
+    private Iterator<Integer> pages(int count, int failing) {
+        return new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return fetched.get() < count;
+            }
+
+            @Override
+            public Integer next() {
+                final int page = fetched.incrementAndGet();
+                final CountDownLatch latch = blocking.get(page);
+                if (latch != null) {
+                    try {
+                        latch.await(5, TimeUnit.SECONDS);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                if (page == failing) {
+                    throw new IllegalStateException("page " + page);
+                }
+                return page;
+            }
+        };
+    }
+}
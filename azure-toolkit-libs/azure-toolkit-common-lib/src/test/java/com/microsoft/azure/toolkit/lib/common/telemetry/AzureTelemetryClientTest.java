@@ -32,4 +32,12 @@ public class AzureTelemetryClientTest extends AzureTelemetryClient {
         assert StringUtils.equals(map.get("fake-github-token"), "<REDACTED: GitHub Token>");
         assert StringUtils.equals(map.get("fake-cli-credential"), "<REDACTED: CLI Credentials>");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void anonymizeByPatternPriority() {
+        // the secret pattern matches first from the left, but email has higher priority
+        assert StringUtils.equals(anonymizePiiData("token: no-reply@example.com"), "<REDACTED: Email>");
+        assert StringUtils.equals(anonymizePiiData("xoxp-FAKE key=FAKE"), "<REDACTED: Generic Secret>"); // [SuppressMessage("Microsoft.Security", "CS001:SecretInline", Justification="fake credential for test case")]
+        assert StringUtils.equals(anonymizePiiData("nothing to hide"), "nothing to hide");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.telemetry;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AzureTelemetryPipelineTest {
+    @Test
+    public void sendInBatchesWithPiiAnonymized() throws InterruptedException {
+        final List<List<AzureTelemetryPipeline.Event>> batches = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AzureTelemetryPipeline pipeline = new AzureTelemetryPipeline(b -> {
+            batches.add(new ArrayList<>(b));
+            latch.countDown();
+        }, 16, 2, 100);
+        for (int i = 0; i < 3; i++) {
+            final Map<String, String> properties = new HashMap<>();
+            properties.put("email", "no-reply@example.com");
+            assertTrue(pipeline.offer(new AzureTelemetryPipeline.Event("event" + i, properties, null)));
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(2, batches.get(0).size()); // flushed by size
+        assertEquals(1, batches.get(1).size()); // flushed by time
+        assertEquals("<REDACTED: Email>", batches.get(0).get(0).getProperties().get("email"));
+        pipeline.flush(); // waits for the batch being sent
+        assertEquals(3, pipeline.getSentCount());
+    }
+
+    @Test
+    public void flushEventsWaitingForBatch() {
+        final List<String> names = Collections.synchronizedList(new ArrayList<>());
+        final AzureTelemetryPipeline pipeline = new AzureTelemetryPipeline(b -> b.forEach(e -> names.add(e.getName())), 16, 32, 5000);
+        for (int i = 0; i < 100; i++) {
+            names.clear();
+            assertTrue(pipeline.offer(new AzureTelemetryPipeline.Event("last" + i, new HashMap<>(), null)));
+            pipeline.flush();
+            assertEquals(Collections.singletonList("last" + i), names);
+        }
+    }
+
+    @Test
+    public void dropOnOverflow() throws InterruptedException {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final AzureTelemetryPipeline pipeline = new AzureTelemetryPipeline(b -> {
+            try {
+                blocked.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 2, 1, 100);
+        pipeline.offer(new AzureTelemetryPipeline.Event("sending", new HashMap<>(), null));
+        Thread.sleep(200); // wait until the first event is taken by the batcher
+        assertTrue(pipeline.offer(new AzureTelemetryPipeline.Event("buffered1", new HashMap<>(), null)));
+        assertTrue(pipeline.offer(new AzureTelemetryPipeline.Event("buffered2", new HashMap<>(), null)));
+        assertFalse(pipeline.offer(new AzureTelemetryPipeline.Event("dropped", new HashMap<>(), null)));
+        assertEquals(1, pipeline.getDroppedCount());
+        blocked.countDown();
+    }
+}
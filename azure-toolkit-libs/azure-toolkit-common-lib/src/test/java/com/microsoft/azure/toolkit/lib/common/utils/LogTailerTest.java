@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+
+public class LogTailerTest {
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-");
+    // a line and a multibyte character are split across appends
+    private static final List<String> CHUNKS = Arrays.asList("step 1\nstep 2\nst", "ep 3 hé", "llo\r\n", "", "step 4\nno newline at end");
+    private static final List<String> LINES = Arrays.asList("step 1", "step 2", "step 3 héllo", "step 4", "no newline at end");
+
+    private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile boolean rangeSupported = true;
+    private HttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/log", this::serve);
+        this.server.start();
+    }
+
+    @After
+    public void tearDown() {
+        this.server.stop(0);
+    }
+
+    @Test
+    public void tailWithRange() throws InterruptedException {
+        assertEquals(LINES, this.tail());
+        assertEquals("only appended bytes should be transferred", this.log.size(), this.served.get());
+    }
+
+    @Test
+    public void tailWithoutRange() throws InterruptedException {
+        this.rangeSupported = false;
+        assertEquals(LINES, this.tail());
+    }
+
+    @Nonnull
+    private List<String> tail() throws InterruptedException {
+        final String url = String.format("http://127.0.0.1:%d/log", this.server.getAddress().getPort());
+        final List<String> lines = new ArrayList<>();
+        final Thread writer = new Thread(() -> {
+            try {
+                for (final String chunk : CHUNKS) {
+                    Thread.sleep(50);
+                    this.append(chunk);
+                }
+            } catch (final InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            this.completed.set(true);
+        });
+        writer.start();
+        LogTailer.builder().url(url).completed(this.completed::get).minInterval(Duration.ofMillis(10)).maxInterval(Duration.ofMillis(40))
+            .build().tail(true).doOnNext(lines::add).blockLast(Duration.ofSeconds(30));
+        writer.join();
+        return lines;
+    }
+
+    private void append(@Nonnull final String chunk) {
+        synchronized (this.log) {
+            final byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+            this.log.write(bytes, 0, bytes.length);
+        }
+    }
+
+    private void serve(@Nonnull final HttpExchange exchange) throws IOException {
+        final byte[] content;
+        synchronized (this.log) {
+            content = this.log.toByteArray();
+        }
+        final String range = exchange.getRequestHeaders().getFirst("Range");
+        final Matcher matcher = RANGE.matcher(range == null ? "" : range);
+        int from = 0;
+        int code = 200;
+        if (this.rangeSupported && matcher.matches()) {
+            from = Integer.parseInt(matcher.group(1));
+            code = 206;
+            if (from >= content.length) {
+                exchange.sendResponseHeaders(416, -1);
+                exchange.close();
+                return;
+            }
+        }
+        exchange.sendResponseHeaders(code, content.length - from);
+        try (final OutputStream out = exchange.getResponseBody()) {
+            out.write(content, from, content.length - from);
+        }
+        this.served.addAndGet(content.length - from);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TailingDebouncerTest {
+    /**
+     * e.g. {@code BENCHMARK=true} to run micro-benchmarks, which are skipped by default since they depend on the JVM.
+     */
+    private static final boolean BENCHMARK = Boolean.parseBoolean(System.getenv("BENCHMARK"));
+
+    @Test
+    public void debounce() throws InterruptedException {
+        final AtomicInteger count = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final TailingDebouncer debouncer = new TailingDebouncer(() -> {
+            count.incrementAndGet();
+            latch.countDown();
+        }, 100);
+        for (int i = 0; i < 1000; i++) {
+            debouncer.debounce();
+        }
+        assertTrue(debouncer.isPending());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertEquals(1, count.get());
+        assertFalse(debouncer.isPending());
+
+        final CountDownLatch again = new CountDownLatch(1);
+        new TailingDebouncer(again::countDown, 10).debounce();
+        assertTrue(again.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        final AtomicInteger count = new AtomicInteger();
+        final TailingDebouncer debouncer = new TailingDebouncer(count::incrementAndGet, 50);
+        debouncer.debounce();
+        debouncer.cancel();
+        assertFalse(debouncer.isPending());
+        Thread.sleep(200);
+        assertEquals(0, count.get());
+    }
+
+    @Test
+    public void deferRunWhileRunning() throws InterruptedException {
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(2);
+        final TailingDebouncer debouncer = new TailingDebouncer(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            sleep(300);
+            running.decrementAndGet();
+            count.incrementAndGet();
+            completed.countDown();
+        }, 10);
+        debouncer.debounce();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        debouncer.debounce(); // due long before the current run completes
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals("runs should not overlap", 1, maxRunning.get());
+        assertEquals(2, count.get());
+        assertFalse(debouncer.isPending());
+    }
+
+    /**
+     * micro-benchmark of the allocation of debouncing a pending debouncer, which should be (nearly) zero.
+     */
+    @Test
+    public void allocationPerDebounce() {
+        Assume.assumeTrue(BENCHMARK && ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final TailingDebouncer debouncer = new TailingDebouncer(() -> {
+        }, 60_000);
+        final int warmup = 200_000;
+        final int calls = 1_000_000;
+        for (int i = 0; i < warmup; i++) {
+            debouncer.debounce();
+        }
+        final long thread = Thread.currentThread().getId();
+        final long before = bean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < calls; i++) {
+            debouncer.debounce();
+        }
+        final double perCall = (bean.getThreadAllocatedBytes(thread) - before) / (double) calls;
+        debouncer.cancel();
+        // tolerant of allocations of the jvm itself (e.g. jit, safepoints) and of interpreted calls before being compiled
+        assertTrue("allocated " + perCall + " bytes per debounce() call", perCall < 8);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
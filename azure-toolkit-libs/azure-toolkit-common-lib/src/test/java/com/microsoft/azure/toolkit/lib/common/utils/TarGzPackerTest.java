@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TarGzPackerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void ignoreRules() {
+        final IgnoreRules docker = IgnoreRules.parse(Arrays.asList("# comment", "target/", "*.log", "!important.log", "docs/**/*.md"), true);
+        assertTrue(docker.isIgnored("target", true));
+        assertTrue(docker.isIgnored("target/app.jar", false));
+        assertFalse(docker.isIgnored("src/target", true));
+        assertTrue(docker.isIgnored("debug.log", false));
+        assertFalse(docker.isIgnored("logs/debug.log", false));
+        assertFalse(docker.isIgnored("important.log", false));
+        assertTrue(docker.isIgnored("docs/a/b/readme.md", false));
+        assertTrue(docker.isIgnored("docs/readme.md", false));
+        assertFalse(docker.canSkipIgnoredDirectory());
+
+        final IgnoreRules git = IgnoreRules.parse(Arrays.asList("*.log", "build/", "/root.txt"), false);
+        assertTrue(git.isIgnored("logs/debug.log", false));
+        assertTrue(git.isIgnored("module/build/classes/A.class", false));
+        assertFalse(git.isIgnored("module/build", false));
+        assertTrue(git.isIgnored("root.txt", false));
+        assertFalse(git.isIgnored("sub/root.txt", false));
+    }
+
+    @Test
+    public void keepArchiveValidIfFileFailsToBeRead() throws IOException {
+        final Path a = this.folder.newFile("a.txt").toPath();
+        Files.write(a, "0123456789".getBytes(StandardCharsets.UTF_8));
+        final Path b = this.folder.newFile("b.txt").toPath();
+        Files.write(b, "b".getBytes(StandardCharsets.UTF_8));
+        final Path directory = this.folder.newFolder("d").toPath(); // can be opened but not read on linux
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteBuffer buffer = ByteBuffer.allocate(4);
+        try (final TarArchiveOutputStream tOut = new TarArchiveOutputStream(out)) {
+            assertFalse(TarGzPacker.addFile(tOut, directory, "a.txt", Files.readAttributes(a, BasicFileAttributes.class), buffer));
+            assertTrue(TarGzPacker.addFile(tOut, b, "b.txt", Files.readAttributes(b, BasicFileAttributes.class), buffer));
+        }
+        final Map<String, byte[]> entries = new HashMap<>();
+        try (final TarArchiveInputStream in = new TarArchiveInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            TarArchiveEntry entry;
+            while ((entry = in.getNextTarEntry()) != null) {
+                entries.put(entry.getName(), IOUtils.toByteArray(in));
+            }
+        }
+        assertArrayEquals("b".getBytes(StandardCharsets.UTF_8), entries.get("b.txt"));
+        if (entries.containsKey("a.txt")) {
+            assertArrayEquals("entry failed to be read should be padded to its size", new byte[10], entries.get("a.txt"));
+        }
+    }
+
+    @Test
+    public void pack() throws IOException {
+        final Path source = folder.newFolder("source").toPath();
+        final byte[] random = new byte[300 * 1024];
+        new Random(0).nextBytes(random);
+        final byte[] text = String.join("\n", Collections.nCopies(50_000, "hello azure")).getBytes(StandardCharsets.UTF_8);
+        write(source.resolve("random.bin"), random);
+        write(source.resolve("src/main/App.java"), text);
+        write(source.resolve("src/main/empty.txt"), new byte[0]);
+        write(source.resolve("target/app.jar"), random);
+        write(source.resolve("debug.log"), text);
+        write(source.resolve(".git/HEAD"), text);
+        write(source.resolve(".dockerignore"), "target\n*.log\n".getBytes(StandardCharsets.UTF_8));
+
+        final Path archive = TarGzPacker.builder().parallelism(4).blockSize(64 * 1024)
+            .ignoreFile(IgnoreRules.DOCKER_IGNORE).ignore(p -> p.getFileName().toString().equals(".git")).build()
+            .pack(source);
+        final Map<String, byte[]> entries = new HashMap<>();
+        try (final InputStream in = new GZIPInputStream(Files.newInputStream(archive));
+             final TarArchiveInputStream tar = new TarArchiveInputStream(in)) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextTarEntry()) != null) {
+                entries.put(entry.getName(), IOUtils.toByteArray(tar));
+            }
+        } finally {
+            Files.delete(archive);
+        }
+        assertEquals(4, entries.size());
+        assertArrayEquals(random, entries.get("random.bin"));
+        assertArrayEquals(text, entries.get("src/main/App.java"));
+        assertEquals(0, entries.get("src/main/empty.txt").length);
+        assertTrue(entries.containsKey(".dockerignore"));
+    }
+
+    @Test
+    public void packDockerfileEvenIfIgnored() throws IOException {
+        final Path source = folder.newFolder("source").toPath();
+        write(source.resolve("Dockerfile"), "FROM scratch".getBytes(StandardCharsets.UTF_8));
+        write(source.resolve("target/app.jar"), new byte[]{1});
+        write(source.resolve("target/app.war"), new byte[]{2});
+        write(source.resolve("src/Dockerfile"), new byte[]{3});
+        write(source.resolve(".dockerignore"), "*\n!target/*.jar\n".getBytes(StandardCharsets.UTF_8));
+
+        final Path archive = TarGzPacker.builder().ignoreFile(IgnoreRules.DOCKER_IGNORE).build().pack(source);
+        final Set<String> entries = new HashSet<>();
+        try (final InputStream in = new GZIPInputStream(Files.newInputStream(archive));
+             final TarArchiveInputStream tar = new TarArchiveInputStream(in)) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextTarEntry()) != null) {
+                entries.add(entry.getName());
+            }
+        } finally {
+            Files.delete(archive);
+        }
+        assertEquals(new HashSet<>(Arrays.asList("Dockerfile", ".dockerignore", "target/app.jar")), entries);
+    }
+
+    private static void write(final Path path, final byte[] content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.common.utils.aspect;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MethodTemplateTest {
+    private static final String[] NAMES = {"subscriptionId", "name", "count"};
+
+    @Test
+    public void renderParameterOnlyTemplatesLikeGroovy() throws NoSuchMethodException {
+        final JoinPoint point = joinPoint("sub", "app", 3);
+        for (final String template : new String[]{"literal", "$subscriptionId", "${subscriptionId}/${name}", "${ name }-$count",
+            "list $name in $subscriptionId", "$name:"}) {
+            final MethodTemplate compiled = MethodTemplate.compile(template, NAMES);
+            assertTrue(template, compiled.isParameterOnly());
+            assertEquals(template, ExpressionUtils.render(template, MethodInvocation.from(point)), compiled.render(point));
+        }
+        final JoinPoint nulls = joinPoint(null, "app", 0);
+        assertEquals(ExpressionUtils.render("$subscriptionId/$name", MethodInvocation.from(nulls)),
+            MethodTemplate.compile("$subscriptionId/$name", NAMES).render(nulls));
+    }
+
+    @Test
+    public void fallbackToGroovy() throws NoSuchMethodException {
+        final JoinPoint point = joinPoint("sub", "app", 3);
+        final String[][] cases = {
+            {"${this.prefix}-$name", "p-app"},
+            {"${name.length()}", "3"},
+            {"${count + 1}", "4"},
+            {"${nameFromResourceId('/subscriptions/s/resourceGroups/rg/providers/p/sites/app1')}", "app1"},
+            {"<% print name %>$count", "app3"},
+        };
+        for (final String[] c : cases) {
+            final MethodTemplate compiled = MethodTemplate.compile(c[0], NAMES);
+            assertFalse(c[0], compiled.isParameterOnly());
+            assertEquals(c[0], c[1], compiled.render(point));
+        }
+    }
+
+    @Nonnull
+    private static JoinPoint joinPoint(Object... args) throws NoSuchMethodException {
+        final Method method = Sample.class.getDeclaredMethod("list", String.class, String.class, int.class);
+        final MethodSignature signature = (MethodSignature) Proxy.newProxyInstance(MethodTemplateTest.class.getClassLoader(),
+            new Class[]{MethodSignature.class}, (proxy, m, a) -> {
+                switch (m.getName()) {
+                    case "getMethod":
+                        return method;
+                    case "getParameterNames":
+                        return NAMES;
+                    default:
+                        throw new UnsupportedOperationException(m.getName());
+                }
+            });
+        final Sample instance = new Sample();
+        return (JoinPoint) Proxy.newProxyInstance(MethodTemplateTest.class.getClassLoader(), new Class[]{JoinPoint.class}, (proxy, m, a) -> {
+            switch (m.getName()) {
+                case "getSignature":
+                    return signature;
+                case "getArgs":
+                    return args;
+                case "getThis":
+                    return instance;
+                default:
+                    throw new UnsupportedOperationException(m.getName());
+            }
+        });
+    }
+
+    public static class Sample {
+        public String getPrefix() {
+            return "p";
+        }
+
+        @SuppressWarnings("unused")
+        public String list(String subscriptionId, String name, int count) {
+            return subscriptionId + name + count;
+        }
+    }
+}
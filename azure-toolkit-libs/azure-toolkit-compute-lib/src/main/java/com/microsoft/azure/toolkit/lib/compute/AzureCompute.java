@@ -16,6 +16,7 @@ import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.cache.Cacheable;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 import com.microsoft.azure.toolkit.lib.common.model.Region;
 import com.microsoft.azure.toolkit.lib.compute.virtualmachine.VirtualMachine;
 import com.microsoft.azure.toolkit.lib.compute.virtualmachine.VirtualMachineModule;
@@ -29,7 +30,6 @@ import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class AzureCompute extends AbstractAzService<ComputeServiceSubscription, ComputeManager> {
@@ -40,6 +40,11 @@ public class AzureCompute extends AbstractAzService<ComputeServiceSubscription,
     @Nonnull
     @Override
     protected ComputeManager loadResourceFromAzure(@Nonnull String subscriptionId, String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, ComputeManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private ComputeManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final AzureConfiguration config = Azure.az().config();
         final String userAgent = config.getUserAgent();
@@ -67,7 +72,7 @@ public class AzureCompute extends AbstractAzService<ComputeServiceSubscription,
 
     @Nonnull
     public List<VirtualMachine> virtualMachines() {
-        return this.list().stream().flatMap(m -> m.getVirtualMachineModule().list().stream()).collect(Collectors.toList());
+        return this.listInSubscriptions(m -> m.getVirtualMachineModule().list());
     }
 
     @Nullable
@@ -13,6 +13,7 @@ import com.microsoft.azure.toolkit.lib.AzureConfiguration;
 import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.network.networksecuritygroup.NetworkSecurityGroupModule;
 import com.microsoft.azure.toolkit.lib.network.publicipaddress.PublicIpAddressModule;
@@ -52,6 +53,11 @@ public class AzureNetwork extends AbstractAzService<NetworkServiceSubscription,
     @Nonnull
     @Override
     protected NetworkManager loadResourceFromAzure(@Nonnull String subscriptionId, String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, NetworkManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private NetworkManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final AzureConfiguration config = Azure.az().config();
         final String userAgent = config.getUserAgent();
@@ -9,7 +9,6 @@ import com.azure.core.http.policy.HttpLogDetailLevel;
 import com.azure.core.http.policy.HttpLogOptions;
 import com.azure.core.management.profile.AzureProfile;
 import com.azure.resourcemanager.appcontainers.ContainerAppsApiManager;
-import com.azure.resourcemanager.resources.ResourceManager;
 import com.azure.resourcemanager.resources.fluentcore.policy.ProviderRegistrationPolicy;
 import com.azure.resourcemanager.resources.models.Providers;
 import com.microsoft.azure.toolkit.lib.Azure;
@@ -18,6 +17,7 @@ import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 import com.microsoft.azure.toolkit.lib.containerapps.containerapp.ContainerAppModule;
 import com.microsoft.azure.toolkit.lib.containerapps.environment.ContainerAppsEnvironmentModule;
 
@@ -51,6 +51,11 @@ public class AzureContainerApps extends AbstractAzService<AzureContainerAppsServ
     @Nullable
     @Override
     protected ContainerAppsApiManager loadResourceFromAzure(@Nonnull String subscriptionId, @Nullable String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, ContainerAppsApiManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private ContainerAppsApiManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final String tenantId = account.getSubscription(subscriptionId).getTenantId();
         final AzureConfiguration config = Azure.az().config();
@@ -59,11 +64,7 @@ public class AzureContainerApps extends AbstractAzService<AzureContainerAppsServ
         logOptions.setLogLevel(Optional.ofNullable(config.getLogLevel()).map(HttpLogDetailLevel::valueOf).orElse(HttpLogDetailLevel.NONE));
         final AzureProfile azureProfile = new AzureProfile(tenantId, subscriptionId, account.getEnvironment());
         // todo: migrate resource provider related codes to common library
-        final Providers providers = ResourceManager.configure()
-                .withHttpClient(AbstractAzServiceSubscription.getDefaultHttpClient())
-                .withPolicy(AbstractAzServiceSubscription.getUserAgentPolicy(userAgent))
-                .authenticate(account.getTokenCredential(subscriptionId), azureProfile)
-                .withSubscription(subscriptionId).providers();
+        final Providers providers = AbstractAzServiceSubscription.getResourceManager(subscriptionId).providers();
         return ContainerAppsApiManager
                 .configure()
                 .withHttpClient(AbstractAzServiceSubscription.getDefaultHttpClient())
@@ -129,7 +129,7 @@ public class ContainerApp extends AbstractAzResource<ContainerApp, AzureContaine
         if (Objects.nonNull(container)) {
             final ContainerAppDraft.ImageConfig imageConfig = new ContainerAppDraft.ImageConfig(container.image());
             final ContainerRegistry registry = Optional.ofNullable(imageConfig.getAcrRegistryName())
-                .flatMap(name -> Azure.az(AzureContainerRegistry.class).list().stream().flatMap(s -> s.registry().list().stream())
+                .flatMap(name -> Azure.az(AzureContainerRegistry.class).<ContainerRegistry>listInSubscriptions(s -> s.registry().list()).stream()
                     .filter(r -> r.getName().equalsIgnoreCase(name)).findFirst())
                 .orElse(null);
             imageConfig.setContainerRegistry(registry);
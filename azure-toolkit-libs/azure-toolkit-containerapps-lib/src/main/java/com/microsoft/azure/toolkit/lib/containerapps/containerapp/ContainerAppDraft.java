@@ -32,7 +32,8 @@ import com.microsoft.azure.toolkit.lib.common.model.Subscription;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.operation.OperationContext;
 import com.microsoft.azure.toolkit.lib.common.task.AzureTaskManager;
-import com.microsoft.azure.toolkit.lib.common.utils.Utils;
+import com.microsoft.azure.toolkit.lib.common.utils.IgnoreRules;
+import com.microsoft.azure.toolkit.lib.common.utils.TarGzPacker;
 import com.microsoft.azure.toolkit.lib.containerapps.environment.ContainerAppsEnvironment;
 import com.microsoft.azure.toolkit.lib.containerapps.environment.ContainerAppsEnvironmentDraft;
 import com.microsoft.azure.toolkit.lib.containerapps.model.EnvironmentType;
@@ -52,10 +53,12 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -230,8 +233,8 @@ public class ContainerAppDraft extends ContainerApp implements AzResource.Draft<
             // ACR Task is the only way we have for now to build a Dockerfile using Docker.
             AzureMessager.getMessager().warning("Dockerfile detected. Running the build through ACR.");
             final ContainerRegistry registry = getOrCreateRegistry(imageConfig);
-            tarSourceIfNeeded(buildConfig);
-            final RegistryTaskRun run = registry.buildImage(imageConfig.getAcrImageNameWithTag(), buildConfig.getSource());
+            // the source directory is packed while being uploaded
+            final RegistryTaskRun run = registry.buildImage(imageConfig.getAcrImageNameWithTag(), buildConfig.getSource(), getSourcePacker());
             if (Objects.isNull(run)) {
                 throw new AzureToolkitRuntimeException("ACR is not ready, Failed to build image through ACR.");
             }
@@ -253,15 +256,21 @@ public class ContainerAppDraft extends ContainerApp implements AzResource.Draft<
         }
     }
 
+    @SneakyThrows(IOException.class)
     private static void tarSourceIfNeeded(final BuildImageConfig buildConfig) {
         if (Files.isDirectory(buildConfig.source)) {
-            final HashSet<String> ignored = Sets.newHashSet(".git", ".gitignore", ".bzr", "bzrignore", ".hg", ".hgignore", ".svn");
             AzureMessager.getMessager().progress(AzureString.format("Creating tar.gz from %s.", buildConfig.source.getFileName()));
-            final Path sourceTar = Utils.tar(buildConfig.source, (path) -> ignored.contains(path.getFileName().toString()));
+            final Path sourceTar = getSourcePacker().pack(buildConfig.source);
             buildConfig.setSource(sourceTar);
         }
     }
 
+    @Nonnull
+    private static TarGzPacker getSourcePacker() {
+        final HashSet<String> ignored = Sets.newHashSet(".git", ".gitignore", ".bzr", "bzrignore", ".hg", ".hgignore", ".svn");
+        return TarGzPacker.builder().ignore((path) -> ignored.contains(path.getFileName().toString())).ignoreFile(IgnoreRules.DOCKER_IGNORE).build();
+    }
+
     @Nonnull
     private ContainerRegistry getOrCreateRegistry(final ImageConfig config) {
         ContainerRegistry registry = config.getContainerRegistry();
@@ -27,7 +27,11 @@ import com.azure.resourcemanager.appcontainers.models.ManagedEnvironment;
 import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
 import com.azure.resourcemanager.resources.fluentcore.utils.ResourceManagerUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.microsoft.azure.toolkit.lib.Azure;
@@ -50,8 +54,11 @@ import com.microsoft.azure.toolkit.lib.containerapps.AzureContainerAppsServiceSu
 import com.microsoft.azure.toolkit.lib.containerapps.containerapp.ContainerApp;
 import com.microsoft.azure.toolkit.lib.containerapps.model.EnvironmentType;
 import com.microsoft.azure.toolkit.lib.containerapps.model.WorkloadProfile;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
@@ -63,10 +70,14 @@ import org.apache.http.util.EntityUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -75,9 +86,34 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+@Slf4j
 public class ContainerAppsEnvironment extends AbstractAzResource<ContainerAppsEnvironment, AzureContainerAppsServiceSubscription, ManagedEnvironment>
     implements Deletable, StreamingLogSupport {
     private static final ObjectMapper mapper = new ObjectMapper();
+    private static final Duration DEFAULT_BUILD_TOKEN_LIFETIME = Duration.ofMinutes(5);
+    private static final Duration BUILD_TOKEN_REFRESH_AHEAD = Duration.ofMinutes(1);
+    private static final Cache<String, BuildToken> BUILD_TOKENS = Caffeine.newBuilder()
+        .expireAfter(new Expiry<String, BuildToken>() {
+            @Override
+            public long expireAfterCreate(@Nonnull String buildId, @Nonnull BuildToken token, long currentTime) {
+                final Duration ttl = Duration.between(OffsetDateTime.now(), token.expires).minus(BUILD_TOKEN_REFRESH_AHEAD);
+                return Math.max(0, ttl.toNanos());
+            }
+
+            @Override
+            public long expireAfterUpdate(@Nonnull String buildId, @Nonnull BuildToken token, long currentTime, long currentDuration) {
+                return this.expireAfterCreate(buildId, token, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(@Nonnull String buildId, @Nonnull BuildToken token, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        }).build();
+    /**
+     * shared by all uploads, so that connections are pooled instead of a client per upload.
+     */
+    private static final CloseableHttpClient UPLOAD_CLIENT = HttpClients.createDefault();
     public static final Action.Id<ContainerAppsEnvironment> CREATE_CONTAINER_APP = Action.Id.of("user/containerapps.create_container_app");
 
     protected ContainerAppsEnvironment(@Nonnull String name, @Nonnull String resourceGroupName, @Nonnull ContainerAppsEnvironmentModule module) {
@@ -182,10 +218,17 @@ public class ContainerAppsEnvironment extends AbstractAzResource<ContainerAppsEn
         return build;
     }
 
-    // todo: validate expiration of token and add cache based on build
-    @SneakyThrows({MalformedURLException.class, JsonProcessingException.class})
+    /**
+     * the token of a build is cached until shortly before it expires, since it's needed by both uploading and log streaming.
+     */
+    @Nonnull
     private String getImageBuildAuthToken(final BuildResource build) {
+        return BUILD_TOKENS.get(build.id(), id -> this.loadImageBuildAuthToken(build)).token;
+    }
 
+    @Nonnull
+    @SneakyThrows({MalformedURLException.class, JsonProcessingException.class})
+    private BuildToken loadImageBuildAuthToken(final BuildResource build) {
         final ContainerAppsApiManager manager = Objects.requireNonNull(this.getParent().getRemote());
         final String tokenEndpoint = build.tokenEndpoint() + "?api-version=" + manager.serviceClient().getApiVersion();
         final ImmutableMap<String, Object> body = ImmutableMap.of(
@@ -198,19 +241,48 @@ public class ContainerAppsEnvironment extends AbstractAzResource<ContainerAppsEn
         try (final HttpResponse tokenResponse = pipeline.send(tokenRequest).block()) {
             if (Objects.nonNull(tokenResponse) && tokenResponse.getStatusCode() == 200) {
                 final String responseBodyString = tokenResponse.getBodyAsString().block();
-                return mapper.readTree(responseBodyString).get("token").asText();
+                final JsonNode response = mapper.readTree(responseBodyString);
+                final String token = response.get("token").asText();
+                return new BuildToken(token, getExpiration(response, token));
             }
         }
         throw new AzureToolkitRuntimeException("Failed to get token for image build.");
     }
 
+    /**
+     * expiration of the token, from {@code expires} of the response or {@code exp} of the jwt.
+     */
+    @Nonnull
+    private static OffsetDateTime getExpiration(@Nonnull final JsonNode response, @Nonnull final String token) {
+        try {
+            final String expires = Optional.ofNullable(response.get("expires")).map(JsonNode::asText).orElse(null);
+            if (StringUtils.isNotBlank(expires)) {
+                return OffsetDateTime.parse(expires);
+            }
+            final String[] parts = token.split("\\.");
+            if (parts.length == 3) {
+                final JsonNode claims = mapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+                if (claims.hasNonNull("exp")) {
+                    return OffsetDateTime.ofInstant(Instant.ofEpochSecond(claims.get("exp").asLong()), ZoneOffset.UTC);
+                }
+            }
+        } catch (final RuntimeException | IOException e) {
+            log.debug("failed to get expiration of build token", e);
+        }
+        return OffsetDateTime.now().plus(DEFAULT_BUILD_TOKEN_LIFETIME);
+    }
+
     @Nullable
     public String waitForImageBuilding(final BuildResource build) {
         final ImmutableSet<BuildProvisioningState> errorProvisioningStates = ImmutableSet.of(BuildProvisioningState.CANCELED, BuildProvisioningState.FAILED, BuildProvisioningState.DELETING);
         final ImmutableSet<BuildProvisioningState> waitingProvisioningStates = ImmutableSet.of(BuildProvisioningState.CREATING, BuildProvisioningState.UPDATING);
 
+        final ImmutableSet<BuildStatus> completedBuildingStates = ImmutableSet.of(BuildStatus.SUCCEEDED, BuildStatus.FAILED, BuildStatus.CANCELED);
+        // the build is refreshed below, and the token is refreshed before it expires
         final UrlStreamingLog urlStreamingLog = UrlStreamingLog.builder()
-            .authorization("Bearer " + getImageBuildAuthToken(build)).endpoint(build.logStreamEndpoint()).name(build.name()).build();
+            .authorizationSupplier(() -> "Bearer " + getImageBuildAuthToken(build)).endpoint(build.logStreamEndpoint()).name(build.name())
+            .completed(() -> completedBuildingStates.contains(build.buildStatus()) || errorProvisioningStates.contains(build.provisioningState()))
+            .build();
         final Action<StreamingLogSupport> viewLogInToolkit = AzureActionManager.getInstance().getAction(StreamingLogSupport.OPEN_STREAMING_LOG)
             .bind(urlStreamingLog).withLabel("Open streaming logs");
         AzureMessager.getMessager().info(AzureString.format("Waiting for the build %s to be provisioned...", build.name()), viewLogInToolkit);
@@ -266,27 +338,32 @@ public class ContainerAppsEnvironment extends AbstractAzResource<ContainerAppsEn
     }
 
     public void uploadFile(Path tarFile, String uploadEndpoint, String token) {
-        final File dataFile = tarFile.toFile();
-        final String fileName = dataFile.getName();
-
-        try (final CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            final HttpPost request = new HttpPost(uploadEndpoint);
-            request.addHeader("Authorization", "Bearer " + token);
-            final FileBody fileBody = new FileBody(tarFile.toFile());
-            final HttpEntity multipartEntity = MultipartEntityBuilder.create().addPart("file", fileBody).build();
-            request.setEntity(multipartEntity);
-            final CloseableHttpResponse response = httpClient.execute(request);
+        // the upload endpoint accepts only a multipart form, rather than staged blocks
+        final HttpPost request = new HttpPost(uploadEndpoint);
+        request.addHeader("Authorization", "Bearer " + token);
+        final FileBody fileBody = new FileBody(tarFile.toFile());
+        final HttpEntity multipartEntity = MultipartEntityBuilder.create().addPart("file", fileBody).build();
+        request.setEntity(multipartEntity);
+        try (final CloseableHttpResponse response = UPLOAD_CLIENT.execute(request)) {
             final int code = response.getStatusLine().getStatusCode();
+            final HttpEntity responseEntity = response.getEntity();
+            final String responseString = responseEntity != null ? EntityUtils.toString(responseEntity) : null;
             if (code != 200) {
-                final HttpEntity responseEntity = response.getEntity();
-                if (responseEntity != null) {
-                    final String responseString = EntityUtils.toString(responseEntity);
+                if (responseString != null) {
                     throw new AzureToolkitRuntimeException(String.format("Error when uploading artifact/source code, request exited with %s: %s", code, responseString));
                 }
                 throw new AzureToolkitRuntimeException(String.format("Error when uploading artifact/source code, request exited with %s", code));
             }
+        } catch (final AzureToolkitRuntimeException e) {
+            throw e;
         } catch (final Exception e) {
             throw new AzureToolkitRuntimeException("Error when uploading artifact/source code", e);
         }
     }
+
+    @RequiredArgsConstructor
+    private static class BuildToken {
+        private final String token;
+        private final OffsetDateTime expires;
+    }
 }
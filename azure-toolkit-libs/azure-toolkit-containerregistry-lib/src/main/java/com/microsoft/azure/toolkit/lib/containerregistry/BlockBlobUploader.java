@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.containerregistry;
+
+import com.azure.core.util.BinaryData;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import com.microsoft.azure.toolkit.lib.common.utils.TarGzPacker;
+import lombok.Builder;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * uploads a block blob as blocks staged in parallel, and commits the block list at last. each block is retried on its own by the
+ * retry policy of the {@link BlockBlobClient}, so there is no retry here on top of it. the content is
+ * written to an {@link OutputStream}, so that a directory can be uploaded while it's being packed by {@link TarGzPacker}. at most
+ * {@code parallelism + 1} blocks are buffered in memory.
+ */
+@Builder
+public class BlockBlobUploader {
+    public static final int DEFAULT_BLOCK_SIZE = 4 * 1024 * 1024;
+    private static final long PROGRESS_INTERVAL_MILLIS = 1000;
+
+    @Builder.Default
+    private final int blockSize = DEFAULT_BLOCK_SIZE;
+    @Builder.Default
+    private final int parallelism = 4;
+
+    /**
+     * uploads {@code source} to {@code blob}, a directory is packed into tar.gz by {@code packer} while being uploaded.
+     */
+    public void upload(@Nonnull final Path source, @Nonnull final TarGzPacker packer, @Nonnull final BlockBlobClient blob) throws IOException {
+        if (!Files.isDirectory(source)) {
+            this.upload(source, blob);
+            return;
+        }
+        final BlockOutputStream out = this.openOutputStream(blob);
+        try {
+            // the packer closes the stream even if it fails, which must not commit a partial archive
+            packer.pack(source, CloseShieldOutputStream.wrap(out));
+        } catch (final IOException | RuntimeException e) {
+            out.abort();
+            throw e;
+        }
+        out.close();
+    }
+
+    /**
+     * uploads file {@code source} to {@code blob}.
+     */
+    public void upload(@Nonnull final Path source, @Nonnull final BlockBlobClient blob) throws IOException {
+        final BlockOutputStream out = this.openOutputStream(blob);
+        try {
+            Files.copy(source, out);
+        } catch (final IOException | RuntimeException e) {
+            out.abort();
+            throw e;
+        }
+        out.close();
+    }
+
+    /**
+     * @return a stream whose content is staged as blocks of {@code blob} while being written, and committed when the stream is closed.
+     */
+    @Nonnull
+    public BlockOutputStream openOutputStream(@Nonnull final BlockBlobClient blob) {
+        return new BlockOutputStream(blob);
+    }
+
+    public class BlockOutputStream extends OutputStream {
+        private final BlockBlobClient blob;
+        private final ExecutorService pool;
+        private final Semaphore slots = new Semaphore(parallelism);
+        private final Queue<byte[]> buffers = new ConcurrentLinkedQueue<>();
+        private final List<String> blockIds = new ArrayList<>();
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        private final LongAdder uploaded = new LongAdder();
+        private byte[] buffer;
+        private int position;
+        private boolean closed;
+        private long lastReported = System.nanoTime();
+
+        private BlockOutputStream(@Nonnull final BlockBlobClient blob) {
+            this.blob = blob;
+            final AtomicInteger count = new AtomicInteger();
+            this.pool = Executors.newFixedThreadPool(parallelism, r -> {
+                final Thread thread = new Thread(r, "azure-block-upload-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.buffer = new byte[blockSize];
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(@Nonnull final byte[] bytes, int offset, int length) throws IOException {
+            this.ensureOpen();
+            while (length > 0) {
+                final int n = Math.min(length, this.buffer.length - this.position);
+                System.arraycopy(bytes, offset, this.buffer, this.position, n);
+                this.position += n;
+                offset += n;
+                length -= n;
+                if (this.position == this.buffer.length) {
+                    this.stageBuffer();
+                }
+            }
+        }
+
+        /**
+         * stages the remaining content, waits for all blocks to be staged and commits the block list.
+         */
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            try {
+                this.ensureOpen();
+                if (this.position > 0) {
+                    this.stageBuffer();
+                }
+                this.slots.acquire(parallelism); // wait for all staging blocks
+                this.slots.release(parallelism);
+                this.throwIfFailed();
+                this.blob.commitBlockList(this.blockIds, true);
+                AzureMessager.getMessager().progress(AzureString.format("uploaded %s in %s blocks",
+                    FileUtils.byteCountToDisplaySize(this.uploaded.sum()), this.blockIds.size()));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("uploading is interrupted");
+            } catch (final BlobStorageException e) {
+                throw new IOException(String.format("failed to commit block list: %s", e.getMessage()), e);
+            } finally {
+                this.closed = true;
+                this.pool.shutdownNow();
+            }
+        }
+
+        /**
+         * stops uploading without committing, the staged blocks are discarded by the service.
+         */
+        public void abort() {
+            this.closed = true;
+            this.pool.shutdownNow();
+        }
+
+        private void stageBuffer() throws IOException {
+            final String blockId = Base64.getEncoder().encodeToString(String.format("%08d", this.blockIds.size()).getBytes(StandardCharsets.UTF_8));
+            this.blockIds.add(blockId);
+            final byte[] block = this.buffer;
+            final int length = this.position;
+            try {
+                this.slots.acquire();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("uploading is interrupted");
+            }
+            this.pool.execute(() -> {
+                try {
+                    this.stage(blockId, block, length);
+                } catch (final Exception e) {
+                    this.failure.compareAndSet(null, e);
+                } finally {
+                    this.buffers.add(block);
+                    this.slots.release();
+                }
+            });
+            final byte[] reused = this.buffers.poll();
+            this.buffer = reused != null ? reused : new byte[blockSize];
+            this.position = 0;
+            this.reportProgress();
+        }
+
+        private void stage(@Nonnull final String blockId, @Nonnull final byte[] block, final int length) {
+            if (this.failure.get() == null) { // no need to stage the rest if any block failed
+                this.blob.stageBlock(blockId, BinaryData.fromByteBuffer(ByteBuffer.wrap(block, 0, length)));
+                this.uploaded.add(length);
+            }
+        }
+
+        private void reportProgress() {
+            final long now = System.nanoTime();
+            if (now - this.lastReported >= TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MILLIS)) {
+                this.lastReported = now;
+                AzureMessager.getMessager().progress(AzureString.format("uploading: %s", FileUtils.byteCountToDisplaySize(this.uploaded.sum())));
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (this.closed) {
+                throw new IOException("stream is closed");
+            }
+            this.throwIfFailed();
+        }
+
+        private void throwIfFailed() throws IOException {
+            final Exception e = this.failure.get();
+            if (e != null) {
+                throw new IOException(String.format("failed to upload block: %s", e.getMessage()), e);
+            }
+        }
+    }
+}
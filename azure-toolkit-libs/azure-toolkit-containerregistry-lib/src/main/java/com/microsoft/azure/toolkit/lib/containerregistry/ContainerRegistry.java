@@ -5,7 +5,6 @@
 
 package com.microsoft.azure.toolkit.lib.containerregistry;
 
-import com.azure.core.util.BinaryData;
 import com.azure.resourcemanager.containerregistry.ContainerRegistryManager;
 import com.azure.resourcemanager.containerregistry.fluent.models.RegistryInner;
 import com.azure.resourcemanager.containerregistry.models.AccessKeyType;
@@ -30,13 +29,16 @@ import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.Region;
 import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
+import com.microsoft.azure.toolkit.lib.common.utils.IgnoreRules;
 import com.microsoft.azure.toolkit.lib.common.utils.StreamingLogSupport;
+import com.microsoft.azure.toolkit.lib.common.utils.TarGzPacker;
 import com.microsoft.azure.toolkit.lib.containerregistry.model.Sku;
 import lombok.Getter;
 import org.apache.commons.collections4.CollectionUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collections;
@@ -139,13 +141,26 @@ public class ContainerRegistry extends AbstractAzResource<ContainerRegistry, Azu
      * @return image build task run, null if registry is not ready
      */
     @Nullable
-    public RegistryTaskRun buildImage(final String imageNameWithTag, final Path sourceTar) {
+    public RegistryTaskRun buildImage(final String imageNameWithTag, final Path source) {
+        return this.buildImage(imageNameWithTag, source, TarGzPacker.builder().ignoreFile(IgnoreRules.DOCKER_IGNORE).build());
+    }
+
+    /**
+     * @param source tar.gz of the source code, or the source directory which is packed by {@code packer} while being uploaded
+     * @return image build task run, null if registry is not ready
+     */
+    @Nullable
+    public RegistryTaskRun buildImage(final String imageNameWithTag, @Nonnull final Path source, @Nonnull final TarGzPacker packer) {
         return this.remoteOptional().map(r -> {
             // upload tar.gz file
             AzureMessager.getMessager().progress(AzureString.format("Uploading compressed source code to Registry '%s'.", this.getName()));
             final SourceUploadDefinition upload = r.getBuildSourceUploadUrl();
             final BlockBlobClient blobClient = new SpecializedBlobClientBuilder().endpoint(upload.uploadUrl()).buildBlockBlobClient();
-            blobClient.upload(BinaryData.fromFile(sourceTar));
+            try {
+                BlockBlobUploader.builder().build().upload(source, packer, blobClient);
+            } catch (final IOException e) {
+                throw new AzureToolkitRuntimeException(String.format("failed to upload source code to Registry '%s'.", this.getName()), e);
+            }
 
             AzureMessager.getMessager().progress(AzureString.format("Building image '%s' in Registry '%s'.", imageNameWithTag, this.getName()));
             return r.scheduleRun().withLinux().withDockerTaskRunRequest()
@@ -162,7 +177,6 @@ public class ContainerRegistry extends AbstractAzResource<ContainerRegistry, Azu
     @Nullable
     public String waitForImageBuilding(@Nonnull final RegistryTaskRun run) {
         final ImmutableSet<RunStatus> errorStatus = ImmutableSet.of(RunStatus.FAILED, RunStatus.CANCELED, RunStatus.ERROR, RunStatus.TIMEOUT);
-        final ImmutableSet<RunStatus> waitingStatus = ImmutableSet.of(RunStatus.QUEUED, RunStatus.STARTED, RunStatus.RUNNING);
 
         final ContainerRegistryManager registryManager = Objects.requireNonNull(this.getParent().getRemote());
         String logSasUrl = registryManager.registryTaskRuns().getLogSasUrl(this.getResourceGroupName(), this.getName(), run.runId());
@@ -176,7 +190,7 @@ public class ContainerRegistry extends AbstractAzResource<ContainerRegistry, Azu
             .bind(urlStreamingLog).withLabel("Open streaming logs");
         AzureMessager.getMessager().info(AzureString.format("Waiting for image building task run (%s) to be completed...", run.runId()), viewLogInToolkit, viewLogInBrowser);
         RunStatus status = run.status();
-        while (waitingStatus.contains(status)) {
+        while (RegistryTaskRunStreamingLog.RUNNING_STATUS.contains(status)) {
             ResourceManagerUtils.sleep(Duration.ofSeconds(10));
             run.refresh();
             status = run.status();
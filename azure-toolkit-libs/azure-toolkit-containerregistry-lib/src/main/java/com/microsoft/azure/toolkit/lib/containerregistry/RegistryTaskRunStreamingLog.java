@@ -6,12 +6,14 @@
 package com.microsoft.azure.toolkit.lib.containerregistry;
 
 import com.azure.resourcemanager.containerregistry.models.RegistryTaskRun;
+import com.azure.resourcemanager.containerregistry.models.RunStatus;
+import com.google.common.collect.ImmutableSet;
+import com.microsoft.azure.toolkit.lib.common.utils.LogTailer;
 import com.microsoft.azure.toolkit.lib.common.utils.StreamingLogSupport;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import reactor.core.publisher.Flux;
 
@@ -20,8 +22,8 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLConnection;
-import java.util.Arrays;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Getter
@@ -29,8 +31,10 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @AllArgsConstructor
 public class RegistryTaskRunStreamingLog implements StreamingLogSupport {
-    private static final int RETRY_INTERVAL = 1000;
-    private static final int WAIT_INTERVAL = 500;
+    /**
+     * status of an unfinished run, which is refreshed by {@link ContainerRegistry#waitForImageBuilding(RegistryTaskRun)}
+     */
+    static final Set<RunStatus> RUNNING_STATUS = ImmutableSet.of(RunStatus.QUEUED, RunStatus.STARTED, RunStatus.RUNNING);
 
     private RegistryTaskRun task;
     private String logSasUrl;
@@ -47,27 +51,14 @@ public class RegistryTaskRunStreamingLog implements StreamingLogSupport {
         return task.runId();
     }
 
+    /**
+     * tails the log blob with range requests until the run is completed.
+     */
     @Override
     public Flux<String> streamingLogs(final boolean follow, @NotNull final Map<String, String> p) {
-        return Flux.create(sink -> {
-            String content = StringUtils.EMPTY;
-            try {
-                for (int i = 0; ; ) {
-                    final String newContent = StringUtils.substringBeforeLast(readFromUrl(logSasUrl), "\n");
-                    if (StringUtils.equals(newContent, content)) {
-                        i++;
-                        Thread.sleep(RETRY_INTERVAL * i);
-                        continue;
-                    }
-                    Arrays.stream(StringUtils.removeStart(newContent, content).split("\n")).forEach(sink::next);
-                    content = newContent;
-                    i = 0; // reset retry count if there are new content
-                    Thread.sleep(WAIT_INTERVAL);
-                }
-            } catch (final Exception e) {
-                sink.error(e);
-            }
-        });
+        return LogTailer.builder().url(logSasUrl)
+            .completed(() -> !RUNNING_STATUS.contains(task.status()))
+            .build().tail(follow);
     }
 
     public static String readFromUrl(String urlString) throws IOException {
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.toolkit.lib.containerregistry;
+
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.HttpHeaders;
+import com.azure.core.http.HttpMethod;
+import com.azure.core.http.HttpRequest;
+import com.azure.core.http.HttpResponse;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import com.azure.storage.blob.specialized.SpecializedBlobClientBuilder;
+import com.azure.storage.common.policy.RequestRetryOptions;
+import com.azure.storage.common.policy.RetryPolicyType;
+import com.microsoft.azure.toolkit.lib.common.utils.TarGzPacker;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BlockBlobUploaderTest {
+    private static final int FILES = 20;
+    private static final int FILE_SIZE = 100 * 1024;
+    /**
+     * e.g. {@code UseDevelopmentStorage=true} to run against a local Azurite
+     */
+    private static final String AZURITE_CONNECTION_STRING = System.getenv("AZURITE_CONNECTION_STRING");
+
+    private final BlobService service = new BlobService();
+    private Path source;
+
+    @Before
+    public void setUp() throws IOException {
+        this.source = Files.createTempDirectory("block-upload");
+        final Random random = new Random(0);
+        for (int i = 0; i < FILES; i++) {
+            final byte[] content = new byte[FILE_SIZE];
+            random.nextBytes(content); // incompressible, so that the archive takes many blocks
+            Files.write(this.source.resolve("file" + i), content);
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.source.toFile());
+    }
+
+    @Test
+    public void uploadDirectoryWithRetries() throws IOException {
+        final BlockBlobClient blob = new SpecializedBlobClientBuilder()
+            .endpoint("http://127.0.0.1:10000/devstoreaccount1/source/archive.tar.gz")
+            .httpClient(this.service)
+            .retryOptions(new RequestRetryOptions(RetryPolicyType.FIXED, 3, (Duration) null, Duration.ofMillis(1), Duration.ofMillis(1), null))
+            .buildBlockBlobClient();
+        newUploader().upload(this.source, TarGzPacker.builder().build(), blob);
+
+        assertTrue("archive should be staged in many blocks", this.service.staged.get() > 10);
+        assertTrue("failed blocks should be retried", this.service.failed.get() > 0);
+        assertEquals(FILES, countEntries(this.service.committed));
+    }
+
+    @Test
+    public void uploadToAzurite() throws IOException {
+        Assume.assumeNotNull(AZURITE_CONNECTION_STRING);
+        final BlobContainerClient container = new BlobServiceClientBuilder().connectionString(AZURITE_CONNECTION_STRING)
+            .buildClient().getBlobContainerClient("block-upload-test");
+        container.createIfNotExists();
+        final BlockBlobClient blob = container.getBlobClient("archive.tar.gz").getBlockBlobClient();
+        newUploader().upload(this.source, TarGzPacker.builder().build(), blob);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        blob.downloadStream(out);
+        assertEquals(FILES, countEntries(out.toByteArray()));
+        container.delete();
+    }
+
+    @Nonnull
+    private static BlockBlobUploader newUploader() {
+        return BlockBlobUploader.builder().blockSize(64 * 1024).parallelism(4).build();
+    }
+
+    private static int countEntries(@Nonnull byte[] archive) throws IOException {
+        int count = 0;
+        try (final TarArchiveInputStream in = new TarArchiveInputStream(new GZIPInputStream(new ByteArrayInputStream(archive)))) {
+            while (in.getNextTarEntry() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * in-process block blob service, which fails the first attempt to stage every third block.
+     */
+    private static class BlobService implements HttpClient {
+        private static final Pattern BLOCK_ID = Pattern.compile("blockid=([^&]+)");
+        private static final Pattern LATEST = Pattern.compile("<Latest>([^<]+)</Latest>");
+
+        private final Map<String, byte[]> blocks = new ConcurrentHashMap<>();
+        private final Set<String> failedBlocks = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger staged = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile byte[] committed;
+
+        @Override
+        public Mono<HttpResponse> send(final HttpRequest request) {
+            final String query = request.getUrl().getQuery();
+            if (request.getHttpMethod() != HttpMethod.PUT || query == null) {
+                return Mono.just(new Response(request, 400));
+            }
+            final byte[] body = request.getBodyAsBinaryData().toBytes();
+            if (query.contains("comp=blocklist")) {
+                final ByteArrayOutputStream blob = new ByteArrayOutputStream();
+                final Matcher matcher = LATEST.matcher(new String(body, StandardCharsets.UTF_8));
+                while (matcher.find()) {
+                    final byte[] block = this.blocks.get(matcher.group(1));
+                    blob.write(block, 0, block.length);
+                }
+                this.committed = blob.toByteArray();
+                return Mono.just(new Response(request, 201));
+            }
+            final Matcher matcher = BLOCK_ID.matcher(query);
+            assertTrue(matcher.find());
+            final String blockId = decode(matcher.group(1));
+            final int index = Integer.parseInt(new String(Base64.getDecoder().decode(blockId), StandardCharsets.UTF_8));
+            if (index % 3 == 0 && this.failedBlocks.add(blockId)) {
+                this.failed.incrementAndGet();
+                return Mono.just(new Response(request, 500));
+            }
+            this.blocks.put(blockId, body);
+            this.staged.incrementAndGet();
+            return Mono.just(new Response(request, 201));
+        }
+
+        @Nonnull
+        private static String decode(@Nonnull String value) {
+            try {
+                return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+            } catch (final UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static class Response extends HttpResponse {
+        private final int status;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        Response(final HttpRequest request, final int status) {
+            super(request);
+            this.status = status;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return this.status;
+        }
+
+        @Override
+        @Deprecated
+        public String getHeaderValue(final String name) {
+            return this.headers.getValue(name);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.headers;
+        }
+
+        @Override
+        public Flux<ByteBuffer> getBody() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<byte[]> getBodyAsByteArray() {
+            return Mono.just(new byte[0]);
+        }
+
+        @Override
+        public Mono<String> getBodyAsString() {
+            return Mono.just("");
+        }
+
+        @Override
+        public Mono<String> getBodyAsString(final Charset charset) {
+            return Mono.just("");
+        }
+    }
+}
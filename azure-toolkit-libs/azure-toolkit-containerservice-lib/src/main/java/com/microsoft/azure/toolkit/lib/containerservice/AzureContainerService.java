@@ -15,6 +15,7 @@ import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -41,6 +42,11 @@ public class AzureContainerService extends AbstractAzService<ContainerServiceSub
     @Nullable
     @Override
     protected ContainerServiceManager loadResourceFromAzure(@Nonnull String subscriptionId, @Nullable String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, ContainerServiceManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private ContainerServiceManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final AzureConfiguration config = Azure.az().config();
         final String userAgent = config.getUserAgent();
@@ -15,6 +15,7 @@ import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 import com.microsoft.azure.toolkit.lib.cosmos.model.DatabaseAccountKind;
 
 import javax.annotation.Nonnull;
@@ -44,17 +45,22 @@ public class AzureCosmosService extends AbstractAzService<CosmosServiceSubscript
 
     @Nonnull
     public List<CosmosDBAccount> getDatabaseAccounts() {
-        return this.list().stream().flatMap(m -> m.databaseAccounts().list().stream()).collect(Collectors.toList());
+        return this.listInSubscriptions(m -> m.databaseAccounts().list());
     }
 
     @Nonnull
     public List<CosmosDBAccount> getDatabaseAccounts(@Nonnull DatabaseAccountKind kind) {
-        return this.list().stream().flatMap(m -> m.databaseAccounts().list().stream().filter(a -> kind.equals(a.getKind()))).collect(Collectors.toList());
+        return this.getDatabaseAccounts().stream().filter(a -> kind.equals(a.getKind())).collect(Collectors.toList());
     }
 
     @Nullable
     @Override
     protected CosmosManager loadResourceFromAzure(@Nonnull String subscriptionId, @Nullable String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, CosmosManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private CosmosManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final AzureConfiguration config = Azure.az().config();
         final String userAgent = config.getUserAgent();
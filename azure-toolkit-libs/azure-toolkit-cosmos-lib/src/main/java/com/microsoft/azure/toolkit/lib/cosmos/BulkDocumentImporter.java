@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.cosmos;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.toolkit.lib.common.bundle.AzureString;
+import com.microsoft.azure.toolkit.lib.common.exception.AzureToolkitRuntimeException;
+import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * imports a stream of documents in batches written concurrently by {@link #write(List)}. the number of batches in flight is adapted
+ * to throttling: it's halved whenever a batch has throttled (429) documents, which are retried after the suggested delay, and grows
+ * by one after as many batches as the limit aren't throttled. documents are read from the stream only as fast as batches are written.
+ */
+public abstract class BulkDocumentImporter {
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_MAX_CONCURRENCY = 8;
+    protected static final Duration DEFAULT_RETRY_AFTER = Duration.ofMillis(100);
+    private static final int MAX_ATTEMPTS = 20;
+    private static final long PROGRESS_INTERVAL_MILLIS = 1000;
+
+    @Getter
+    private final int batchSize;
+    @Getter
+    private final int maxConcurrency;
+
+    protected BulkDocumentImporter(int batchSize, int maxConcurrency) {
+        this.batchSize = Math.max(1, batchSize);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /**
+     * writes a batch of documents, called concurrently. per document failures are reported in the result, while an exception
+     * aborts the whole import.
+     */
+    @Nonnull
+    protected abstract BatchResult write(@Nonnull List<ObjectNode> batch);
+
+    @Nonnull
+    protected abstract String getTargetName();
+
+    @Nonnull
+    public BulkImportResult importDocuments(@Nonnull final Iterator<ObjectNode> documents) {
+        final long start = System.nanoTime();
+        final Statistics stats = new Statistics();
+        final Limiter limiter = new Limiter(this.maxConcurrency);
+        final Queue<Item> retries = new ConcurrentLinkedQueue<>();
+        final AtomicInteger count = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(this.maxConcurrency, r -> {
+            final Thread thread = new Thread(r, "azure-cosmos-import-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long lastReported = start;
+        try {
+            while (stats.aborted.get() == null) {
+                final long seen = limiter.releases();
+                final List<Item> batch = this.nextBatch(retries, documents);
+                if (batch.isEmpty()) {
+                    if (limiter.isIdle() && retries.isEmpty()) {
+                        break;
+                    }
+                    limiter.awaitRelease(seen); // in flight batches may have throttled documents to retry
+                    continue;
+                }
+                limiter.acquire();
+                pool.execute(() -> {
+                    boolean throttled = false;
+                    try {
+                        throttled = this.run(batch, retries, stats);
+                    } finally {
+                        limiter.release(throttled);
+                    }
+                });
+                final long now = System.nanoTime();
+                if (now - lastReported >= TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MILLIS)) {
+                    lastReported = now;
+                    AzureMessager.getMessager().progress(AzureString.format("importing documents to %s: %s",
+                        this.getTargetName(), stats.toResult(start).toString()));
+                }
+            }
+            limiter.awaitIdle();
+        } catch (final InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new AzureToolkitRuntimeException(String.format("importing documents to %s is interrupted", this.getTargetName()), e);
+        } finally {
+            pool.shutdown();
+        }
+        if (stats.aborted.get() != null) {
+            final RuntimeException e = stats.aborted.get();
+            throw new AzureToolkitRuntimeException(String.format("failed to import documents to %s: %s", this.getTargetName(), e.getMessage()), e);
+        }
+        return stats.toResult(start);
+    }
+
+    @Nonnull
+    private List<Item> nextBatch(@Nonnull final Queue<Item> retries, @Nonnull final Iterator<ObjectNode> documents) {
+        final List<Item> batch = new ArrayList<>(this.batchSize);
+        Item retry;
+        while (batch.size() < this.batchSize && (retry = retries.poll()) != null) {
+            batch.add(retry);
+        }
+        while (batch.size() < this.batchSize && documents.hasNext()) {
+            batch.add(new Item(documents.next()));
+        }
+        return batch;
+    }
+
+    /**
+     * @return true if the batch is throttled
+     */
+    private boolean run(@Nonnull final List<Item> batch, @Nonnull final Queue<Item> retries, @Nonnull final Statistics stats) {
+        final List<ObjectNode> documents = new ArrayList<>(batch.size());
+        batch.forEach(i -> documents.add(i.document));
+        final BatchResult result;
+        try {
+            result = this.write(documents);
+        } catch (final RuntimeException e) {
+            stats.aborted.compareAndSet(null, e);
+            return false;
+        }
+        stats.imported.add(result.succeeded);
+        stats.failed.add(result.failed);
+        stats.requestCharge.add(result.requestCharge);
+        if (result.error != null) {
+            stats.error.compareAndSet(null, result.error);
+        }
+        if (result.throttled.isEmpty()) {
+            return false;
+        }
+        stats.throttled.add(result.throttled.size());
+        for (final int index : result.throttled) {
+            final Item item = batch.get(index);
+            if (++item.attempts >= MAX_ATTEMPTS) {
+                stats.failed.increment();
+                stats.error.compareAndSet(null, String.format("throttled for %s times", MAX_ATTEMPTS));
+            } else {
+                retries.add(item);
+            }
+        }
+        try {
+            // hold the slot while backing off, so that the other batches slow down too
+            Thread.sleep(result.retryAfter.toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * result of writing a batch
+     */
+    @RequiredArgsConstructor
+    protected static class BatchResult {
+        private final int succeeded;
+        private final int failed;
+        /**
+         * indexes of the throttled documents in the batch
+         */
+        @Nonnull
+        private final List<Integer> throttled;
+        @Nonnull
+        private final Duration retryAfter;
+        private final double requestCharge;
+        @Nullable
+        private final String error;
+    }
+
+    private static class Item {
+        private final ObjectNode document;
+        private int attempts;
+
+        Item(@Nonnull ObjectNode document) {
+            this.document = document;
+        }
+    }
+
+    private static class Statistics {
+        private final LongAdder imported = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final DoubleAdder requestCharge = new DoubleAdder();
+        private final AtomicReference<String> error = new AtomicReference<>();
+        private final AtomicReference<RuntimeException> aborted = new AtomicReference<>();
+
+        @Nonnull
+        BulkImportResult toResult(long start) {
+            return new BulkImportResult(imported.sum(), failed.sum(), throttled.sum(), requestCharge.sum(),
+                Duration.ofNanos(System.nanoTime() - start), error.get());
+        }
+    }
+
+    /**
+     * additive increase/multiplicative decrease limit of batches in flight
+     */
+    static class Limiter {
+        private final int max;
+        private int limit;
+        private int inFlight;
+        private int succeeded;
+        private long releases;
+
+        Limiter(int max) {
+            this.max = max;
+            this.limit = max;
+        }
+
+        synchronized void acquire() throws InterruptedException {
+            while (this.inFlight >= this.limit) {
+                this.wait();
+            }
+            this.inFlight++;
+        }
+
+        synchronized void release(boolean throttled) {
+            this.inFlight--;
+            this.releases++;
+            if (throttled) {
+                this.limit = Math.max(1, this.limit / 2);
+                this.succeeded = 0;
+            } else if (++this.succeeded >= this.limit) { // one more after a whole round of batches isn't throttled
+                this.limit = Math.min(this.max, this.limit + 1);
+                this.succeeded = 0;
+            }
+            this.notifyAll();
+        }
+
+        synchronized int limit() {
+            return this.limit;
+        }
+
+        synchronized long releases() {
+            return this.releases;
+        }
+
+        synchronized boolean isIdle() {
+            return this.inFlight == 0;
+        }
+
+        synchronized void awaitRelease(long seen) throws InterruptedException {
+            while (this.releases == seen && this.inFlight > 0) {
+                this.wait();
+            }
+        }
+
+        synchronized void awaitIdle() throws InterruptedException {
+            while (this.inFlight > 0) {
+                this.wait();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.cosmos;
+
+import lombok.Getter;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+
+/**
+ * statistics of a {@link BulkDocumentImporter} run.
+ */
+@Getter
+public class BulkImportResult {
+    private final long imported;
+    private final long failed;
+    /**
+     * times documents are throttled (429) and retried
+     */
+    private final long throttled;
+    /**
+     * total request units consumed, 0 if the api doesn't report it (e.g. mongo)
+     */
+    private final double requestCharge;
+    @Nonnull
+    private final Duration elapsed;
+    /**
+     * the first error of the failed documents
+     */
+    @Nullable
+    private final String error;
+
+    BulkImportResult(long imported, long failed, long throttled, double requestCharge, @Nonnull Duration elapsed, @Nullable String error) {
+        this.imported = imported;
+        this.failed = failed;
+        this.throttled = throttled;
+        this.requestCharge = requestCharge;
+        this.elapsed = elapsed;
+        this.error = error;
+    }
+
+    public double getDocumentsPerSecond() {
+        return this.imported * 1000.0 / Math.max(1, this.elapsed.toMillis());
+    }
+
+    public double getRequestUnitsPerSecond() {
+        return this.requestCharge * 1000.0 / Math.max(1, this.elapsed.toMillis());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d documents imported, %d failed in %.1fs (%.0f docs/s, %.0f RU/s, %d throttled)", this.imported, this.failed,
+            this.elapsed.toMillis() / 1000.0, this.getDocumentsPerSecond(), this.getRequestUnitsPerSecond(), this.throttled);
+    }
+}
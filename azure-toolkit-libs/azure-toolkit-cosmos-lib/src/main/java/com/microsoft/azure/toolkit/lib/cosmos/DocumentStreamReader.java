@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.cosmos;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * reads documents one by one from a json array (e.g. {@code [{...}, {...}]}), a single json object or newline delimited json
+ * without loading the whole file.
+ */
+public class DocumentStreamReader implements Iterator<ObjectNode>, Closeable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final MappingIterator<ObjectNode> iterator;
+
+    public DocumentStreamReader(@Nonnull final InputStream input) throws IOException {
+        // elements of a root array are read one by one instead of binding the whole array
+        this.iterator = MAPPER.readerFor(ObjectNode.class).readValues(input);
+    }
+
+    @Nonnull
+    public static DocumentStreamReader open(@Nonnull final Path file) throws IOException {
+        return new DocumentStreamReader(Files.newInputStream(file));
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.iterator.hasNext();
+    }
+
+    @Override
+    public ObjectNode next() {
+        return this.iterator.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.iterator.close();
+    }
+}
@@ -9,10 +9,29 @@ import com.microsoft.azure.toolkit.lib.common.action.Action;
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
 
 public interface ICosmosDocumentContainer<T extends ICosmosDocument> extends AzResource {
     public static final Action.Id<ICosmosDocumentContainer<?>> IMPORT_DOCUMENT = Action.Id.of("user/cosmos.import_document.container");
     public static final Action.Id<ICosmosDocumentContainer<?>> CREATE_DOCUMENT = Action.Id.of("user/cosmos.create_document.container");
 
     T importDocument(@Nonnull final ObjectNode node);
+
+    /**
+     * imports documents in bulk, existing documents with the same id are replaced.
+     */
+    @Nonnull
+    BulkImportResult importDocuments(@Nonnull final Iterator<ObjectNode> documents);
+
+    /**
+     * imports documents from a json (array) or newline delimited json file without loading the whole file.
+     */
+    @Nonnull
+    default BulkImportResult importDocuments(@Nonnull final Path file) throws IOException {
+        try (final DocumentStreamReader reader = DocumentStreamReader.open(file)) {
+            return this.importDocuments(reader);
+        }
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.cosmos.mongo;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.toolkit.lib.cosmos.BulkDocumentImporter;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoServerException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.microsoft.azure.toolkit.lib.cosmos.mongo.MongoDocumentModule.MONGO_ID_KEY;
+
+/**
+ * writes documents into a mongo collection with one unordered {@code bulkWrite} per batch, documents without {@code _id} are inserted
+ * and others are upserted by {@code _id}.
+ */
+public class MongoBulkImporter extends BulkDocumentImporter {
+    /**
+     * error code of cosmos db api for mongo when the request rate is too large
+     */
+    private static final int TOO_MANY_REQUESTS = 16500;
+    private static final Pattern RETRY_AFTER = Pattern.compile("RetryAfterMs=(\\d+)");
+
+    private final com.mongodb.client.MongoCollection<Document> collection;
+    @Nullable
+    private final String shardKey;
+    private final String name;
+
+    public MongoBulkImporter(@Nonnull MongoCollection collection) {
+        this(collection.getClient(), collection.getSharedKey(), collection.getName(), DEFAULT_BATCH_SIZE, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    public MongoBulkImporter(@Nonnull com.mongodb.client.MongoCollection<Document> collection, @Nullable String shardKey, @Nonnull String name,
+                             int batchSize, int maxConcurrency) {
+        super(batchSize, maxConcurrency);
+        this.collection = collection;
+        this.shardKey = shardKey;
+        this.name = name;
+    }
+
+    @Nonnull
+    @Override
+    protected BatchResult write(@Nonnull List<ObjectNode> batch) {
+        final List<WriteModel<Document>> models = new ArrayList<>(batch.size());
+        final List<Integer> indexes = new ArrayList<>(batch.size()); // index in batch of each model
+        int failed = 0;
+        String error = null;
+        for (int i = 0; i < batch.size(); i++) {
+            final Document document = Document.parse(batch.get(i).toString());
+            if (StringUtils.isNotEmpty(this.shardKey) && !document.containsKey(this.shardKey)) {
+                failed++;
+                error = String.format("Document does not contain shard key at '%s'", this.shardKey);
+                continue;
+            }
+            final Object id = document.get(MONGO_ID_KEY);
+            models.add(id == null ? new InsertOneModel<>(document) :
+                new ReplaceOneModel<>(Filters.eq(MONGO_ID_KEY, id), document, new ReplaceOptions().upsert(true)));
+            indexes.add(i);
+        }
+        if (models.isEmpty()) {
+            return new BatchResult(0, failed, Collections.emptyList(), DEFAULT_RETRY_AFTER, 0, error);
+        }
+        try {
+            this.collection.bulkWrite(models, new BulkWriteOptions().ordered(false));
+            return new BatchResult(models.size(), failed, Collections.emptyList(), DEFAULT_RETRY_AFTER, 0, error);
+        } catch (final MongoBulkWriteException e) {
+            final List<Integer> throttled = new ArrayList<>();
+            Duration retryAfter = DEFAULT_RETRY_AFTER;
+            for (final BulkWriteError writeError : e.getWriteErrors()) {
+                if (writeError.getCode() == TOO_MANY_REQUESTS) {
+                    throttled.add(indexes.get(writeError.getIndex()));
+                    final Matcher matcher = RETRY_AFTER.matcher(StringUtils.defaultString(writeError.getMessage()));
+                    retryAfter = matcher.find() ? Duration.ofMillis(Long.parseLong(matcher.group(1))) : retryAfter;
+                } else {
+                    failed++;
+                    error = error == null ? writeError.getMessage() : error;
+                }
+            }
+            final int succeeded = models.size() - e.getWriteErrors().size();
+            return new BatchResult(succeeded, failed, throttled, retryAfter, 0, error);
+        } catch (final MongoServerException e) {
+            if (e.getCode() != TOO_MANY_REQUESTS) {
+                throw e;
+            }
+            // the whole command is rejected, retry the batch
+            final Matcher matcher = RETRY_AFTER.matcher(StringUtils.defaultString(e.getMessage()));
+            final Duration retryAfter = matcher.find() ? Duration.ofMillis(Long.parseLong(matcher.group(1))) : DEFAULT_RETRY_AFTER;
+            return new BatchResult(0, failed, indexes, retryAfter, 0, error);
+        }
+    }
+
+    @Nonnull
+    @Override
+    protected String getTargetName() {
+        return this.name;
+    }
+}
@@ -13,6 +13,7 @@ import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
+import com.microsoft.azure.toolkit.lib.cosmos.BulkImportResult;
 import com.microsoft.azure.toolkit.lib.cosmos.ICosmosCollection;
 import com.microsoft.azure.toolkit.lib.cosmos.ICosmosDocumentContainer;
 import lombok.Getter;
@@ -25,6 +26,7 @@ import org.bson.types.ObjectId;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -88,6 +90,15 @@ public class MongoCollection extends AbstractAzResource<MongoCollection, MongoDa
         return result;
     }
 
+    @Nonnull
+    @Override
+    public BulkImportResult importDocuments(@Nonnull final Iterator<ObjectNode> documents) {
+        final BulkImportResult result = new MongoBulkImporter(this).importDocuments(documents);
+        this.documentModule.refresh();
+        AzureMessager.getMessager().info(AzureString.format("Import documents to Mongo collection %s: %s.", this.getName(), result.toString()));
+        return result;
+    }
+
     @Nullable
     public String getSharedKey() {
         return Optional.ofNullable(getRemote())
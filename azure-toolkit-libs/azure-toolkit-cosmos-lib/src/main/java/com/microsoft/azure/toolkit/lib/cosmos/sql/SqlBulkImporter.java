@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.cosmos.sql;
+
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.models.CosmosBulkExecutionOptions;
+import com.azure.cosmos.models.CosmosBulkItemResponse;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosBulkOperations;
+import com.azure.cosmos.models.CosmosItemOperation;
+import com.azure.cosmos.models.PartitionKey;
+import com.azure.cosmos.models.PartitionKeyBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.toolkit.lib.cosmos.BulkDocumentImporter;
+import reactor.core.publisher.Flux;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.microsoft.azure.toolkit.lib.cosmos.sql.SqlDocumentModule.ID;
+
+/**
+ * upserts documents into a sql container with the bulk executor of the cosmos sdk, one {@code executeBulkOperations} per batch.
+ */
+public class SqlBulkImporter extends BulkDocumentImporter {
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final CosmosAsyncContainer container;
+    @Nullable
+    private final String partitionKey;
+    private final String name;
+
+    public SqlBulkImporter(@Nonnull SqlContainer container) {
+        this(Objects.requireNonNull(container.getAsyncClient(), "failed to connect to Cosmos container " + container.getName()),
+            container.getPartitionKey(), container.getName(), DEFAULT_BATCH_SIZE, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * @param partitionKey path of the partition key, e.g. {@code /address/city}
+     */
+    public SqlBulkImporter(@Nonnull CosmosAsyncContainer container, @Nullable String partitionKey, @Nonnull String name,
+                           int batchSize, int maxConcurrency) {
+        super(batchSize, maxConcurrency);
+        this.container = container;
+        this.partitionKey = partitionKey;
+        this.name = name;
+    }
+
+    @Nonnull
+    @Override
+    protected BatchResult write(@Nonnull List<ObjectNode> batch) {
+        final List<CosmosItemOperation> operations = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            final ObjectNode document = batch.get(i);
+            if (document.get(ID) == null) {
+                document.put(ID, UUID.randomUUID().toString());
+            }
+            operations.add(CosmosBulkOperations.getUpsertItemOperation(document, getPartitionKeyValue(document, this.partitionKey), i));
+        }
+        final List<CosmosBulkOperationResponse<Object>> responses = this.container
+            .executeBulkOperations(Flux.fromIterable(operations), new CosmosBulkExecutionOptions())
+            .collectList().block();
+        int succeeded = 0;
+        int failed = 0;
+        double requestCharge = 0;
+        Duration retryAfter = DEFAULT_RETRY_AFTER;
+        String error = null;
+        final List<Integer> throttled = new ArrayList<>();
+        for (final CosmosBulkOperationResponse<Object> response : Objects.requireNonNull(responses)) {
+            final CosmosBulkItemResponse item = response.getResponse();
+            final int index = response.getOperation().getContext();
+            if (Objects.nonNull(item)) {
+                requestCharge += item.getRequestCharge();
+            }
+            if (Objects.nonNull(item) && item.isSuccessStatusCode()) {
+                succeeded++;
+            } else if (Objects.nonNull(item) && item.getStatusCode() == TOO_MANY_REQUESTS) {
+                throttled.add(index);
+                retryAfter = Optional.ofNullable(item.getRetryAfterDuration()).filter(d -> !d.isZero()).orElse(retryAfter);
+            } else {
+                failed++;
+                if (error == null) {
+                    error = Objects.nonNull(response.getException()) ? response.getException().getMessage() :
+                        String.format("status code %s", Objects.nonNull(item) ? item.getStatusCode() : "unknown");
+                }
+            }
+        }
+        return new BatchResult(succeeded, failed, throttled, retryAfter, requestCharge, error);
+    }
+
+    @Nonnull
+    @Override
+    protected String getTargetName() {
+        return this.name;
+    }
+
+    /**
+     * the partition key value keeps its json type, since "1" and 1 are different partition keys.
+     */
+    @Nonnull
+    static PartitionKey getPartitionKeyValue(@Nonnull ObjectNode document, @Nullable String partitionKey) {
+        final JsonNode value = Optional.ofNullable(partitionKey).map(document::at).orElse(null);
+        if (Objects.isNull(value) || value.isMissingNode()) {
+            return PartitionKey.NONE;
+        } else if (value.isNull()) {
+            return new PartitionKeyBuilder().addNullValue().build();
+        } else if (value.isBoolean()) {
+            return new PartitionKey(value.booleanValue());
+        } else if (value.isNumber()) {
+            return new PartitionKey(value.doubleValue());
+        }
+        return new PartitionKey(value.asText());
+    }
+}
@@ -4,6 +4,7 @@
  */
 package com.microsoft.azure.toolkit.lib.cosmos.sql;
 
+import com.azure.cosmos.CosmosAsyncContainer;
 import com.azure.cosmos.CosmosClient;
 import com.azure.cosmos.CosmosContainer;
 import com.azure.cosmos.models.CosmosContainerResponse;
@@ -14,6 +15,7 @@ import com.microsoft.azure.toolkit.lib.common.messager.AzureMessager;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResource;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 import com.microsoft.azure.toolkit.lib.common.model.Deletable;
+import com.microsoft.azure.toolkit.lib.cosmos.BulkImportResult;
 import com.microsoft.azure.toolkit.lib.cosmos.ICosmosCollection;
 import com.microsoft.azure.toolkit.lib.cosmos.ICosmosDocumentContainer;
 import lombok.Getter;
@@ -21,6 +23,7 @@ import lombok.Getter;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -78,6 +81,16 @@ public class SqlContainer extends AbstractAzResource<SqlContainer, SqlDatabase,
         return result;
     }
 
+    @Nonnull
+    @Override
+    public BulkImportResult importDocuments(@Nonnull final Iterator<ObjectNode> documents) {
+        this.getClient(); // load the partition key
+        final BulkImportResult result = new SqlBulkImporter(this).importDocuments(documents);
+        this.documentModule.refresh();
+        AzureMessager.getMessager().info(AzureString.format("Import documents to Cosmos container %s: %s.", this.getName(), result.toString()));
+        return result;
+    }
+
     public String getPartitionKey() {
         return Optional.ofNullable(this.containerResponse)
                 .map(CosmosContainerResponse::getProperties)
@@ -93,6 +106,14 @@ public class SqlContainer extends AbstractAzResource<SqlContainer, SqlDatabase,
         return this.container;
     }
 
+    @Nullable
+    public CosmosAsyncContainer getAsyncClient() {
+        final SqlDatabase sqlDatabase = this.getParent();
+        final SqlCosmosDBAccount account = (SqlCosmosDBAccount) sqlDatabase.getParent();
+        return Optional.ofNullable(account.getAsyncClient())
+            .map(client -> client.getDatabase(sqlDatabase.getName()).getContainer(this.getName())).orElse(null);
+    }
+
     @Override
     protected void updateAdditionalProperties(@Nullable SqlContainerGetResultsInner newRemote, @Nullable SqlContainerGetResultsInner oldRemote) {
         super.updateAdditionalProperties(newRemote, oldRemote);
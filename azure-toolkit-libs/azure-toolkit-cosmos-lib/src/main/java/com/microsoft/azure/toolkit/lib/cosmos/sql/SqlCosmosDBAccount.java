@@ -6,6 +6,7 @@
 package com.microsoft.azure.toolkit.lib.cosmos.sql;
 
 import com.azure.cosmos.ConsistencyLevel;
+import com.azure.cosmos.CosmosAsyncClient;
 import com.azure.cosmos.CosmosClient;
 import com.azure.cosmos.CosmosClientBuilder;
 import com.azure.resourcemanager.resources.fluentcore.arm.ResourceId;
@@ -17,6 +18,7 @@ import com.microsoft.azure.toolkit.lib.cosmos.model.CosmosDBAccountConnectionStr
 import com.microsoft.azure.toolkit.lib.cosmos.model.SqlDatabaseAccountConnectionString;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -24,6 +26,7 @@ import java.util.Optional;
 
 public class SqlCosmosDBAccount extends CosmosDBAccount {
     private CosmosClient cosmosClient;
+    private CosmosAsyncClient cosmosAsyncClient;
     private final SqlDatabaseModule sqlDatabaseModule;
 
     static {
@@ -40,6 +43,7 @@ public class SqlCosmosDBAccount extends CosmosDBAccount {
         super(account);
         this.sqlDatabaseModule = account.sqlDatabaseModule;
         this.cosmosClient = account.cosmosClient;
+        this.cosmosAsyncClient = account.cosmosAsyncClient;
     }
 
     public SqlCosmosDBAccount(@Nonnull com.azure.resourcemanager.cosmos.models.CosmosDBAccount remote, @Nonnull CosmosDBAccountModule module) {
@@ -54,6 +58,17 @@ public class SqlCosmosDBAccount extends CosmosDBAccount {
         return this.cosmosClient;
     }
 
+    /**
+     * async client for bulk operations, created on first use.
+     */
+    @Nullable
+    public synchronized CosmosAsyncClient getAsyncClient() {
+        if (Objects.isNull(this.cosmosAsyncClient)) {
+            this.cosmosAsyncClient = Optional.ofNullable(getCosmosClientBuilder()).map(CosmosClientBuilder::buildAsyncClient).orElse(null);
+        }
+        return this.cosmosAsyncClient;
+    }
+
     @Override
     public @Nonnull List<AbstractAzResourceModule<?, ?, ?>> getSubModules() {
         return Collections.singletonList(sqlDatabaseModule);
@@ -87,6 +102,8 @@ public class SqlCosmosDBAccount extends CosmosDBAccount {
             try {
                 Optional.ofNullable(this.cosmosClient).ifPresent(CosmosClient::close);
                 this.cosmosClient = null;
+                Optional.ofNullable(this.cosmosAsyncClient).ifPresent(CosmosAsyncClient::close);
+                this.cosmosAsyncClient = null;
             } catch (final RuntimeException e) {
                 // swallow exception during close client
             }
@@ -94,6 +111,16 @@ public class SqlCosmosDBAccount extends CosmosDBAccount {
     }
 
     private CosmosClient getCosmosClient() {
+        try {
+            return Optional.ofNullable(getCosmosClientBuilder()).map(CosmosClientBuilder::buildClient).orElse(null);
+        } catch (Throwable e) {
+            // swallow exception to load data client
+            return null;
+        }
+    }
+
+    @Nullable
+    private CosmosClientBuilder getCosmosClientBuilder() {
         try {
             final SqlDatabaseAccountConnectionString connectionString = this.getSqlAccountConnectionString();
             return new CosmosClientBuilder()
@@ -102,8 +129,7 @@ public class SqlCosmosDBAccount extends CosmosDBAccount {
                     .key(connectionString.getKey())
                     .preferredRegions(Collections.singletonList(Objects.requireNonNull(this.getRegion()).getName()))
                     .consistencyLevel(ConsistencyLevel.EVENTUAL)
-                    .userAgentSuffix(Azure.az().config().getUserAgent())
-                    .buildClient();
+                    .userAgentSuffix(Azure.az().config().getUserAgent());
         } catch (Throwable e) {
             // swallow exception to load data client
             return null;
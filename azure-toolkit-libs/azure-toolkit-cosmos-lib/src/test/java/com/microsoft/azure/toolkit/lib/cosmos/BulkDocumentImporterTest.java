@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+package com.microsoft.azure.toolkit.lib.cosmos;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BulkDocumentImporterTest {
+
+    @Test
+    public void readDocuments() throws IOException {
+        assertEquals(3, read("[{\"id\":\"1\"},{\"id\":\"2\"},{\"id\":\"3\"}]").size());
+        assertEquals(3, read("{\"id\":\"1\"}\n{\"id\":\"2\"}\n\n{\"id\":\"3\"}\n").size());
+        assertEquals("1", read("{\"id\":\"1\"}").get(0).get("id").asText());
+    }
+
+    @Test
+    public void importWithThrottling() throws IOException {
+        final int total = 10_000;
+        final String ndjson = IntStream.range(0, total).mapToObj(i -> String.format("{\"id\":\"%d\",\"value\":%d}", i, i)).collect(Collectors.joining("\n"));
+        final MockImporter importer = new MockImporter();
+        final BulkImportResult result;
+        try (final DocumentStreamReader reader = new DocumentStreamReader(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))) {
+            result = importer.importDocuments(reader);
+        }
+        assertEquals(total, result.getImported());
+        assertEquals(total, importer.documents.size());
+        assertEquals(0, result.getFailed());
+        assertTrue(result.getThrottled() > 0);
+        assertEquals(total, result.getRequestCharge(), 0.001);
+    }
+
+    @Test
+    public void adaptLimitToThrottling() throws InterruptedException {
+        final BulkDocumentImporter.Limiter limiter = new BulkDocumentImporter.Limiter(8);
+        runBatches(limiter, 1, true);
+        assertEquals("limit should be halved after throttling", 4, limiter.limit());
+        runBatches(limiter, 1, true);
+        runBatches(limiter, 1, true);
+        runBatches(limiter, 1, true);
+        assertEquals("limit should not be less than 1", 1, limiter.limit());
+        runBatches(limiter, 1, false);
+        assertEquals("limit should grow after a round of batches succeeds", 2, limiter.limit());
+        runBatches(limiter, 1, false);
+        assertEquals("limit should not grow before a whole round succeeds", 2, limiter.limit());
+        runBatches(limiter, 1, false);
+        assertEquals(3, limiter.limit());
+        runBatches(limiter, 100, false);
+        assertEquals("limit should not exceed the max", 8, limiter.limit());
+        assertTrue(limiter.isIdle());
+    }
+
+    private static void runBatches(@Nonnull BulkDocumentImporter.Limiter limiter, int count, boolean throttled) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            limiter.acquire();
+            limiter.release(throttled);
+        }
+    }
+
+    @Nonnull
+    private static List<ObjectNode> read(@Nonnull String content) throws IOException {
+        final List<ObjectNode> documents = new ArrayList<>();
+        try (final DocumentStreamReader reader = new DocumentStreamReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))) {
+            reader.forEachRemaining(documents::add);
+        }
+        return documents;
+    }
+
+    /**
+     * a container of limited capacity, which throttles half of a batch when more than 2 batches are written concurrently.
+     */
+    private static class MockImporter extends BulkDocumentImporter {
+        private final Map<String, ObjectNode> documents = new ConcurrentHashMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        MockImporter() {
+            super(DEFAULT_BATCH_SIZE, DEFAULT_MAX_CONCURRENCY);
+        }
+
+        @Nonnull
+        @Override
+        protected BatchResult write(@Nonnull List<ObjectNode> batch) {
+            final int current = inFlight.incrementAndGet();
+            try {
+                Thread.sleep(2);
+                final List<Integer> throttled = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    if (current > 2 && i % 2 == 0) {
+                        throttled.add(i);
+                    } else {
+                        documents.put(batch.get(i).get("id").asText(), batch.get(i));
+                    }
+                }
+                final int succeeded = batch.size() - throttled.size();
+                return new BatchResult(succeeded, 0, throttled, Duration.ofMillis(5), succeeded, null);
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Nonnull
+        @Override
+        protected String getTargetName() {
+            return "mock";
+        }
+    }
+}
@@ -9,7 +9,6 @@ import com.azure.core.http.policy.HttpLogDetailLevel;
 import com.azure.core.http.policy.HttpLogOptions;
 import com.azure.core.management.profile.AzureProfile;
 import com.azure.resourcemanager.msi.MsiManager;
-import com.azure.resourcemanager.resources.ResourceManager;
 import com.azure.resourcemanager.resources.fluentcore.policy.ProviderRegistrationPolicy;
 import com.azure.resourcemanager.resources.models.Providers;
 import com.microsoft.azure.toolkit.lib.Azure;
@@ -18,12 +17,12 @@ import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 public class AzureManagedIdentity extends AbstractAzService<AzureManagedIdentitySubscription, MsiManager> {
     public AzureManagedIdentity() {
@@ -39,17 +38,18 @@ public class AzureManagedIdentity extends AbstractAzService<AzureManagedIdentity
     @Nullable
     @Override
     protected MsiManager loadResourceFromAzure(@Nonnull String subscriptionId, String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, MsiManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private MsiManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final String tenantId = account.getSubscription(subscriptionId).getTenantId();
         final AzureConfiguration config = Azure.az().config();
         final HttpLogOptions logOptions = new HttpLogOptions();
         logOptions.setLogLevel(Optional.ofNullable(config.getLogLevel()).map(HttpLogDetailLevel::valueOf).orElse(HttpLogDetailLevel.NONE));
         final AzureProfile azureProfile = new AzureProfile(tenantId, subscriptionId, account.getEnvironment());
-        final Providers providers = ResourceManager.configure()
-            .withHttpClient(AbstractAzServiceSubscription.getDefaultHttpClient())
-            .withPolicy(AbstractAzServiceSubscription.getUserAgentPolicy())
-            .authenticate(account.getTokenCredential(subscriptionId), azureProfile)
-            .withSubscription(subscriptionId).providers();
+        final Providers providers = AbstractAzServiceSubscription.getResourceManager(subscriptionId).providers();
         return MsiManager
             .configure()
             .withHttpClient(AbstractAzServiceSubscription.getDefaultHttpClient())
@@ -61,7 +61,7 @@ public class AzureManagedIdentity extends AbstractAzService<AzureManagedIdentity
 
     @Nonnull
     public List<Identity> identities() {
-        return this.list().stream().flatMap(m -> m.identity().list().stream()).collect(Collectors.toList());
+        return this.listInSubscriptions(m -> m.identity().list());
     }
 
     @Nonnull
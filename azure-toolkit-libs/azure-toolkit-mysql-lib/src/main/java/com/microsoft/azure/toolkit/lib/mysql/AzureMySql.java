@@ -16,6 +16,7 @@ import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nonnull;
@@ -39,12 +40,17 @@ public class AzureMySql extends AbstractAzService<MySqlServiceSubscription, MySq
 
     @Nonnull
     public List<MySqlServer> servers() {
-        return this.list().stream().flatMap(m -> m.servers().list().stream()).collect(Collectors.toList());
+        return this.listInSubscriptions(m -> m.servers().list());
     }
 
     @Nonnull
     @Override
     protected MySqlManager loadResourceFromAzure(@Nonnull String subscriptionId, String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, MySqlManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private MySqlManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final AzureConfiguration config = Azure.az().config();
         final String userAgent = config.getUserAgent();
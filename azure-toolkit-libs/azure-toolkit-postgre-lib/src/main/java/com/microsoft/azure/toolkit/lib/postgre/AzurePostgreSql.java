@@ -15,6 +15,7 @@ import com.microsoft.azure.toolkit.lib.AzureConfiguration;
 import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,12 +42,17 @@ public class AzurePostgreSql extends AbstractAzService<PostgreSqlServiceSubscrip
 
     @Nonnull
     public List<PostgreSqlServer> servers() {
-        return this.list().stream().flatMap(m -> m.servers().list().stream()).collect(Collectors.toList());
+        return this.listInSubscriptions(m -> m.servers().list());
     }
 
     @Nullable
     @Override
     protected PostgreSqlManager loadResourceFromAzure(@Nonnull String subscriptionId, String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, PostgreSqlManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private PostgreSqlManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final AzureConfiguration config = Azure.az().config();
         final String userAgent = config.getUserAgent();
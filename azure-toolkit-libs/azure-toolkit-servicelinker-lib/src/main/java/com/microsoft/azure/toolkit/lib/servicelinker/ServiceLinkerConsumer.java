@@ -7,7 +7,6 @@ package com.microsoft.azure.toolkit.lib.servicelinker;
 import com.azure.core.http.policy.HttpLogDetailLevel;
 import com.azure.core.http.policy.HttpLogOptions;
 import com.azure.core.management.profile.AzureProfile;
-import com.azure.resourcemanager.resources.ResourceManager;
 import com.azure.resourcemanager.resources.fluentcore.policy.ProviderRegistrationPolicy;
 import com.azure.resourcemanager.resources.models.Providers;
 import com.azure.resourcemanager.servicelinker.ServiceLinkerManager;
@@ -17,6 +16,7 @@ import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
 import com.microsoft.azure.toolkit.lib.common.model.AzResource;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +29,10 @@ public interface ServiceLinkerConsumer extends AzResource {
 
     default ServiceLinkerManager getLinkerManager() {
         final String subscriptionId = getSubscriptionId();
+        return AzureManagerPool.get(subscriptionId, ServiceLinkerManager.class, () -> createLinkerManager(subscriptionId));
+    }
+
+    static ServiceLinkerManager createLinkerManager(final String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final String tenantId = account.getSubscription(subscriptionId).getTenantId();
         final AzureConfiguration config = Azure.az().config();
@@ -36,11 +40,7 @@ public interface ServiceLinkerConsumer extends AzResource {
         final HttpLogOptions logOptions = new HttpLogOptions();
         logOptions.setLogLevel(Optional.ofNullable(config.getLogLevel()).map(HttpLogDetailLevel::valueOf).orElse(HttpLogDetailLevel.NONE));
         final AzureProfile azureProfile = new AzureProfile(tenantId, subscriptionId, account.getEnvironment());
-        final Providers providers = ResourceManager.configure()
-                .withHttpClient(AbstractAzServiceSubscription.getDefaultHttpClient())
-                .withPolicy(AbstractAzServiceSubscription.getUserAgentPolicy(userAgent))
-                .authenticate(account.getTokenCredential(subscriptionId), azureProfile)
-                .withSubscription(subscriptionId).providers();
+        final Providers providers = AbstractAzServiceSubscription.getResourceManager(subscriptionId).providers();
         return ServiceLinkerManager
                 .configure()
                 .withHttpClient(AbstractAzServiceSubscription.getDefaultHttpClient())
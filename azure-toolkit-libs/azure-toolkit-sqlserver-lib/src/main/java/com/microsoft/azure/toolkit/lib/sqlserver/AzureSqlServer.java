@@ -13,6 +13,7 @@ import com.microsoft.azure.toolkit.lib.AzureConfiguration;
 import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,7 +21,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class AzureSqlServer extends AbstractAzService<MicrosoftSqlServiceSubscription, SqlServerManager> {
@@ -38,12 +38,17 @@ public class AzureSqlServer extends AbstractAzService<MicrosoftSqlServiceSubscri
 
     @Nonnull
     public List<MicrosoftSqlServer> servers() {
-        return this.list().stream().flatMap(m -> m.servers().list().stream()).collect(Collectors.toList());
+        return this.listInSubscriptions(m -> m.servers().list());
     }
 
     @Nullable
     @Override
     protected SqlServerManager loadResourceFromAzure(@Nonnull String subscriptionId, @Nullable String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, SqlServerManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private SqlServerManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final AzureConfiguration config = Azure.az().config();
         final String userAgent = config.getUserAgent();
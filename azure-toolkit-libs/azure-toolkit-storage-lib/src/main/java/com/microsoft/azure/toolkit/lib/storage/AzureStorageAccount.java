@@ -15,6 +15,7 @@ import com.microsoft.azure.toolkit.lib.auth.Account;
 import com.microsoft.azure.toolkit.lib.auth.AzureAccount;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzService;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzServiceSubscription;
+import com.microsoft.azure.toolkit.lib.common.model.AzureManagerPool;
 import com.microsoft.azure.toolkit.lib.storage.model.Kind;
 import com.microsoft.azure.toolkit.lib.storage.model.Performance;
 import com.microsoft.azure.toolkit.lib.storage.model.Redundancy;
@@ -64,7 +65,7 @@ public class AzureStorageAccount extends AbstractAzService<StorageServiceSubscri
             result.add(AzuriteStorageAccount.AZURITE_STORAGE_ACCOUNT);
         }
         if (Azure.az(AzureAccount.class).isLoggedIn()) {
-            this.list().stream().flatMap(m -> m.storageAccounts().list().stream()).forEachOrdered(result::add);
+            result.addAll(this.listInSubscriptions(m -> m.storageAccounts().list()));
         }
         return result;
     }
@@ -72,6 +73,11 @@ public class AzureStorageAccount extends AbstractAzService<StorageServiceSubscri
     @Nonnull
     @Override
     protected StorageManager loadResourceFromAzure(@Nonnull String subscriptionId, @Nullable String resourceGroup) {
+        return AzureManagerPool.get(subscriptionId, StorageManager.class, () -> createManager(subscriptionId));
+    }
+
+    @Nonnull
+    private StorageManager createManager(@Nonnull String subscriptionId) {
         final Account account = Azure.az(AzureAccount.class).account();
         final AzureConfiguration config = Azure.az().config();
         final String userAgent = config.getUserAgent();
@@ -6,6 +6,7 @@
 package com.microsoft.azure.toolkit.lib.storage;
 
 import com.azure.resourcemanager.storage.StorageManager;
+import com.azure.resourcemanager.storage.models.Endpoints;
 import com.azure.resourcemanager.storage.models.StorageAccounts;
 import com.microsoft.azure.toolkit.lib.common.model.AbstractAzResourceModule;
 
@@ -51,6 +52,19 @@ public class StorageAccountModule extends AbstractAzResourceModule<StorageAccoun
         return new StorageAccount(name, Objects.requireNonNull(resourceGroupName), this);
     }
 
+    /**
+     * storage accounts have neither etag nor changed time, so properties read by {@link StorageAccount} are used as the version.
+     */
+    @Nullable
+    @Override
+    protected String getRemoteVersion(@Nonnull com.azure.resourcemanager.storage.models.StorageAccount remote) {
+        final Optional<Endpoints> endpoints = Optional.ofNullable(remote.innerModel().primaryEndpoints());
+        return String.join("|", Objects.toString(remote.innerModel().provisioningState()), remote.regionName(),
+            Objects.toString(remote.skuType().name()), Objects.toString(remote.kind()), Objects.toString(remote.accessTier()),
+            endpoints.map(Endpoints::blob).orElse(""), endpoints.map(Endpoints::queue).orElse(""),
+            endpoints.map(Endpoints::file).orElse(""), endpoints.map(Endpoints::table).orElse(""), Objects.toString(remote.tags()));
+    }
+
     @Nonnull
     @Override
     public String getResourceTypeName() {
@@ -12,6 +12,7 @@ import com.microsoft.azure.maven.webapp.task.DeployExternalResourcesTask;
 import com.microsoft.azure.toolkit.lib.Azure;
 import com.microsoft.azure.toolkit.lib.appservice.config.AppServiceConfig;
 import com.microsoft.azure.toolkit.lib.appservice.config.RuntimeConfig;
+import com.microsoft.azure.toolkit.lib.appservice.model.DeployType;
 import com.microsoft.azure.toolkit.lib.appservice.model.OperatingSystem;
 import com.microsoft.azure.toolkit.lib.appservice.model.PricingTier;
 import com.microsoft.azure.toolkit.lib.appservice.model.WebAppArtifact;
@@ -31,17 +32,20 @@ import com.microsoft.azure.toolkit.lib.common.operation.AzureOperation;
 import com.microsoft.azure.toolkit.lib.common.utils.Utils;
 import lombok.Getter;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
 import static com.microsoft.azure.toolkit.lib.appservice.utils.AppServiceConfigUtils.fromAppService;
@@ -77,6 +81,24 @@ public class DeployMojo extends AbstractWebAppMojo {
     @Parameter(property = "webapp.deploymentStatusMaxRefreshTimes")
     protected Long deploymentStatusMaxRefreshTimes;
 
+    /**
+     * Boolean flag to upload only added/modified files (and delete removed files) of exploded war or static content directories
+     * instead of the whole artifact. War artifacts are replaced by their exploded directory (e.g. target/${finalName}) if it exists.
+     * @since 2.14.0
+     */
+    @Getter
+    @Parameter(property = "webapp.deltaDeployment", defaultValue = "false")
+    protected Boolean deltaDeployment;
+
+    /**
+     * The max number of artifacts deployed concurrently. Artifacts to independent paths (lib/static/script) are deployed in parallel,
+     * while app artifacts and startup script are deployed after all of them. Artifacts are deployed one by one by default.
+     * @since 2.14.0
+     */
+    @Getter
+    @Parameter(property = "webapp.deploymentParallelism")
+    protected Integer deploymentParallelism;
+
     @Override
     @AzureOperation(name = "user/webapp.deploy_app")
     protected void doExecute() throws AzureExecutionException {
@@ -149,13 +171,26 @@ public class DeployMojo extends AbstractWebAppMojo {
     }
 
     private void deploy(WebAppBase<?, ?, ?> target, List<WebAppArtifact> artifacts) {
-        final DeployWebAppTask deployWebAppTask = new DeployWebAppTask(target, artifacts, this.getRestartSite(), this.getWaitDeploymentComplete(), true);
+        final boolean delta = BooleanUtils.isTrue(this.getDeltaDeployment());
+        final List<WebAppArtifact> deployArtifacts = delta ? artifacts.stream().map(DeployMojo::explodeWar).collect(Collectors.toList()) : artifacts;
+        final DeployWebAppTask deployWebAppTask = new DeployWebAppTask(target, deployArtifacts, this.getRestartSite(), this.getWaitDeploymentComplete(), true);
+        deployWebAppTask.setDeltaDeployment(delta);
+        Optional.ofNullable(this.getDeploymentParallelism()).ifPresent(deployWebAppTask::setDeploymentParallelism);
         Optional.ofNullable(this.getDeploymentStatusRefreshInterval()).ifPresent(deployWebAppTask::setDeploymentStatusRefreshInterval);
         Optional.ofNullable(this.getDeploymentStatusMaxRefreshTimes()).ifPresent(deployWebAppTask::setDeploymentStatusMaxRefreshTimes);
         deployWebAppTask.setDeploymentStatusStream(System.out);
         deployWebAppTask.doExecute();
     }
 
+    private static WebAppArtifact explodeWar(WebAppArtifact artifact) {
+        final File file = artifact.getFile();
+        if (artifact.getDeployType() != DeployType.WAR || file == null || !file.isFile()) {
+            return artifact;
+        }
+        final File exploded = new File(file.getParentFile(), FilenameUtils.getBaseName(file.getName()));
+        return exploded.isDirectory() ? artifact.toBuilder().file(exploded).build() : artifact;
+    }
+
     private void deployExternalResources(final WebAppBase<?, ?, ?> target, final List<DeploymentResource> resources) {
         new DeployExternalResourcesTask(target, resources).doExecute();
     }